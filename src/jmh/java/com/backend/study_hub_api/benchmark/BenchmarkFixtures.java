@@ -0,0 +1,206 @@
+package com.backend.study_hub_api.benchmark;
+
+import com.backend.study_hub_api.config.ApplicationProperties;
+import com.backend.study_hub_api.config.jwt.JwtProvider;
+import com.backend.study_hub_api.helper.enumeration.CategoryType;
+import com.backend.study_hub_api.helper.enumeration.DeliveryMethod;
+import com.backend.study_hub_api.helper.enumeration.ImageVariant;
+import com.backend.study_hub_api.helper.enumeration.OrderStatus;
+import com.backend.study_hub_api.helper.enumeration.ProductStatus;
+import com.backend.study_hub_api.helper.enumeration.TopicStatus;
+import com.backend.study_hub_api.helper.enumeration.TopicVisibility;
+import com.backend.study_hub_api.helper.enumeration.UserRole;
+import com.backend.study_hub_api.model.Category;
+import com.backend.study_hub_api.model.Order;
+import com.backend.study_hub_api.model.OrderItem;
+import com.backend.study_hub_api.model.Product;
+import com.backend.study_hub_api.model.ProductImage;
+import com.backend.study_hub_api.model.Topic;
+import com.backend.study_hub_api.model.TopicAttachment;
+import com.backend.study_hub_api.model.University;
+import com.backend.study_hub_api.model.User;
+import com.backend.study_hub_api.service.ImageVariantService;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-memory entities shaped like a real feed page, no database involved
+ */
+final class BenchmarkFixtures {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private BenchmarkFixtures() {
+    }
+
+    static String jwtSecret() {
+        byte[] key = new byte[64];
+        new SecureRandom().nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+
+    static JwtProvider jwtProvider(String secret) {
+        ApplicationProperties properties = new ApplicationProperties(
+                null,
+                new ApplicationProperties.SecurityProperties(new ApplicationProperties.JwtProperties(secret, 60, 24)),
+                null
+        );
+        return new JwtProvider(properties, 50_000);
+    }
+
+    /**
+     * Variants never ready: mappers keep the original URLs, as right after an upload
+     */
+    static ImageVariantService imageVariantService() {
+        return new ImageVariantService() {
+            @Override
+            public boolean supports(String contentType) {
+                return false;
+            }
+
+            @Override
+            public void generateVariants(String objectKey) {
+            }
+
+            @Override
+            public int generatePendingVariants() {
+                return 0;
+            }
+
+            @Override
+            public String resolveUrl(String fileUrl, ImageVariant variant) {
+                return fileUrl;
+            }
+
+            @Override
+            public void preloadStatuses(Collection<String> fileUrls) {
+            }
+
+            @Override
+            public void deleteVariants(Collection<String> objectKeys) {
+            }
+        };
+    }
+
+    static University university(long id) {
+        return University.builder()
+                         .id(id)
+                         .name("Trường Đại học Công nghệ Thông tin " + id)
+                         .shortName("UIT" + id)
+                         .build();
+    }
+
+    static User user(long id) {
+        return User.builder()
+                   .id(id)
+                   .email("user" + id + "@gm.uit.edu.vn")
+                   .fullName("Nguyễn Văn " + id)
+                   .avatarUrl("https://cdn.example.com/avatars/" + id + ".png")
+                   .phone("090000" + id)
+                   .major("Khoa học máy tính")
+                   .year(3)
+                   .role(UserRole.USER)
+                   .build();
+    }
+
+    static Category category(long id) {
+        return Category.builder()
+                       .id(id)
+                       .name("Danh mục " + id)
+                       .type(CategoryType.TOPIC)
+                       .build();
+    }
+
+    static List<Topic> topics(int count) {
+        List<Topic> topics = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Topic topic = Topic.builder()
+                               .id(id)
+                               .author(user(id % 50))
+                               .categories(List.of(category(id % 7), category(id % 11 + 10), category(id % 13 + 20)))
+                               .title("Hỏi về đề thi cuối kỳ môn Cấu trúc dữ liệu " + id)
+                               .content("Nội dung bài viết ".repeat(40))
+                               .viewCount((int) id * 3)
+                               .commentCount((int) id % 20)
+                               .likeCount((int) id % 30)
+                               .dislikeCount((int) id % 5)
+                               .status(TopicStatus.ACTIVE)
+                               .isLocked(false)
+                               .visibility(TopicVisibility.PUBLIC)
+                               .university(university(id % 3))
+                               .createdAt(NOW)
+                               .updatedAt(NOW)
+                               .lastActivityAt(NOW)
+                               .build();
+
+            List<TopicAttachment> attachments = new ArrayList<>();
+            for (long index = 0; index < 2; index++) {
+                attachments.add(TopicAttachment.builder()
+                                               .id(id * 10 + index)
+                                               .topic(topic)
+                                               .fileUrl("https://cdn.example.com/topics/" + id + "/" + index + ".pdf")
+                                               .fileName("tai-lieu-" + index + ".pdf")
+                                               .fileType("application/pdf")
+                                               .fileSize(1_048_576L)
+                                               .createdAt(NOW)
+                                               .build());
+            }
+            topic.setAttachments(attachments);
+            topics.add(topic);
+        }
+        return topics;
+    }
+
+    static List<Order> orders(int count) {
+        List<Order> orders = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Order order = Order.builder()
+                               .id(id)
+                               .buyer(user(id))
+                               .seller(user(id + 1000))
+                               .orderCode("ORD" + id)
+                               .shippingFee(15_000)
+                               .status(OrderStatus.CONFIRMED)
+                               .deliveryMethod(DeliveryMethod.SHIPPER)
+                               .deliveryAddress("Khu phố 6, Linh Trung, Thủ Đức")
+                               .deliveryPhone("0900000000")
+                               .confirmedAt(NOW)
+                               .createdAt(NOW)
+                               .updatedAt(NOW)
+                               .build();
+
+            List<OrderItem> items = new ArrayList<>();
+            for (long index = 0; index < 3; index++) {
+                items.add(OrderItem.builder()
+                                   .id(id * 10 + index)
+                                   .order(order)
+                                   .product(product(id * 10 + index))
+                                   .createdAt(NOW)
+                                   .build());
+            }
+            order.setOrderItems(items);
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    static Product product(long id) {
+        Product product = Product.builder()
+                                 .id(id)
+                                 .title("Giáo trình Giải tích " + id)
+                                 .price(50_000)
+                                 .status(ProductStatus.AVAILABLE)
+                                 .createdAt(NOW)
+                                 .build();
+        product.setImages(List.of(
+                ProductImage.builder().id(id * 10).product(product).imageUrl("https://cdn.example.com/p/" + id + "-0.jpg").isPrimary(false).build(),
+                ProductImage.builder().id(id * 10 + 1).product(product).imageUrl("https://cdn.example.com/p/" + id + "-1.jpg").isPrimary(true).build()
+        ));
+        return product;
+    }
+}
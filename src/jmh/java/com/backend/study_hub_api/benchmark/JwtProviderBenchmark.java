@@ -0,0 +1,103 @@
+package com.backend.study_hub_api.benchmark;
+
+import com.backend.study_hub_api.config.jwt.ExtractJwtResult;
+import com.backend.study_hub_api.config.jwt.GenerateJwtResult;
+import com.backend.study_hub_api.config.jwt.JwtProvider;
+import com.backend.study_hub_api.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and validation as done by AuthenticationFilter on every request.
+ * The parsePerCall benchmarks reproduce the previous extractClaims (new parser, HMAC and JSON per call)
+ * as the baseline for the shared parser and verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtProviderBenchmark {
+
+    // Distinct tokens in rotation, roughly the active sessions hitting one instance
+    private static final int TOKEN_COUNT = 1_000;
+
+    private JwtProvider jwtProvider;
+    private Key signingKey;
+    private User user;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        String secret = BenchmarkFixtures.jwtSecret();
+        jwtProvider = BenchmarkFixtures.jwtProvider(secret);
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        user = BenchmarkFixtures.user(1L);
+
+        tokens = new String[TOKEN_COUNT];
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            tokens[i] = jwtProvider.generateToken(BenchmarkFixtures.user(i)).accessToken();
+        }
+    }
+
+    @Benchmark
+    public GenerateJwtResult generateToken() {
+        return jwtProvider.generateToken(user);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ExtractJwtResult extractClaimsThreads01() {
+        return jwtProvider.extractClaims(nextToken());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ExtractJwtResult extractClaimsThreads08() {
+        return jwtProvider.extractClaims(nextToken());
+    }
+
+    @Benchmark
+    @Threads(32)
+    public ExtractJwtResult extractClaimsThreads32() {
+        return jwtProvider.extractClaims(nextToken());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Claims parsePerCallThreads01() {
+        return parsePerCall(nextToken());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Claims parsePerCallThreads08() {
+        return parsePerCall(nextToken());
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Claims parsePerCallThreads32() {
+        return parsePerCall(nextToken());
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(TOKEN_COUNT)];
+    }
+
+    private Claims parsePerCall(String token) {
+        return Jwts.parserBuilder()
+                   .setSigningKey(signingKey)
+                   .build()
+                   .parseClaimsJws(token)
+                   .getBody();
+    }
+}
@@ -0,0 +1,37 @@
+package com.backend.study_hub_api.benchmark;
+
+import com.backend.study_hub_api.dto.OrderDTO;
+import com.backend.study_hub_api.mapper.OrderMapper;
+import com.backend.study_hub_api.model.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderMapper.toDTO for order history pages, three items per order
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private final OrderMapper orderMapper = new OrderMapper(BenchmarkFixtures.imageVariantService());
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        orders = BenchmarkFixtures.orders(pageSize);
+    }
+
+    @Benchmark
+    public List<OrderDTO> toDTOList() {
+        return orderMapper.toDTOList(orders);
+    }
+}
@@ -0,0 +1,37 @@
+package com.backend.study_hub_api.benchmark;
+
+import com.backend.study_hub_api.dto.criteria.TopicFilterCriteria;
+import com.backend.study_hub_api.helper.util.PageableBuilder;
+import com.backend.study_hub_api.model.Topic;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageableBuilderBenchmark {
+
+    private TopicFilterCriteria singleSort;
+    private TopicFilterCriteria multiSort;
+
+    @Setup
+    public void setUp() {
+        singleSort = TopicFilterCriteria.builder().page(3).size(20).sortBy("createdAt").sortDirection("DESC").build();
+        multiSort = TopicFilterCriteria.builder().page(3).size(20).sortBy("lastActivityAt, viewCount, id").sortDirection("DESC").build();
+    }
+
+    @Benchmark
+    public Pageable singleSortField() {
+        return PageableBuilder.build(Topic.class, singleSort);
+    }
+
+    @Benchmark
+    public Pageable multipleSortFields() {
+        return PageableBuilder.build(Topic.class, multiSort);
+    }
+}
@@ -0,0 +1,125 @@
+package com.backend.study_hub_api.benchmark;
+
+import com.backend.study_hub_api.dto.criteria.ProductFilterCriteria;
+import com.backend.study_hub_api.dto.criteria.TopicFilterCriteria;
+import com.backend.study_hub_api.helper.enumeration.ProductCondition;
+import com.backend.study_hub_api.helper.enumeration.ProductStatus;
+import com.backend.study_hub_api.helper.enumeration.TopicStatus;
+import com.backend.study_hub_api.helper.enumeration.TopicVisibility;
+import com.backend.study_hub_api.model.Product;
+import com.backend.study_hub_api.model.Topic;
+import com.backend.study_hub_api.service.ProductSearchService;
+import com.backend.study_hub_api.service.SessionValidationCache;
+import com.backend.study_hub_api.service.TopicLeaderboardService;
+import com.backend.study_hub_api.specification.ProductSpecification;
+import com.backend.study_hub_api.specification.TopicSpecification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Entity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BaseSpecificationBuilder.build and predicate construction against Hibernate's real CriteriaBuilder.
+ * The session factory is booted from the entity mappings without a database connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecificationBenchmark {
+
+    private static final String MODEL_PACKAGE = "com.backend.study_hub_api.model";
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+
+    private final TopicSpecification topicSpecification = new TopicSpecification();
+    private final ProductSpecification productSpecification = new ProductSpecification();
+    private TopicFilterCriteria topicCriteria;
+    private ProductFilterCriteria productCriteria;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException {
+        // Entity listeners are Spring beans, give Hibernate a container holding stand-ins for their dependencies
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("productSearchService", Mockito.mock(ProductSearchService.class));
+        beanFactory.registerSingleton("topicLeaderboardService", Mockito.mock(TopicLeaderboardService.class));
+        beanFactory.registerSingleton("sessionValidationCache", new SessionValidationCache(
+                new SimpleMeterRegistry(), Duration.ofMinutes(10), Duration.ofSeconds(30), 1_000));
+
+        Configuration configuration = new Configuration()
+                .setProperty(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false");
+        configuration.getProperties().put(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory));
+
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        for (BeanDefinition definition : scanner.findCandidateComponents(MODEL_PACKAGE)) {
+            configuration.addAnnotatedClass(ClassUtils.forName(definition.getBeanClassName(), getClass().getClassLoader()));
+        }
+
+        sessionFactory = configuration.buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+
+        topicCriteria = TopicFilterCriteria.builder()
+                                           .searchKeyword("cấu trúc dữ liệu")
+                                           .authorName("Nguyễn")
+                                           .categoryIds(List.of(1L, 2L, 3L))
+                                           .universityId(1L)
+                                           .statuses(List.of(TopicStatus.ACTIVE))
+                                           .visibilities(List.of(TopicVisibility.PUBLIC, TopicVisibility.UNIVERSITY_ONLY))
+                                           .minViewCount(10)
+                                           .minLikeCount(1)
+                                           .createdFrom("2025-01-01T00:00:00")
+                                           .build();
+
+        productCriteria = ProductFilterCriteria.builder()
+                                               .searchKeyword("giáo trình")
+                                               .categoryIds(List.of(4L, 5L))
+                                               .universityId(1L)
+                                               .statuses(List.of(ProductStatus.AVAILABLE))
+                                               .conditions(List.of(ProductCondition.values()))
+                                               .minPrice(10_000)
+                                               .maxPrice(200_000)
+                                               .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate topicFilter() {
+        CriteriaQuery<Topic> query = criteriaBuilder.createQuery(Topic.class);
+        Root<Topic> root = query.from(Topic.class);
+        return topicSpecification.build(topicCriteria).toPredicate(root, query, criteriaBuilder);
+    }
+
+    @Benchmark
+    public Predicate productFilter() {
+        CriteriaQuery<Product> query = criteriaBuilder.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        return productSpecification.build(productCriteria).toPredicate(root, query, criteriaBuilder);
+    }
+}
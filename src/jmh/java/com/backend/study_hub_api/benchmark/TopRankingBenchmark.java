@@ -0,0 +1,103 @@
+package com.backend.study_hub_api.benchmark;
+
+import com.backend.study_hub_api.dto.CategoryDTO;
+import com.backend.study_hub_api.dto.ProductDTO;
+import com.backend.study_hub_api.model.Product;
+import com.backend.study_hub_api.repository.ProductRepository;
+import com.backend.study_hub_api.service.CategoryService;
+import com.backend.study_hub_api.service.UserService;
+import com.backend.study_hub_api.service.impl.ProductServiceImpl;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * ProductServiceImpl.getTop10Products through its TopRankingSnapshot, on catalogs of growing size.
+ * The repository is a stub that answers findMostViewedByStatus like the database does with the (status, view_count)
+ * index: it hydrates only the rows the page asks for from a catalog already in view count order.
+ * loadTopProducts runs the snapshot loader (query, image batch, mapping), snapshotRead what callers pay between reloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopRankingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int catalogSize;
+
+    private List<Product> catalog;
+    private ProductServiceImpl productService;
+
+    @Setup
+    public void setUp() {
+        catalog = new ArrayList<>(catalogSize);
+        for (long id = 1; id <= catalogSize; id++) {
+            Product product = BenchmarkFixtures.product(id);
+            product.setViewCount((int) (catalogSize - id));
+            catalog.add(product);
+        }
+
+        ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+        when(productRepository.findMostViewedByStatus(any(), any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(1);
+            return catalog.subList(0, Math.min(pageable.getPageSize(), catalog.size()))
+                          .stream()
+                          .map(TopRankingBenchmark::hydrate)
+                          .toList();
+        });
+        when(productRepository.findWithImagesByIdIn(anyCollection())).thenReturn(List.of());
+
+        CategoryService categoryService = Mockito.mock(CategoryService.class);
+        when(categoryService.mapToDTO(any())).thenReturn(CategoryDTO.CategoryResponse.builder().name("Giáo trình").build());
+
+        // The loader's transaction has nothing to bind to without a database
+        TransactionTemplate transactionTemplate = new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+
+        productService = new ProductServiceImpl(productRepository, categoryService, Mockito.mock(UserService.class),
+                                                null, null, null, null, null, null, transactionTemplate,
+                                                BenchmarkFixtures.imageVariantService());
+        // Loads the snapshot, refreshTopProducts only reloads rankings that have been read
+        productService.getTop10Products();
+    }
+
+    @Benchmark
+    public List<ProductDTO.ProductSummaryResponse> loadTopProducts() {
+        productService.refreshTopProducts();
+        return productService.getTop10Products();
+    }
+
+    @Benchmark
+    public List<ProductDTO.ProductSummaryResponse> snapshotRead() {
+        return productService.getTop10Products();
+    }
+
+    /**
+     * A fresh entity per row, as the persistence context builds for every row a query returns
+     */
+    private static Product hydrate(Product row) {
+        Product product = Product.builder()
+                                 .id(row.getId())
+                                 .title(row.getTitle())
+                                 .price(row.getPrice())
+                                 .viewCount(row.getViewCount())
+                                 .condition(row.getCondition())
+                                 .status(row.getStatus())
+                                 .createdAt(row.getCreatedAt())
+                                 .build();
+        product.setImages(row.getImages());
+        return product;
+    }
+}
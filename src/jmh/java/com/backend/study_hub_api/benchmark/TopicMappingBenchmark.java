@@ -0,0 +1,42 @@
+package com.backend.study_hub_api.benchmark;
+
+import com.backend.study_hub_api.dto.TopicDTO;
+import com.backend.study_hub_api.model.Topic;
+import com.backend.study_hub_api.service.impl.TopicServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TopicServiceImpl.mapToDTO over a whole page of fully loaded topics (author, categories, university, attachments)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopicMappingBenchmark {
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private TopicServiceImpl topicService;
+    private List<Topic> topics;
+
+    @Setup
+    public void setUp() {
+        // mapToDTO only reads the entity graph, the other collaborators are not used
+        topicService = new TopicServiceImpl(null, null, null, null, null, null, null, null, null, null,
+                                            BenchmarkFixtures.imageVariantService(), null, null, null);
+        topics = BenchmarkFixtures.topics(pageSize);
+    }
+
+    @Benchmark
+    public List<TopicDTO.TopicResponse> mapPage() {
+        return topics.stream()
+                     .map(topicService::mapToDTO)
+                     .toList();
+    }
+}
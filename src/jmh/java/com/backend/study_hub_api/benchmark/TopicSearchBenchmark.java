@@ -0,0 +1,125 @@
+package com.backend.study_hub_api.benchmark;
+
+import com.backend.study_hub_api.repository.TopicSearchRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Topic search latency on a generated catalog of 100k and 1M topics: the full-text query of TopicSearchRepository
+ * against the LIKE search it replaces (the SQL the specification fallback generates for a keyword).
+ * The schema is installed through TopicSearchRepository.installFullTextSchema, as on startup.
+ * Runs against a throwaway PostgreSQL container, or an existing database with
+ * -Dbenchmark.jdbc-url=... -Dbenchmark.jdbc-user=... -Dbenchmark.jdbc-password=... (its t_* tables are dropped).
+ * Seeding 1M topics and building the index takes a few minutes per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TopicSearchBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    // Title and content words, with and without diacritics
+    private static final String WORDS = "ARRAY['giải tích', 'đại số', 'lập trình', 'cấu trúc dữ liệu', 'xác suất', " +
+                                        "'thống kê', 'vật lý', 'hóa học', 'kinh tế', 'triết học', 'tiếng anh', " +
+                                        "'đề thi', 'giáo trình', 'bài tập', 'ôn tập', 'học kỳ', 'đồ án', 'java', " +
+                                        "'spring', 'database', 'network', 'machine learning']";
+
+    private static final String LIKE_SEARCH_SQL =
+            "SELECT t.id FROM t_topics t JOIN t_users u ON u.id = t.author_id " +
+            "WHERE t.status = 'ACTIVE' AND (lower(t.title) LIKE :pattern OR lower(t.content) LIKE :pattern " +
+            "    OR lower(u.full_name) LIKE :pattern) " +
+            "ORDER BY t.last_activity_at DESC, t.id DESC " +
+            "LIMIT :limit";
+
+    @Param({"100000", "1000000"})
+    private int topicCount;
+
+    // An accented keyword and the same words typed without diacritics
+    @Param({"lập trình", "lap trinh"})
+    private String keyword;
+
+    private PostgreSQLContainer<?> postgres;
+    private SingleConnectionDataSource dataSource;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private TopicSearchRepository topicSearchRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String jdbcUrl = System.getProperty("benchmark.jdbc-url");
+        if (jdbcUrl != null) {
+            dataSource = new SingleConnectionDataSource(jdbcUrl,
+                                                        System.getProperty("benchmark.jdbc-user"),
+                                                        System.getProperty("benchmark.jdbc-password"),
+                                                        true);
+        } else {
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+            dataSource = new SingleConnectionDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(), true);
+        }
+
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        seed();
+        topicSearchRepository = new TopicSearchRepository(jdbcTemplate);
+        topicSearchRepository.installFullTextSchema();
+        if (!topicSearchRepository.isFullTextAvailable()) {
+            throw new IllegalStateException("Full-text schema could not be installed");
+        }
+        jdbcTemplate.getJdbcTemplate().execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public List<Long> fullTextSearch() {
+        return topicSearchRepository.searchActiveTopicIds(keyword, 0, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Long> likeSearch() {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("pattern", "%" + keyword.toLowerCase() + "%")
+                .addValue("limit", PAGE_SIZE + 1);
+        return jdbcTemplate.queryForList(LIKE_SEARCH_SQL, params, Long.class);
+    }
+
+    /**
+     * Only the columns the search reads, filled with generate_series so 1M rows take seconds, not a JDBC batch
+     */
+    private void seed() {
+        List<String> statements = List.of(
+                "DROP TABLE IF EXISTS t_topic_categories, t_topics, t_categories, t_users CASCADE",
+                "CREATE TABLE t_users (id bigint PRIMARY KEY, full_name varchar(255) NOT NULL)",
+                "CREATE TABLE t_categories (id bigint PRIMARY KEY, name varchar(100) NOT NULL)",
+                "CREATE TABLE t_topics (id bigint PRIMARY KEY, author_id bigint NOT NULL REFERENCES t_users, " +
+                "    title varchar(255) NOT NULL, content text NOT NULL, status varchar(255) NOT NULL, " +
+                "    last_activity_at timestamptz)",
+                "CREATE TABLE t_topic_categories (topic_id bigint REFERENCES t_topics, category_id bigint REFERENCES t_categories)",
+                "INSERT INTO t_users SELECT g, 'Nguyễn Văn ' || g FROM generate_series(1, 10000) g",
+                "INSERT INTO t_categories SELECT g, (" + WORDS + ")[g] FROM generate_series(1, 20) g",
+                "INSERT INTO t_topics SELECT g, 1 + (g % 10000), " +
+                "    initcap((" + WORDS + ")[1 + floor(random() * 22)::int]) || ' ' || (" + WORDS + ")[1 + floor(random() * 22)::int], " +
+                "    repeat((" + WORDS + ")[1 + floor(random() * 22)::int] || ' ' || (" + WORDS + ")[1 + floor(random() * 22)::int] || ' ', 20), " +
+                "    CASE WHEN g % 10 = 0 THEN 'DELETED' ELSE 'ACTIVE' END, " +
+                "    now() - random() * interval '365 days' " +
+                "FROM generate_series(1, " + topicCount + ") g",
+                "INSERT INTO t_topic_categories SELECT id, 1 + (id % 20) FROM t_topics"
+        );
+        statements.forEach(jdbcTemplate.getJdbcTemplate()::execute);
+    }
+}
@@ -1,6 +1,8 @@
 package com.backend.study_hub_api.config;
 
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
@@ -8,6 +10,11 @@ import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
 
 @Configuration
 @RequiredArgsConstructor
@@ -15,6 +22,10 @@ public class AwsS3Config {
 
     private final ApplicationProperties applicationProperties;
 
+    // Local S3 stand-in such as MinIO or LocalStack, e.g. http://localhost:9000
+    @Value("${app.s3.endpoint:}")
+    private String endpointOverride;
+
     @Bean
     public S3Client s3Client() {
         ApplicationProperties.AwsProperties awsProps = applicationProperties.getAws();
@@ -24,10 +35,37 @@ public class AwsS3Config {
                 awsProps.secretAccessKey()
         );
 
-        return S3Client.builder()
-                       .region(Region.of(awsProps.region()))
-                       .credentialsProvider(StaticCredentialsProvider.create(credentials))
-                       .httpClient(UrlConnectionHttpClient.builder().build())
-                       .build();
+        S3ClientBuilder builder = S3Client.builder()
+                                          .region(Region.of(awsProps.region()))
+                                          .credentialsProvider(StaticCredentialsProvider.create(credentials))
+                                          .httpClient(UrlConnectionHttpClient.builder().build());
+
+        if (StringUtils.isNotBlank(endpointOverride)) {
+            builder.endpointOverride(URI.create(endpointOverride))
+                   .forcePathStyle(true);
+        }
+
+        return builder.build();
+    }
+
+    @Bean
+    public S3Presigner s3Presigner() {
+        ApplicationProperties.AwsProperties awsProps = applicationProperties.getAws();
+
+        AwsBasicCredentials credentials = AwsBasicCredentials.create(
+                awsProps.accessKey(),
+                awsProps.secretAccessKey()
+        );
+
+        S3Presigner.Builder builder = S3Presigner.builder()
+                                                 .region(Region.of(awsProps.region()))
+                                                 .credentialsProvider(StaticCredentialsProvider.create(credentials));
+
+        if (StringUtils.isNotBlank(endpointOverride)) {
+            builder.endpointOverride(URI.create(endpointOverride))
+                   .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+
+        return builder.build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.backend.study_hub_api.config;
+
+import com.backend.study_hub_api.service.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the in-memory product search index at startup, until it is ready searches run on the database
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexInitializer implements ApplicationRunner {
+
+    private final ProductSearchService productSearchService;
+
+    @Value("${app.search.product-index.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            productSearchService.rebuild();
+        }
+    }
+}
@@ -61,6 +61,8 @@ public class SecurityConfiguration {
 
                         .requestMatchers(new AntPathRequestMatcher("/api/common/**")).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/api/auth/**")).permitAll()
+                        // STOMP authenticates on CONNECT, the handshake cannot carry the Authorization header
+                        .requestMatchers(new AntPathRequestMatcher("/ws/**")).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/api/admin/**")).hasAuthority("SYSTEM_ADMIN")
 
                         .requestMatchers(new AntPathRequestMatcher("/api/user/**")).authenticated()
@@ -0,0 +1,28 @@
+package com.backend.study_hub_api.config;
+
+import com.backend.study_hub_api.service.TopicLeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the topic leaderboards at startup, until they are ready the home-screen lists run on the database
+ */
+@Component
+@RequiredArgsConstructor
+public class TopicLeaderboardInitializer implements ApplicationRunner {
+
+    private final TopicLeaderboardService topicLeaderboardService;
+
+    @Value("${app.leaderboard.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            topicLeaderboardService.rebuild();
+        }
+    }
+}
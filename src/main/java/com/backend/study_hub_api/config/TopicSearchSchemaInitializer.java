@@ -0,0 +1,28 @@
+package com.backend.study_hub_api.config;
+
+import com.backend.study_hub_api.repository.TopicSearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Installs the topic full-text search schema once Hibernate has created the tables
+ */
+@Component
+@RequiredArgsConstructor
+public class TopicSearchSchemaInitializer implements ApplicationRunner {
+
+    private final TopicSearchRepository topicSearchRepository;
+
+    @Value("${app.search.topic-full-text.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            topicSearchRepository.installFullTextSchema();
+        }
+    }
+}
@@ -2,17 +2,26 @@ package com.backend.study_hub_api.config.jwt;
 
 import com.backend.study_hub_api.config.ApplicationProperties;
 import com.backend.study_hub_api.helper.enumeration.CheckJwtResult;
+import com.backend.study_hub_api.helper.util.CacheUtils;
 import com.backend.study_hub_api.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -26,10 +35,24 @@ public class JwtProvider {
     private final long accessTokenInMinutes;
     private final long refreshTokenInHours;
 
-    public JwtProvider(ApplicationProperties properties) {
+    // Immutable and thread-safe, built once instead of per request
+    private final JwtParser parser;
+
+    // Verified tokens by SHA-256 digest, so a token seen again skips the HMAC check and the JSON parsing.
+    // Each entry lives until its token expires.
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtProvider(ApplicationProperties properties,
+                       @Value("${app.jwt.verified-cache.max-entries:50000}") int maxCachedTokens) {
         this.signingKey = getSignInKey(properties.getSecurity().jwt().secret());
         this.accessTokenInMinutes = properties.getSecurity().jwt().accessTokenInMinutes();
         this.refreshTokenInHours = properties.getSecurity().jwt().refreshTokenInHours();
+        this.parser = Jwts.parserBuilder()
+                          .setSigningKey(signingKey)
+                          .build();
+        this.verifiedTokens = CacheUtils.boundedTtlCache(
+                maxCachedTokens,
+                (digest, token) -> Duration.ofMillis(token.expiresAt - System.currentTimeMillis()));
     }
 
     public GenerateJwtResult generateToken(User user) {
@@ -75,6 +98,23 @@ public class JwtProvider {
     }
 
     public ExtractJwtResult extractClaims(String token) {
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+
+        // An expired token is not returned by the cache, it is parsed again to report EXPIRED with its claims
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.result;
+        }
+
+        ExtractJwtResult result = parse(token);
+        if (result.isValid()) {
+            cache(digest, result);
+        }
+        return result;
+    }
+
+    private ExtractJwtResult parse(String token) {
         try {
             return new ExtractJwtResult(CheckJwtResult.VALID, extractAllClaims(token));
         } catch (ExpiredJwtException exception) {
@@ -85,18 +125,35 @@ public class JwtProvider {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                   .setSigningKey(signingKey)
-                   .build()
-                   .parseClaimsJws(token)
-                   .getBody();
+        return parser.parseClaimsJws(token)
+                     .getBody();
     }
 
+    private void cache(String digest, ExtractJwtResult result) {
+        Date expiration = result.claims().getExpiration();
+        if (expiration == null) {
+            return;
+        }
+        verifiedTokens.put(digest, new VerifiedToken(result, expiration.getTime()));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
 
     private Key getSignInKey(String secret) {
         final byte[] keyBytes = Decoders.BASE64.decode(secret);
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
+    private record VerifiedToken(ExtractJwtResult result, long expiresAt) {
+    }
+
 }
 
@@ -3,6 +3,8 @@ package com.backend.study_hub_api.controller;
 import com.backend.study_hub_api.config.jwt.SecurityUtils;
 import com.backend.study_hub_api.dto.request.CreateCommentRequest;
 import com.backend.study_hub_api.dto.CommentDTO;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
+import com.backend.study_hub_api.dto.criteria.CommentFilterCriteria;
 import com.backend.study_hub_api.service.TopicCommentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -10,8 +12,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/user/comments")
 @RequiredArgsConstructor
@@ -20,9 +20,17 @@ public class CommentController {
     private final TopicCommentService commentService;
 
     @GetMapping("/topic/{topicId}")
-    public ResponseEntity<List<CommentDTO>> getCommentsByTopic(@PathVariable Long topicId) {
-        List<CommentDTO> comments = commentService.getCommentsByTopic(topicId);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<CursorPaginationDTO<CommentDTO>> getCommentsByTopic(
+            @PathVariable Long topicId,
+            @ModelAttribute CommentFilterCriteria criteria) {
+        return ResponseEntity.ok(commentService.getCommentsByTopic(topicId, criteria));
+    }
+
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<CursorPaginationDTO<CommentDTO>> getReplies(
+            @PathVariable Long commentId,
+            @ModelAttribute CommentFilterCriteria criteria) {
+        return ResponseEntity.ok(commentService.getReplies(commentId, criteria));
     }
 
     @PostMapping
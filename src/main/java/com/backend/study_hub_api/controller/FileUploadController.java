@@ -1,6 +1,7 @@
 package com.backend.study_hub_api.controller;
 
 import com.backend.study_hub_api.dto.FileUploadDTO;
+import com.backend.study_hub_api.helper.enumeration.UploadTarget;
 import com.backend.study_hub_api.service.FileUploadService;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -72,7 +73,7 @@ public class FileUploadController {
             @Parameter(description = "Complete S3 file URL", required = true)
             @RequestParam("fileUrl") String fileUrl) {
 
-        boolean deleted = fileUploadService.deleteFile(fileUrl);
+        boolean deleted = fileUploadService.deleteOwnedUpload(fileUrl);
         if (deleted) {
             return ResponseEntity.ok("File deleted successfully");
         } else {
@@ -81,18 +82,26 @@ public class FileUploadController {
     }
 
     @PostMapping("/presigned-url")
-    public ResponseEntity<String> generatePresignedUrl(
+    public ResponseEntity<FileUploadDTO.PresignedUploadResponse> generatePresignedUrl(
             @Parameter(description = "File name", required = true)
             @RequestParam("fileName") String fileName,
 
-            @Parameter(description = "Folder path", example = "products")
-            @RequestParam(value = "folder", defaultValue = "uploads") String folder,
+            @Parameter(description = "Content type", example = "image/jpeg", required = true)
+            @RequestParam("contentType") String contentType,
 
-            @Parameter(description = "Content type", example = "image/jpeg")
-            @RequestParam("contentType") String contentType) {
+            @Parameter(description = "File size in bytes", required = true)
+            @RequestParam("fileSize") Long fileSize,
 
-        // Return error message instead of calling the service
-        return ResponseEntity.badRequest()
-                             .body("Presigned URL không được hỗ trợ. Vui lòng sử dụng endpoint upload thông thường.");
+            @Parameter(description = "What the file will be attached to", example = "PRODUCT_IMAGE", required = true)
+            @RequestParam("target") UploadTarget target) {
+
+        FileUploadDTO.PresignedUploadRequest request = FileUploadDTO.PresignedUploadRequest.builder()
+                .fileName(fileName)
+                .contentType(contentType)
+                .fileSize(fileSize)
+                .target(target)
+                .build();
+
+        return ResponseEntity.ok(fileUploadService.generatePresignedUploadUrl(request));
     }
 }
\ No newline at end of file
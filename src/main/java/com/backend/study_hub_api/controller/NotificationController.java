@@ -1,12 +1,16 @@
 package com.backend.study_hub_api.controller;
 
+import com.backend.study_hub_api.dto.NotificationCountDTO;
 import com.backend.study_hub_api.dto.NotificationDTO;
+import com.backend.study_hub_api.dto.NotificationSummaryDTO;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
+import com.backend.study_hub_api.dto.criteria.NotificationFilterCriteria;
+import com.backend.study_hub_api.dto.request.MarkNotificationsReadRequest;
 import com.backend.study_hub_api.service.NotificationService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
@@ -23,4 +27,21 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping("/inbox")
+    public ResponseEntity<CursorPaginationDTO<NotificationSummaryDTO>> getInbox(
+            @ModelAttribute NotificationFilterCriteria criteria) {
+        return ResponseEntity.ok(notificationService.getInbox(criteria));
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<NotificationCountDTO> getUnreadCount() {
+        return ResponseEntity.ok(notificationService.getUnreadCount());
+    }
+
+    @PatchMapping("/read")
+    public ResponseEntity<NotificationCountDTO> markAsRead(
+            @Valid @RequestBody(required = false) MarkNotificationsReadRequest request) {
+        return ResponseEntity.ok(notificationService.markAsRead(request != null ? request.getIds() : null));
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.backend.study_hub_api.controller;
 
 import com.backend.study_hub_api.dto.ProductDTO;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
 import com.backend.study_hub_api.dto.common.PaginationDTO;
 import com.backend.study_hub_api.dto.criteria.ProductFilterCriteria;
 import com.backend.study_hub_api.helper.enumeration.DeliveryMethod;
@@ -53,7 +54,10 @@ public class ProductController {
             @RequestParam("categoryId") Long categoryId,
             
             @Parameter(description = "Product images (max 5 files, 10MB each)")
-            @RequestParam(value = "images", required = false) List<MultipartFile> images
+            @RequestParam(value = "images", required = false) List<MultipartFile> images,
+
+            @Parameter(description = "Object keys of images uploaded with presigned URLs")
+            @RequestParam(value = "imageKeys", required = false) List<String> imageKeys
     ) {
         ProductDTO.CreateProductRequest request = ProductDTO.CreateProductRequest.builder()
                 .title(title)
@@ -64,6 +68,7 @@ public class ProductController {
                 .deliveryMethod(deliveryMethod)
                 .categoryId(categoryId)
                 .images(images)
+                .imageKeys(imageKeys)
                 .build();
 
         ProductDTO.ProductResponse response = productService.createProduct(request);
@@ -126,7 +131,8 @@ public class ProductController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") Integer page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") Integer size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "DESC") String sortDirection
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "DESC") String sortDirection,
+            @Parameter(description = "Skip the total count, use hasNext instead") @RequestParam(required = false) Boolean skipCount
     ) {
         ProductFilterCriteria criteria = ProductFilterCriteria.builder()
                                                               .searchKeyword(searchKeyword)
@@ -152,9 +158,20 @@ public class ProductController {
                                                               .size(size)
                                                               .sortBy(sortBy)
                                                               .sortDirection(sortDirection)
+                                                              .skipCount(skipCount)
                                                               .build();
 
         PaginationDTO<ProductDTO.ProductSummaryResponse> response = productService.getProductsWithFilter(criteria);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/search/cursor")
+    @Operation(summary = "Search products with filters (cursor pagination)",
+               description = "Same filters as /search, paged by the nextCursor of the previous response instead of a page number. " +
+                             "The total count is only computed when includeTotal=true")
+    public ResponseEntity<CursorPaginationDTO<ProductDTO.ProductSummaryResponse>> searchProductsWithCursor(
+            @ModelAttribute ProductFilterCriteria criteria) {
+        CursorPaginationDTO<ProductDTO.ProductSummaryResponse> response = productService.getProductsWithCursor(criteria);
+        return ResponseEntity.ok(response);
+    }
 }
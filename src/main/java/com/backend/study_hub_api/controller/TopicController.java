@@ -2,6 +2,7 @@ package com.backend.study_hub_api.controller;
 
 import com.backend.study_hub_api.dto.TopicDTO;
 import com.backend.study_hub_api.dto.TopicReactionDTO;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
 import com.backend.study_hub_api.dto.common.PaginationDTO;
 import com.backend.study_hub_api.dto.criteria.TopicFilterCriteria;
 import com.backend.study_hub_api.helper.enumeration.ReactionType;
@@ -49,7 +50,8 @@ public class TopicController {
             @RequestParam(value = "categoryIds") List<Long> categoryIds,
             @RequestParam("visibility") TopicVisibility visibility,
             @RequestParam(value = "universityId", required = false) Long universityId,
-            @RequestParam(value = "attachments", required = false) List<MultipartFile> attachments
+            @RequestParam(value = "attachments", required = false) List<MultipartFile> attachments,
+            @RequestParam(value = "attachmentKeys", required = false) List<String> attachmentKeys
     ) {
         TopicDTO.CreateTopicWithFilesRequest request = TopicDTO.CreateTopicWithFilesRequest.builder()
                 .title(title)
@@ -58,6 +60,7 @@ public class TopicController {
                 .visibility(visibility)
                 .universityId(universityId)
                 .attachments(attachments)
+                .attachmentKeys(attachmentKeys)
                 .build();
 
         return ResponseEntity.ok(topicService.createTopic(request));
@@ -155,7 +158,10 @@ public class TopicController {
             @RequestParam(defaultValue = "lastActivityAt") String sortBy,
 
             @Parameter(description = "Sort direction (ASC, DESC)")
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+
+            @Parameter(description = "Skip the total count, use hasNext instead (totalElements is -1 unless cached)")
+            @RequestParam(required = false) Boolean skipCount) {
 
         TopicFilterCriteria criteria = TopicFilterCriteria.builder()
                 .searchKeyword(searchKeyword)
@@ -185,12 +191,23 @@ public class TopicController {
                 .size(size)
                 .sortBy(sortBy)
                 .sortDirection(sortDirection)
+                .skipCount(skipCount)
                 .build();
 
         PaginationDTO<TopicDTO.TopicResponse> response = topicService.getTopicsWithFilter(criteria);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/filter/cursor")
+    @Operation(summary = "Get topics with filters (cursor pagination)",
+               description = "Same filters as /filter, paged by the nextCursor of the previous response instead of a page number. " +
+                             "The total count is only computed when includeTotal=true")
+    public ResponseEntity<CursorPaginationDTO<TopicDTO.TopicResponse>> getTopicsWithCursor(
+            @ModelAttribute TopicFilterCriteria criteria) {
+        CursorPaginationDTO<TopicDTO.TopicResponse> response = topicService.getTopicsWithCursor(criteria);
+        return ResponseEntity.ok(response);
+    }
+
     // ==================== SIMPLE GET ENDPOINTS ====================
     @GetMapping
     @Operation(summary = "Get all topics", description = "Get all active topics with basic pagination")
@@ -228,8 +245,12 @@ public class TopicController {
     @Operation(summary = "Get popular topics", description = "Get topics sorted by view count")
     public ResponseEntity<List<TopicDTO.TopicSummaryResponse>> getPopularTopics(
             @Parameter(description = "Number of topics to return")
-            @RequestParam(defaultValue = "10") int limit) {
-        List<TopicDTO.TopicSummaryResponse> response = topicService.getPopularTopics(limit);
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Only topics of this university")
+            @RequestParam(required = false) Long universityId,
+            @Parameter(description = "Only topics in this category")
+            @RequestParam(required = false) Long categoryId) {
+        List<TopicDTO.TopicSummaryResponse> response = topicService.getPopularTopics(limit, universityId, categoryId);
         return ResponseEntity.ok(response);
     }
 
@@ -237,8 +258,12 @@ public class TopicController {
     @Operation(summary = "Get recent topics", description = "Get recently created topics")
     public ResponseEntity<List<TopicDTO.TopicSummaryResponse>> getRecentTopics(
             @Parameter(description = "Number of topics to return")
-            @RequestParam(defaultValue = "10") int limit) {
-        List<TopicDTO.TopicSummaryResponse> response = topicService.getRecentTopics(limit);
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Only topics of this university")
+            @RequestParam(required = false) Long universityId,
+            @Parameter(description = "Only topics in this category")
+            @RequestParam(required = false) Long categoryId) {
+        List<TopicDTO.TopicSummaryResponse> response = topicService.getRecentTopics(limit, universityId, categoryId);
         return ResponseEntity.ok(response);
     }
 
@@ -246,8 +271,12 @@ public class TopicController {
     @Operation(summary = "Get trending topics", description = "Get topics with high engagement (likes + comments)")
     public ResponseEntity<List<TopicDTO.TopicSummaryResponse>> getTrendingTopics(
             @Parameter(description = "Number of topics to return")
-            @RequestParam(defaultValue = "10") int limit) {
-        List<TopicDTO.TopicSummaryResponse> response = topicService.getTrendingTopics(limit);
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Only topics of this university")
+            @RequestParam(required = false) Long universityId,
+            @Parameter(description = "Only topics in this category")
+            @RequestParam(required = false) Long categoryId) {
+        List<TopicDTO.TopicSummaryResponse> response = topicService.getTrendingTopics(limit, universityId, categoryId);
         return ResponseEntity.ok(response);
     }
 
@@ -328,9 +357,11 @@ public class TopicController {
 
     // ==================== SEARCH ENDPOINTS ====================
     @GetMapping("/search")
-    @Operation(summary = "Search topics", description = "Search topics by keyword in title, content, and author name")
+    @Operation(summary = "Search topics",
+               description = "Full-text search over title, content, author and categories, ranked by relevance and " +
+                             "insensitive to Vietnamese diacritics. Passing sortBy switches to keyword matching sorted by that field")
     public ResponseEntity<PaginationDTO<TopicDTO.TopicResponse>> searchTopics(
-            @Parameter(description = "Search keyword", required = true)
+            @Parameter(description = "Search keyword, supports \"quoted phrases\", OR and -excluded words", required = true)
             @RequestParam String q,
 
             @Parameter(description = "Page number")
@@ -339,12 +370,16 @@ public class TopicController {
             @Parameter(description = "Page size")
             @RequestParam(defaultValue = "10") int size,
 
-            @Parameter(description = "Sort field")
-            @RequestParam(defaultValue = "lastActivityAt") String sortBy,
+            @Parameter(description = "Sort field, relevance when omitted")
+            @RequestParam(required = false) String sortBy,
 
             @Parameter(description = "Sort direction")
             @RequestParam(defaultValue = "DESC") String sortDirection) {
 
+        if (sortBy == null) {
+            return ResponseEntity.ok(topicService.searchTopics(q, page, size));
+        }
+
         TopicFilterCriteria criteria = TopicFilterCriteria.builder()
                 .searchKeyword(q)
                 .statuses(List.of(TopicStatus.ACTIVE))
@@ -1,18 +0,0 @@
-package com.backend.study_hub_api.controller;
-
-import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
-import org.springframework.stereotype.Controller;
-
-@Controller
-@RequiredArgsConstructor
-public class WebSocketController {
-
-    @MessageMapping("/connect")
-    public void handleConnect(@Payload String userId, SimpMessageHeaderAccessor headerAccessor) {
-        headerAccessor.getSessionAttributes().put("userId", userId);
-        System.out.println("User connected: " + userId);
-    }
-}
@@ -9,9 +9,11 @@ import java.time.Instant;
 public class CommentDTO {
     private Long id;
     private Long topicId;
+    private Long parentId;
     private String content;
     private Integer likeCount;
     private Integer dislikeCount;
+    private Integer replyCount;
     private Instant createdAt;
     private AuthorInfo author;
 
@@ -0,0 +1,19 @@
+package com.backend.study_hub_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload of verification and password reset emails in the outbox, rendered when the email is sent
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutboxPayload {
+    private String toEmail;
+    private String fullName;
+    private String otpCode;
+}
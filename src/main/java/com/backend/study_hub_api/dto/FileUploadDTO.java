@@ -1,5 +1,6 @@
 package com.backend.study_hub_api.dto;
 
+import com.backend.study_hub_api.helper.enumeration.UploadTarget;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.util.Map;
 
 public class FileUploadDTO {
 
@@ -47,4 +49,45 @@ public class FileUploadDTO {
         @Schema(description = "Upload timestamp")
         private Instant uploadedAt;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Presigned upload request")
+    public static class PresignedUploadRequest {
+        @Schema(description = "Original filename", example = "de-thi-giai-tich.pdf")
+        private String fileName;
+
+        @Schema(description = "Content type", example = "application/pdf")
+        private String contentType;
+
+        @Schema(description = "Exact file size in bytes", example = "2048576")
+        private Long fileSize;
+
+        @Schema(description = "What the file will be attached to", example = "TOPIC_ATTACHMENT")
+        private UploadTarget target;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Presigned upload, PUT the file body to uploadUrl with the given headers then send objectKey back")
+    public static class PresignedUploadResponse {
+        @Schema(description = "Presigned S3 URL")
+        private String uploadUrl;
+
+        @Schema(description = "HTTP method to use", example = "PUT")
+        private String method;
+
+        @Schema(description = "Headers that must be sent with the upload")
+        private Map<String, String> headers;
+
+        @Schema(description = "Object key to confirm once the upload is done", example = "topics/uuid.pdf")
+        private String objectKey;
+
+        @Schema(description = "When the upload URL stops working")
+        private Instant expiresAt;
+    }
 }
\ No newline at end of file
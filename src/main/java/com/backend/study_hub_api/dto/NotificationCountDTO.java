@@ -0,0 +1,12 @@
+package com.backend.study_hub_api.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCountDTO {
+    private Integer unread;
+}
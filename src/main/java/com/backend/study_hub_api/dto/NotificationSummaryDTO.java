@@ -0,0 +1,34 @@
+package com.backend.study_hub_api.dto;
+
+import com.backend.study_hub_api.helper.enumeration.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Inbox row: the notification with ids of what it points at, read in one query without loading those entities
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationSummaryDTO {
+    private Long id;
+    private NotificationType type;
+    private String title;
+    private String content;
+    private Boolean isRead;
+    private Instant createdAt;
+
+    private Long senderId;
+    private String senderName;
+    private String senderAvatarUrl;
+
+    private Long topicId;
+    private Long productId;
+    private Long orderId;
+    private Long commentId;
+}
@@ -147,6 +147,9 @@ public class ProductDTO {
 
         @Schema(description = "Product images as multipart files")
         private List<MultipartFile> images;
+
+        @Schema(description = "Object keys of images already uploaded with presigned URLs")
+        private List<String> imageKeys;
     }
 
     @Data
@@ -0,0 +1,25 @@
+package com.backend.study_hub_api.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One coalesced update pushed to /topic/topics/{id}, covering everything that happened on the topic since the last one.
+ * Reaction counts are null when no reaction changed, commentDelta is the net number of comments created.
+ */
+@Data
+@Builder
+public class TopicActivityDTO {
+    private Long topicId;
+    private Integer likeCount;
+    private Integer dislikeCount;
+    private Integer commentDelta;
+    private List<CommentDTO> newComments;
+    private List<Long> deletedCommentIds;
+    // More comments arrived than newComments carries, reload the first page instead
+    private Boolean commentsTruncated;
+    private Instant sentAt;
+}
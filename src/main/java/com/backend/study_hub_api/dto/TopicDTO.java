@@ -63,6 +63,9 @@ public class TopicDTO {
         private Long universityId;
 
         private List<MultipartFile> attachments;
+
+        // Object keys of attachments already uploaded with presigned URLs
+        private List<String> attachmentKeys;
     }
 
     @Getter
@@ -0,0 +1,23 @@
+package com.backend.study_hub_api.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A topic's place on a leaderboard with its live counters, summary is the cached rendering or null
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicRankingDTO {
+    private Long topicId;
+    private Integer viewCount;
+    private Integer likeCount;
+    private Integer dislikeCount;
+    private Integer commentCount;
+    private Instant lastActivityAt;
+    private TopicDTO.TopicSummaryResponse summary;
+}
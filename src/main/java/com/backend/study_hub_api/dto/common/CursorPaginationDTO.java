@@ -0,0 +1,20 @@
+package com.backend.study_hub_api.dto.common;
+
+import lombok.*;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@Data
+public class CursorPaginationDTO<T> {
+
+    private List<T> items;
+    private int pageSize;
+    private boolean hasNext;
+    private String nextCursor;
+
+    // Only filled when the client asks for it with includeTotal=true
+    private Long totalElements;
+
+}
@@ -14,5 +14,6 @@ public class PaginationDTO<T> {
     private List<T> items;
     private int pageSize;
     private int currentPage;
+    private boolean hasNext;
 
 }
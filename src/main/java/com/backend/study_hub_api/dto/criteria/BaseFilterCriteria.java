@@ -23,6 +23,13 @@ public abstract class BaseFilterCriteria {
     private String sortBy = "id";
     private String sortDirection = "ASC";
 
+    // Skip the COUNT query, totalElements is only returned when already cached
+    private Boolean skipCount;
+
+    // Keyset pagination fields, used by the cursor endpoints instead of page
+    private String cursor;
+    private Boolean includeTotal;
+
     // Date range filters (commonly used)
     private String createdFrom;
     private String createdTo;
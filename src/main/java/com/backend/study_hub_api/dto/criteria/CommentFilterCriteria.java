@@ -0,0 +1,25 @@
+package com.backend.study_hub_api.dto.criteria;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class CommentFilterCriteria extends BaseFilterCriteria {
+
+    // Comments and replies read oldest first, which is what the indexes and the cursor are built for
+    @Override
+    public String getSortBy() {
+        return "createdAt";
+    }
+
+    @Override
+    public String getSortDirection() {
+        return "ASC";
+    }
+
+}
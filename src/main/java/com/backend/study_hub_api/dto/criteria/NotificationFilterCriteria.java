@@ -0,0 +1,29 @@
+package com.backend.study_hub_api.dto.criteria;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class NotificationFilterCriteria extends BaseFilterCriteria {
+
+    private Boolean unreadOnly;
+
+    // The inbox is always newest first, which is what the indexes and the cursor are built for
+    @Override
+    public String getSortBy() {
+        return "createdAt";
+    }
+
+    @Override
+    public String getSortDirection() {
+        return "DESC";
+    }
+
+}
@@ -66,4 +66,23 @@ public class ProductFilterCriteria extends BaseFilterCriteria {
     public boolean hasPriceFilter() {
         return minPrice != null || maxPrice != null;
     }
+
+    /**
+     * Only a keyword over AVAILABLE products, the case answered by the in-memory search index
+     */
+    public boolean isKeywordOnlySearch() {
+        return getSearchKeyword() != null && !getSearchKeyword().isBlank()
+                && List.of(ProductStatus.AVAILABLE).equals(statuses)
+                && title == null && description == null
+                && sellerId == null && sellerName == null
+                && !hasCategoryFilter() && categoryName == null
+                && universityId == null && universityName == null
+                && (conditions == null || conditions.isEmpty())
+                && (deliveryMethods == null || deliveryMethods.isEmpty())
+                && !hasPriceFilter()
+                && minViewCount == null && maxViewCount == null
+                && address == null
+                && getIsActive() == null
+                && getCreatedFrom() == null && getCreatedTo() == null;
+    }
 }
\ No newline at end of file
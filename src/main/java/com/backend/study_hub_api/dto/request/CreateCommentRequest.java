@@ -15,4 +15,7 @@ public class CreateCommentRequest {
     @NotBlank(message = COMMENT_CONTENT_REQUIRED_ERROR)
     @Size(min = 1, max = 500, message = COMMENT_CONTENT_MAX_LENGTH_ERROR)
     private String content;
+
+    // Set to reply to a comment of the same topic
+    private Long parentId;
 }
\ No newline at end of file
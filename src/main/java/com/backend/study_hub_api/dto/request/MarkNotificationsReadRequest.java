@@ -0,0 +1,15 @@
+package com.backend.study_hub_api.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+import static com.backend.study_hub_api.helper.constant.Message.NOTIFICATION_MARK_READ_MAX_IDS_ERROR;
+
+@Data
+public class MarkNotificationsReadRequest {
+    // Empty or missing marks the whole inbox as read
+    @Size(max = 100, message = NOTIFICATION_MARK_READ_MAX_IDS_ERROR)
+    private List<Long> ids;
+}
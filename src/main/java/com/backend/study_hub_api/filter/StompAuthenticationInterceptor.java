@@ -0,0 +1,99 @@
+package com.backend.study_hub_api.filter;
+
+import com.backend.study_hub_api.config.jwt.ExtractJwtResult;
+import com.backend.study_hub_api.config.jwt.JwtProvider;
+import com.backend.study_hub_api.service.UserSessionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+
+import static com.backend.study_hub_api.helper.constant.HeaderConstant.AUTHORIZATION_HEADER;
+import static com.backend.study_hub_api.helper.constant.HeaderConstant.TOKEN_PREFIX;
+
+/**
+ * STOMP counterpart of AuthenticationFilter: the access token is sent in the CONNECT frame's Authorization header,
+ * since browsers cannot set headers on the WebSocket handshake. The authenticated user id becomes the session
+ * principal, which is what /user destinations are resolved against.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    // Resolved per session by the user destination handler, never subscribed to directly
+    private static final String USER_QUEUE_PREFIX = "/queue/";
+    // Topic activity channels are for signed-in users only
+    private static final String TOPIC_ACTIVITY_PREFIX = "/topic/topics/";
+    // Only @MessageMapping handlers may receive client frames, never the broker directly
+    private static final String APPLICATION_PREFIX = "/app/";
+
+    private final JwtProvider jwtProvider;
+    private final UserSessionService sessionService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT == accessor.getCommand()) {
+            // Without a token the connection stays anonymous and only receives public broadcasts
+            String accessToken = retrieveToken(accessor);
+            if (StringUtils.isNotBlank(accessToken)) {
+                accessor.setUser(authenticate(message, accessToken));
+            }
+        } else if (StompCommand.SUBSCRIBE == accessor.getCommand()) {
+            if (StringUtils.startsWith(accessor.getDestination(), USER_QUEUE_PREFIX)) {
+                throw new MessagingException(message, "Subscribe to /user" + accessor.getDestination() + " instead");
+            }
+            if (StringUtils.startsWith(accessor.getDestination(), TOPIC_ACTIVITY_PREFIX) && accessor.getUser() == null) {
+                throw new MessagingException(message, "Authentication required to subscribe to " + accessor.getDestination());
+            }
+            // Logged out since CONNECT: no new subscriptions
+            if (accessor.getUser() instanceof UsernamePasswordAuthenticationToken authentication
+                    && !sessionService.checkUserSession(String.valueOf(authentication.getCredentials()))) {
+                throw new MessagingException(message, "Session is no longer valid");
+            }
+        } else if (StompCommand.SEND == accessor.getCommand()
+                && !StringUtils.startsWith(accessor.getDestination(), APPLICATION_PREFIX)) {
+            throw new MessagingException(message, "Cannot send to " + accessor.getDestination());
+        }
+        return message;
+    }
+
+    private Principal authenticate(Message<?> message, String accessToken) {
+        ExtractJwtResult extractJwtResult = jwtProvider.extractClaims(accessToken);
+        if (!extractJwtResult.isValid() || !sessionService.checkUserSession(extractJwtResult.getTokenId())) {
+            log.debug("Rejected STOMP CONNECT with {} token", extractJwtResult.status());
+            throw new MessagingException(message, "Invalid or expired access token");
+        }
+
+        return new UsernamePasswordAuthenticationToken(
+                extractJwtResult.getUserId(),
+                extractJwtResult.getTokenId(),
+                extractJwtResult.getAuthorities()
+                                .stream()
+                                .map(SimpleGrantedAuthority::new)
+                                .toList()
+        );
+    }
+
+    private String retrieveToken(StompHeaderAccessor accessor) {
+        final String token = accessor.getFirstNativeHeader(AUTHORIZATION_HEADER);
+        if (StringUtils.isBlank(token) || !token.startsWith(TOKEN_PREFIX)) {
+            return StringUtils.EMPTY;
+        }
+        return token.replace(TOKEN_PREFIX, StringUtils.EMPTY).trim();
+    }
+}
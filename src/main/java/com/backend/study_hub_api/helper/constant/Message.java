@@ -61,6 +61,9 @@ public class Message {
     public static final String FILE_NAME_INVALID_ERROR = "error.validate.file.name.invalid";
     public static final String FILE_TYPE_NOT_SUPPORTED_ERROR = "error.validate.file.type.not-supported";
     public static final String MAX_FILE_UPLOAD_ERROR = "error.validate.file.max-upload";
+    public static final String FILE_UPLOAD_KEY_INVALID_ERROR = "error.validate.file.upload-key.invalid";
+    public static final String FILE_UPLOAD_NOT_FOUND_ERROR = "error.validate.file.upload.not-found";
+    public static final String FILE_DELETE_NOT_ALLOWED_ERROR = "error.validate.file.delete.not-allowed";
 
     // University Related Errors
     public static final String UNIVERSITY_NOT_FOUND = "error.university.not-found";
@@ -131,6 +134,7 @@ public class Message {
     public static final String COMMENT_CONTENT_REQUIRED_ERROR = "error.validate.comment.content.required";
     public static final String COMMENT_CONTENT_MAX_LENGTH_ERROR = "error.validate.comment.content.max-length";
     public static final String ONLY_COMMENT_AUTHOR_CAN_DELETE = "error.comment.only-author-can-delete";
+    public static final String COMMENT_PARENT_INVALID_ERROR = "error.comment.parent-invalid";
 
     // Message/Chat Related Errors
     public static final String MESSAGE_NOT_FOUND_ERROR = "error.message.not-found";
@@ -159,6 +163,7 @@ public class Message {
     public static final String NOTIFICATION_NOT_FOUND_ERROR = "error.notification.not-found";
     public static final String NOTIFICATION_TITLE_REQUIRED_ERROR = "error.validate.notification.title.required";
     public static final String NOTIFICATION_CONTENT_REQUIRED_ERROR = "error.validate.notification.content.required";
+    public static final String NOTIFICATION_MARK_READ_MAX_IDS_ERROR = "error.validate.notification.mark-read.max-ids";
 
     // Common Validation Errors
     public static final String ID_REQUIRED_ERROR = "error.validate.id.required";
@@ -230,4 +235,9 @@ public class Message {
     public static final String ORDER_SHIPPING_FEE_REQUIRED_ERROR = "error.validate.order.shipping-fee.required";
     public static final String TOPIC_ID_REQUIRED_ERROR = "error.validate.topic.id.required";
 
+    // Pagination Errors
+    public static final String PAGINATION_INVALID_CURSOR_ERROR = "error.pagination.invalid-cursor";
+    public static final String PAGINATION_CURSOR_MULTIPLE_SORT_ERROR = "error.pagination.cursor.multiple-sort";
+    public static final String PAGINATION_INVALID_SORT_FIELD_ERROR = "error.pagination.invalid-sort-field";
+
 }
\ No newline at end of file
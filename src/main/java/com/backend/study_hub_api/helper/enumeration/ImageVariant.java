@@ -0,0 +1,18 @@
+package com.backend.study_hub_api.helper.enumeration;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Downscaled copies generated for uploaded images, by longest edge in pixels
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ImageVariant {
+    THUMBNAIL("thumbnail", 160),
+    LIST("list", 480),
+    DETAIL("detail", 1080);
+
+    private final String suffix;
+    private final int maxDimension;
+}
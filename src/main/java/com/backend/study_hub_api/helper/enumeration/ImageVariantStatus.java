@@ -0,0 +1,15 @@
+package com.backend.study_hub_api.helper.enumeration;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ImageVariantStatus {
+    NONE("NONE"),
+    PENDING("PENDING"),
+    READY("READY"),
+    FAILED("FAILED");
+
+    private final String description;
+}
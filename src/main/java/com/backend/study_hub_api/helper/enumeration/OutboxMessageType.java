@@ -0,0 +1,13 @@
+package com.backend.study_hub_api.helper.enumeration;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OutboxMessageType {
+    VERIFICATION_EMAIL("VERIFICATION_EMAIL"),
+    PASSWORD_RESET_EMAIL("PASSWORD_RESET_EMAIL");
+
+    private final String description;
+}
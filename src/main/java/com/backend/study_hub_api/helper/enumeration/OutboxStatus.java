@@ -0,0 +1,14 @@
+package com.backend.study_hub_api.helper.enumeration;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OutboxStatus {
+    PENDING("PENDING"),
+    SENT("SENT"),
+    DEAD("DEAD");
+
+    private final String description;
+}
@@ -0,0 +1,34 @@
+package com.backend.study_hub_api.helper.enumeration;
+
+import lombok.Getter;
+
+/**
+ * Where a presigned upload will be attached, decides the S3 folder and what the uploaded object may be
+ */
+@Getter
+public enum UploadTarget {
+
+    TOPIC_ATTACHMENT("topics", 10, new String[]{
+            "application/msword",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+            "application/pdf",
+            "image/jpeg",
+            "image/jpg",
+            "image/png",
+            "video/mp4"
+    }),
+    PRODUCT_IMAGE("products/images", 10, new String[]{
+            "image/jpeg", "image/jpg", "image/png"
+    });
+
+    private final String folder;
+    private final int maxSizeInMB;
+    private final String[] allowedTypes;
+
+    UploadTarget(String folder, int maxSizeInMB, String[] allowedTypes) {
+        this.folder = folder;
+        this.maxSizeInMB = maxSizeInMB;
+        this.allowedTypes = allowedTypes;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.backend.study_hub_api.helper.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+
+import java.time.Duration;
+import java.util.function.BiFunction;
+
+public class CacheUtils {
+
+    /**
+     * In-memory cache holding at most maxEntries, each entry expiring after the TTL computed from it when written.
+     * When full, the least valuable entries are evicted one by one instead of the whole cache being dropped.
+     */
+    public static <K, V> Cache<K, V> boundedTtlCache(long maxEntries, BiFunction<K, V, Duration> ttl) {
+        return boundedTtlCache(maxEntries, ttl, (key, value, cause) -> {
+        });
+    }
+
+    /**
+     * Bounded cache with per-entry TTL, the listener is told about every entry expired or evicted for size
+     */
+    public static <K, V> Cache<K, V> boundedTtlCache(long maxEntries,
+                                                     BiFunction<K, V, Duration> ttl,
+                                                     RemovalListener<K, V> evictionListener) {
+        return Caffeine.newBuilder()
+                       .maximumSize(maxEntries)
+                       .evictionListener(evictionListener)
+                       .expireAfter(new Expiry<K, V>() {
+                           @Override
+                           public long expireAfterCreate(K key, V value, long currentTime) {
+                               return toNanos(ttl.apply(key, value));
+                           }
+
+                           @Override
+                           public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+                               return toNanos(ttl.apply(key, value));
+                           }
+
+                           @Override
+                           public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+                               return currentDuration;
+                           }
+                       })
+                       .build();
+    }
+
+    /**
+     * Bounded cache where every entry lives for the same TTL after it is written
+     */
+    public static <K, V> Cache<K, V> boundedTtlCache(long maxEntries, Duration ttl) {
+        return boundedTtlCache(maxEntries, (key, value) -> ttl);
+    }
+
+    private static long toNanos(Duration ttl) {
+        if (ttl.isNegative()) {
+            return 0;
+        }
+        // Durations past ~292 years do not fit in nanoseconds, they mean "never expires"
+        try {
+            return ttl.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.backend.study_hub_api.helper.util;
+
+import com.backend.study_hub_api.helper.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.backend.study_hub_api.helper.constant.Message.PAGINATION_INVALID_CURSOR_ERROR;
+
+/**
+ * Position of the last row of a keyset page: the sort value and id of that row.
+ * Sent to clients as an opaque Base64 token.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "\n";
+    private static final String VALUE_PREFIX = "v";
+
+    private final String sortBy;
+    private final String sortDirection;
+    private final Long id;
+    private final String value; // null when the sort value of the row was null
+
+    /**
+     * Build the cursor pointing at the given entity, sortBy must be a whitelisted field (see PageableBuilder)
+     * since its value is handed to the client
+     */
+    public static KeysetCursor of(Object entity, String sortBy, String sortDirection) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(entity);
+        Object id = wrapper.getPropertyValue("id");
+        Object value = wrapper.getPropertyValue(sortBy);
+
+        return new KeysetCursor(sortBy,
+                                sortDirection,
+                                ((Number) id).longValue(),
+                                value != null ? value.toString() : null);
+    }
+
+    /**
+     * Decode a cursor token, it must have been issued for the same sort field and direction
+     */
+    public static KeysetCursor decode(String token, String sortBy, String sortDirection) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value goes last so it may contain the separator itself
+            String[] parts = raw.split(SEPARATOR, 4);
+
+            KeysetCursor cursor = new KeysetCursor(parts[0],
+                                                   parts[1],
+                                                   Long.valueOf(parts[2]),
+                                                   parts.length == 4 ? parts[3].substring(VALUE_PREFIX.length()) : null);
+
+            if (!cursor.sortBy.equals(sortBy) || !cursor.sortDirection.equalsIgnoreCase(sortDirection)) {
+                throw new BadRequestException(PAGINATION_INVALID_CURSOR_ERROR);
+            }
+            return cursor;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException(PAGINATION_INVALID_CURSOR_ERROR);
+        }
+    }
+
+    public String encode() {
+        StringBuilder raw = new StringBuilder()
+                .append(sortBy).append(SEPARATOR)
+                .append(sortDirection).append(SEPARATOR)
+                .append(id);
+        if (value != null) {
+            raw.append(SEPARATOR).append(VALUE_PREFIX).append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isDescending() {
+        return "DESC".equalsIgnoreCase(sortDirection);
+    }
+}
@@ -1,6 +1,13 @@
 package com.backend.study_hub_api.helper.util;
 
 import com.backend.study_hub_api.dto.criteria.BaseFilterCriteria;
+import com.backend.study_hub_api.helper.exception.BadRequestException;
+import com.backend.study_hub_api.model.Category;
+import com.backend.study_hub_api.model.Notification;
+import com.backend.study_hub_api.model.Product;
+import com.backend.study_hub_api.model.Topic;
+import com.backend.study_hub_api.model.TopicComment;
+import com.backend.study_hub_api.model.University;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -8,42 +15,91 @@ import org.springframework.data.domain.Sort;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
+import static com.backend.study_hub_api.helper.constant.Message.PAGINATION_CURSOR_MULTIPLE_SORT_ERROR;
+import static com.backend.study_hub_api.helper.constant.Message.PAGINATION_INVALID_SORT_FIELD_ERROR;
 
 public class PageableBuilder {
 
-    // Map để validate các field có thể sort
-    private static final Map<Class<?>, List<String>> SORTABLE_FIELDS = Map.of(
-            // Có thể config các field cho phép sort cho từng entity
+    // Sort fields clients may ask for, per entity. Anything else is rejected: the sort field is also read from the
+    // last row into the keyset cursor, so an unchecked path would leak whatever it points to (e.g. author.password)
+    private static final Map<Class<?>, Set<String>> SORTABLE_FIELDS = Map.of(
+            Topic.class, Set.of("id", "title", "createdAt", "updatedAt", "lastActivityAt",
+                                "viewCount", "commentCount", "likeCount", "dislikeCount"),
+            Product.class, Set.of("id", "title", "price", "viewCount", "createdAt", "updatedAt"),
+            Category.class, Set.of("id", "name", "createdAt", "updatedAt"),
+            University.class, Set.of("id", "name", "shortName", "city", "createdAt", "updatedAt"),
+            TopicComment.class, Set.of("createdAt"),
+            Notification.class, Set.of("createdAt")
     );
 
     /**
-     * Build Pageable from BaseFilterCriteria
+     * Build Pageable from BaseFilterCriteria, the sort fields must be sortable for the entity
      */
-    public static Pageable build(BaseFilterCriteria criteria) {
-        return build(criteria.getPage(),
+    public static Pageable build(Class<?> entityClass, BaseFilterCriteria criteria) {
+        return build(entityClass,
+                     criteria.getPage(),
                      criteria.getSize(),
                      criteria.getSortBy(),
                      criteria.getSortDirection());
     }
 
     /**
-     * Build Pageable with custom parameters
+     * Build Pageable with custom parameters, the sort fields must be sortable for the entity
      */
-    public static Pageable build(Integer page, Integer size, String sortBy, String sortDirection) {
+    public static Pageable build(Class<?> entityClass, Integer page, Integer size, String sortBy, String sortDirection) {
         // Validate and set defaults
         int pageNumber = (page != null && page >= 0) ? page : 0;
-        int pageSize = (size != null && size > 0) ? Math.min(size, 100) : 10; // Max 100 items per page
+        int pageSize = resolvePageSize(size);
 
         // Build sort
-        Sort sort = buildSort(sortBy, sortDirection);
+        Sort sort = buildSort(entityClass, sortBy, sortDirection);
 
         return PageRequest.of(pageNumber, pageSize, sort);
     }
 
+    /**
+     * Validate page size, max 100 items per page
+     */
+    public static int resolvePageSize(Integer size) {
+        return (size != null && size > 0) ? Math.min(size, 100) : 10;
+    }
+
+    /**
+     * The single sort field of a keyset page, trimmed and checked against the entity's sortable fields.
+     * The returned name is the one to pass to buildKeysetSort, KeysetCursor.decode and the cursor response.
+     */
+    public static String resolveKeysetSortField(Class<?> entityClass, String sortBy) {
+        if (sortBy != null && sortBy.contains(",")) {
+            throw new BadRequestException(PAGINATION_CURSOR_MULTIPLE_SORT_ERROR);
+        }
+        if (sortBy == null || sortBy.isBlank()) {
+            return "id";
+        }
+        return resolveSortField(entityClass, sortBy);
+    }
+
+    /**
+     * Build Sort for keyset pagination: the sort field followed by id as a unique tie-breaker.
+     * sortBy must come from resolveKeysetSortField.
+     */
+    public static Sort buildKeysetSort(String sortBy, String sortDirection) {
+        Sort.Direction direction = "DESC".equalsIgnoreCase(sortDirection)
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+
+        if ("id".equals(sortBy)) {
+            return Sort.by(direction, "id");
+        }
+
+        return Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+    }
+
     /**
      * Build Sort object
      */
-    private static Sort buildSort(String sortBy, String sortDirection) {
+    private static Sort buildSort(Class<?> entityClass, String sortBy, String sortDirection) {
         if (sortBy == null || sortBy.trim().isEmpty()) {
             return Sort.unsorted();
         }
@@ -53,28 +109,29 @@ public class PageableBuilder {
                 : Sort.Direction.ASC;
 
         // Support multiple sort fields separated by comma
-        if (sortBy.contains(",")) {
-            List<Sort.Order> orders = new ArrayList<>();
-            String[] fields = sortBy.split(",");
-
-            for (String field : fields) {
-                String trimmedField = field.trim();
-                if (!trimmedField.isEmpty()) {
-                    orders.add(new Sort.Order(direction, trimmedField));
-                }
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String field : sortBy.split(",")) {
+            if (!field.isBlank()) {
+                orders.add(new Sort.Order(direction, resolveSortField(entityClass, field)));
             }
-
-            return Sort.by(orders);
         }
 
-        return Sort.by(direction, sortBy);
+        return Sort.by(orders);
+    }
+
+    private static String resolveSortField(Class<?> entityClass, String field) {
+        String trimmedField = field.trim();
+        if (!isSortableField(entityClass, trimmedField)) {
+            throw new BadRequestException(PAGINATION_INVALID_SORT_FIELD_ERROR);
+        }
+        return trimmedField;
     }
 
     /**
-     * Validate if field is sortable for given entity
+     * Validate if field is sortable for given entity, entities without a whitelist cannot be sorted
      */
     public static boolean isSortableField(Class<?> entityClass, String field) {
-        List<String> sortableFields = SORTABLE_FIELDS.get(entityClass);
-        return sortableFields == null || sortableFields.contains(field);
+        Set<String> sortableFields = SORTABLE_FIELDS.get(entityClass);
+        return sortableFields != null && sortableFields.contains(field);
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,12 @@
 package com.backend.study_hub_api.helper.util;
 
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
 import com.backend.study_hub_api.dto.common.PaginationDTO;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.function.Function;
 
 public class PaginationUtils {
 
@@ -14,6 +17,54 @@ public class PaginationUtils {
                 .totalElements(page.getTotalElements())
                 .pageSize(page.getSize())
                 .currentPage(page.getNumber())
+                .hasNext(page.hasNext())
+                .build();
+    }
+
+    /**
+     * Build a page response from a slice, totalElements and totalPages are -1 when the total is unknown
+     */
+    public static <E, T> PaginationDTO<T> createPaginationResponse(Slice<E> slice, List<T> items, Long totalElements) {
+        int totalPages = -1;
+        if (totalElements != null) {
+            totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / slice.getSize());
+        }
+
+        return PaginationDTO.<T>builder()
+                .items(items)
+                .totalPages(totalPages)
+                .totalElements(totalElements != null ? totalElements : -1)
+                .pageSize(slice.getSize())
+                .currentPage(slice.getNumber())
+                .hasNext(slice.hasNext())
+                .build();
+    }
+
+    /**
+     * Build a keyset page from rows fetched with limit pageSize + 1, the extra row only tells whether there is a next page.
+     * sortBy must be the field the rows were sorted by, as returned by PageableBuilder.resolveKeysetSortField.
+     */
+    public static <E, T> CursorPaginationDTO<T> createCursorResponse(List<E> rows,
+                                                                     int pageSize,
+                                                                     String sortBy,
+                                                                     String sortDirection,
+                                                                     Function<List<E>, List<T>> mapper,
+                                                                     Long totalElements) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            E last = pageRows.get(pageRows.size() - 1);
+            nextCursor = KeysetCursor.of(last, sortBy, sortDirection).encode();
+        }
+
+        return CursorPaginationDTO.<T>builder()
+                .items(mapper.apply(pageRows))
+                .pageSize(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(totalElements)
                 .build();
     }
 }
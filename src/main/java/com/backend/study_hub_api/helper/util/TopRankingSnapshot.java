@@ -0,0 +1,62 @@
+package com.backend.study_hub_api.helper.util;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * A small top-N list kept in memory and reloaded at most once per TTL.
+ * Once loaded, an expired list is still served to everyone except the one caller that reloads it,
+ * so readers never queue behind the query. The loader must be bounded (e.g. a LIMIT query), the list is
+ * served as is and must not be modified by callers.
+ */
+public final class TopRankingSnapshot<T> {
+
+    private final Supplier<List<T>> loader;
+    private final long ttlNanos;
+    private final AtomicReference<Snapshot<T>> current = new AtomicReference<>();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    public TopRankingSnapshot(Duration ttl, Supplier<List<T>> loader) {
+        this.loader = loader;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public List<T> get() {
+        Snapshot<T> snapshot = current.get();
+        if (snapshot == null) {
+            return refresh();
+        }
+        if (System.nanoTime() - snapshot.loadedAt > ttlNanos && reloading.compareAndSet(false, true)) {
+            try {
+                return refresh();
+            } finally {
+                reloading.set(false);
+            }
+        }
+        return snapshot.items;
+    }
+
+    /**
+     * Reload now, e.g. after the counters the ranking is based on were written
+     */
+    public List<T> refresh() {
+        List<T> items = List.copyOf(loader.get());
+        current.set(new Snapshot<>(items, System.nanoTime()));
+        return items;
+    }
+
+    /**
+     * Reload only when the list has been requested since startup, nobody pays for rankings that are not read
+     */
+    public void refreshIfLoaded() {
+        if (current.get() != null) {
+            refresh();
+        }
+    }
+
+    private record Snapshot<T>(List<T> items, long loadedAt) {
+    }
+}
@@ -1,17 +1,23 @@
 package com.backend.study_hub_api.mapper;
 
 import com.backend.study_hub_api.dto.OrderDTO;
+import com.backend.study_hub_api.helper.enumeration.ImageVariant;
 import com.backend.study_hub_api.model.Order;
 import com.backend.study_hub_api.model.OrderItem;
 import com.backend.study_hub_api.model.User;
+import com.backend.study_hub_api.service.ImageVariantService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class OrderMapper {
 
+    private final ImageVariantService imageVariantService;
+
     public OrderDTO toDTO(Order order) {
         if (order == null) {
             return null;
@@ -62,7 +68,7 @@ public class OrderMapper {
                                       .id(user.getId())
                                       .fullName(user.getFullName())
                                       .email(user.getEmail())
-                                      .avatarUrl(user.getAvatarUrl())
+                                      .avatarUrl(imageVariantService.resolveUrl(user.getAvatarUrl(), ImageVariant.THUMBNAIL))
                                       .phone(user.getPhone())
                                       .build();
     }
@@ -86,7 +92,7 @@ public class OrderMapper {
                                     .id(orderItem.getId())
                                     .productId(orderItem.getProduct().getId())
                                     .productTitle(orderItem.getProductTitle())
-                                    .productImageUrl(orderItem.getProductImageUrl())
+                                    .productImageUrl(imageVariantService.resolveUrl(orderItem.getProductImageUrl(), ImageVariant.THUMBNAIL))
                                     .itemPrice(orderItem.getItemPrice())
                                     .createdAt(orderItem.getCreatedAt())
                                     .build();
@@ -0,0 +1,58 @@
+package com.backend.study_hub_api.model;
+
+import com.backend.study_hub_api.helper.enumeration.ImageVariantStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * An S3 object stored under a content-addressed key (folder + SHA-256 of the content),
+ * shared by every upload of the same bytes to the same folder.
+ */
+@Entity
+@Table(name = "t_file_blobs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "object_key", nullable = false, unique = true, length = 512)
+    private String objectKey;
+
+    // SHA-256 hex, or the S3 ETag for presigned uploads whose bytes never pass through the server
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    // Uploads and entities currently pointing at the object
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    // False until one PUT of the content has succeeded
+    @Column(name = "uploaded", nullable = false)
+    private Boolean uploaded;
+
+    // Downscaled copies for images, NONE for other content. Null on rows created before variants existed
+    @Enumerated(EnumType.STRING)
+    @Column(name = "variant_status", length = 20)
+    private ImageVariantStatus variantStatus;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "last_referenced_at", nullable = false)
+    private Instant lastReferencedAt;
+
+}
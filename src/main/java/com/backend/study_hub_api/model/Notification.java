@@ -7,7 +7,10 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "t_notifications")
+@Table(name = "t_notifications", indexes = {
+        @Index(name = "idx_notifications_recipient_read_created", columnList = "recipient_id, is_read, created_at"),
+        @Index(name = "idx_notifications_recipient_created", columnList = "recipient_id, created_at")
+})
 @Getter
 @Setter
 @Builder
@@ -0,0 +1,65 @@
+package com.backend.study_hub_api.model;
+
+import com.backend.study_hub_api.helper.enumeration.OutboxMessageType;
+import com.backend.study_hub_api.helper.enumeration.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A side effect (e.g. an email) recorded in the same transaction as the change that caused it,
+ * delivered afterwards by the outbox dispatcher.
+ */
+@Entity
+@Table(name = "t_outbox_messages",
+       indexes = @Index(name = "idx_outbox_messages_status_next_attempt", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 50)
+    private OutboxMessageType type;
+
+    // JSON, shape depends on the type
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    // Claimed messages are pushed forward by the lease so a crashed dispatcher's batch is picked up again
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    // Past this the message is useless (e.g. the OTP inside expired) and is dead-lettered without sending
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "processed_at")
+    private Instant processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+
+}
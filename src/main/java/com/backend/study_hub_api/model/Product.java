@@ -3,6 +3,7 @@ package com.backend.study_hub_api.model;
 import com.backend.study_hub_api.helper.enumeration.DeliveryMethod;
 import com.backend.study_hub_api.helper.enumeration.ProductCondition;
 import com.backend.study_hub_api.helper.enumeration.ProductStatus;
+import com.backend.study_hub_api.model.listener.ProductSearchIndexListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
@@ -12,7 +13,9 @@ import java.time.Instant;
 import java.util.List;
 
 @Entity
-@Table(name = "t_products")
+@Table(name = "t_products",
+       indexes = @Index(name = "idx_products_status_view_count", columnList = "status, view_count"))
+@EntityListeners(ProductSearchIndexListener.class)
 @Getter
 @Setter
 @Builder
@@ -2,6 +2,7 @@ package com.backend.study_hub_api.model;
 
 import com.backend.study_hub_api.helper.enumeration.TopicStatus;
 import com.backend.study_hub_api.helper.enumeration.TopicVisibility;
+import com.backend.study_hub_api.model.listener.TopicLeaderboardListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
@@ -11,7 +12,9 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "t_topics")
+@Table(name = "t_topics",
+       indexes = @Index(name = "idx_topics_status_view_count", columnList = "status, view_count"))
+@EntityListeners(TopicLeaderboardListener.class)
 @Getter
 @Setter
 @Builder
@@ -8,7 +8,10 @@ import java.time.Instant;
 import java.util.List;
 
 @Entity
-@Table(name = "t_topic_comments")
+@Table(name = "t_topic_comments", indexes = {
+        @Index(name = "idx_topic_comments_topic_parent_created", columnList = "topic_id, parent_id, created_at, id"),
+        @Index(name = "idx_topic_comments_parent_created", columnList = "parent_id, created_at, id")
+})
 @Getter
 @Setter
 @Builder
@@ -28,6 +31,16 @@ public class TopicComment {
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
 
+    // Root comment of the thread, null for top-level comments. Threads are one level deep
+    @JsonIgnore
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    private TopicComment parent;
+
+    @Column(name = "reply_count")
+    private Integer replyCount = 0;
+
     @Column(name = "content", nullable = false, columnDefinition = "TEXT")
     private String content;
 
@@ -66,6 +66,11 @@ public class User {
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    // Maintained by bulk updates in NotificationService, never written through the entity. Null until first counted
+    @JsonIgnore
+    @Column(name = "unread_notification_count", insertable = false, updatable = false)
+    private Integer unreadNotificationCount;
+
     @JsonIgnore
     @ToString.Exclude
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
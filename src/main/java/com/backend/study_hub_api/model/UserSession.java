@@ -1,5 +1,6 @@
 package com.backend.study_hub_api.model;
 
+import com.backend.study_hub_api.model.listener.UserSessionCacheListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
@@ -8,6 +9,7 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "t_user_sessions")
+@EntityListeners(UserSessionCacheListener.class)
 @Getter
 @Setter
 @Builder
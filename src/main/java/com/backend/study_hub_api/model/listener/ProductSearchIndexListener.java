@@ -0,0 +1,29 @@
+package com.backend.study_hub_api.model.listener;
+
+import com.backend.study_hub_api.model.Product;
+import com.backend.study_hub_api.service.ProductSearchService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps the product search index in sync with create, status changes (markAsPending / markAsSold / markAsAvailable),
+ * soft and hard deletes. Instantiated by Spring through Hibernate's bean container.
+ */
+@RequiredArgsConstructor
+public class ProductSearchIndexListener {
+
+    private final ProductSearchService productSearchService;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Product product) {
+        productSearchService.refreshProduct(product.getId());
+    }
+
+    @PostRemove
+    public void onRemove(Product product) {
+        productSearchService.removeProduct(product.getId());
+    }
+}
@@ -0,0 +1,25 @@
+package com.backend.study_hub_api.model.listener;
+
+import com.backend.study_hub_api.model.Topic;
+import com.backend.study_hub_api.service.TopicLeaderboardService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Re-reads created, edited and deleted (soft or hard) topics into the leaderboards.
+ * Instantiated by Spring through Hibernate's bean container.
+ */
+@RequiredArgsConstructor
+public class TopicLeaderboardListener {
+
+    private final TopicLeaderboardService topicLeaderboardService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Topic topic) {
+        topicLeaderboardService.refreshTopic(topic.getId());
+    }
+}
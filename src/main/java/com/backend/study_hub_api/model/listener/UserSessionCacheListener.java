@@ -0,0 +1,30 @@
+package com.backend.study_hub_api.model.listener;
+
+import com.backend.study_hub_api.helper.util.TransactionUtils;
+import com.backend.study_hub_api.model.UserSession;
+import com.backend.study_hub_api.service.SessionValidationCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps the session cache in sync when User.setNewSession replaces the sessions of a user (orphan removal)
+ * or a session is deleted. Applied after commit so a rolled back login does not revoke the old session.
+ */
+@RequiredArgsConstructor
+public class UserSessionCacheListener {
+
+    private final SessionValidationCache sessionValidationCache;
+
+    @PostPersist
+    public void onCreate(UserSession session) {
+        String tokenId = session.getTokenId();
+        TransactionUtils.afterCommit(() -> sessionValidationCache.evict(tokenId));
+    }
+
+    @PostRemove
+    public void onRemove(UserSession session) {
+        String tokenId = session.getTokenId();
+        TransactionUtils.afterCommit(() -> sessionValidationCache.revoke(tokenId));
+    }
+}
@@ -0,0 +1,101 @@
+package com.backend.study_hub_api.repository;
+
+import com.backend.study_hub_api.helper.enumeration.ImageVariantStatus;
+import com.backend.study_hub_api.model.FileBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FileBlobRepository extends JpaRepository<FileBlob, Long> {
+
+    /**
+     * Add a reference to the blob, creating it (not uploaded yet) when it is the first one.
+     * Keeps the row locked until the transaction ends, so a concurrent last-reference delete waits.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO t_file_blobs (object_key, content_hash, content_type, file_size, ref_count, uploaded, variant_status, created_at, last_referenced_at) " +
+                   "VALUES (:objectKey, :contentHash, :contentType, :fileSize, 1, false, :variantStatus, now(), now()) " +
+                   "ON CONFLICT (object_key) DO UPDATE SET " +
+                   "    ref_count = t_file_blobs.ref_count + 1, " +
+                   "    last_referenced_at = now()",
+           nativeQuery = true)
+    int acquireReference(@Param("objectKey") String objectKey,
+                         @Param("contentHash") String contentHash,
+                         @Param("contentType") String contentType,
+                         @Param("fileSize") Long fileSize,
+                         @Param("variantStatus") String variantStatus);
+
+    /**
+     * Register an object the client uploaded with a presigned URL, referenced once by what it is attached to.
+     * Inserts nothing and returns 0 when the key is already registered: it was confirmed before.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO t_file_blobs (object_key, content_hash, content_type, file_size, ref_count, uploaded, variant_status, created_at, last_referenced_at) " +
+                   "VALUES (:objectKey, :contentHash, :contentType, :fileSize, 1, true, 'NONE', now(), now()) " +
+                   "ON CONFLICT (object_key) DO NOTHING",
+           nativeQuery = true)
+    int registerUpload(@Param("objectKey") String objectKey,
+                       @Param("contentHash") String contentHash,
+                       @Param("contentType") String contentType,
+                       @Param("fileSize") Long fileSize);
+
+    /**
+     * Undo registerUpload while nothing but the failed confirmation references the object, the object itself is kept
+     */
+    @Modifying
+    @Query("DELETE FROM FileBlob b WHERE b.objectKey = :objectKey AND b.refCount = 1")
+    int unregisterUpload(@Param("objectKey") String objectKey);
+
+    @Query("SELECT b.uploaded FROM FileBlob b WHERE b.objectKey = :objectKey")
+    Optional<Boolean> findUploadedByObjectKey(@Param("objectKey") String objectKey);
+
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.uploaded = true WHERE b.objectKey = :objectKey")
+    int markUploaded(@Param("objectKey") String objectKey);
+
+    @Query("SELECT b.variantStatus FROM FileBlob b WHERE b.objectKey = :objectKey")
+    Optional<ImageVariantStatus> findVariantStatusByObjectKey(@Param("objectKey") String objectKey);
+
+    /**
+     * Object key and variant status of each existing blob, keys without a blob are left out
+     */
+    @Query("SELECT b.objectKey, b.variantStatus FROM FileBlob b WHERE b.objectKey IN :objectKeys")
+    List<Object[]> findVariantStatusByObjectKeyIn(@Param("objectKeys") Collection<String> objectKeys);
+
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.variantStatus = :status WHERE b.objectKey = :objectKey AND b.variantStatus = :expected")
+    int updateVariantStatus(@Param("objectKey") String objectKey,
+                            @Param("expected") ImageVariantStatus expected,
+                            @Param("status") ImageVariantStatus status);
+
+    @Query("SELECT b.objectKey FROM FileBlob b " +
+           "WHERE b.uploaded = true AND b.variantStatus = :status AND b.lastReferencedAt < :before " +
+           "ORDER BY b.id")
+    List<String> findUploadedObjectKeysByVariantStatus(@Param("status") ImageVariantStatus status,
+                                                       @Param("before") Instant before,
+                                                       Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<FileBlob> findByObjectKey(String objectKey);
+
+    boolean existsByObjectKey(String objectKey);
+
+    @Query("SELECT b.objectKey FROM FileBlob b WHERE b.objectKey IN :objectKeys AND b.lastReferencedAt >= :since")
+    List<String> findObjectKeysReferencedSince(@Param("objectKeys") Collection<String> objectKeys,
+                                               @Param("since") Instant since);
+
+    @Modifying
+    @Query("DELETE FROM FileBlob b WHERE b.objectKey IN :objectKeys")
+    int deleteByObjectKeyIn(@Param("objectKeys") Collection<String> objectKeys);
+}
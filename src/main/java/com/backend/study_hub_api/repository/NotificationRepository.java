@@ -1,15 +1,60 @@
 package com.backend.study_hub_api.repository;
 
+import com.backend.study_hub_api.dto.NotificationSummaryDTO;
 import com.backend.study_hub_api.model.Notification;
 import com.backend.study_hub_api.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
+    // Topic, product, order and comment ids come from the foreign keys, those tables are not joined
+    String INBOX_SELECT = "SELECT new com.backend.study_hub_api.dto.NotificationSummaryDTO(" +
+                          "n.id, n.type, n.title, n.content, n.isRead, n.createdAt, " +
+                          "s.id, s.fullName, s.avatarUrl, " +
+                          "n.topic.id, n.product.id, n.order.id, n.comment.id) " +
+                          "FROM Notification n LEFT JOIN n.sender s " +
+                          "WHERE n.recipient.id = :recipientId ";
+    String UNREAD_ONLY = "AND n.isRead = false ";
+    String BEFORE_CURSOR = "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) ";
+    String NEWEST_FIRST = "ORDER BY n.createdAt DESC, n.id DESC";
+
     List<Notification> findByRecipientOrderByCreatedAtDesc(User recipient);
 
+    @Query(INBOX_SELECT + NEWEST_FIRST)
+    List<NotificationSummaryDTO> findInbox(@Param("recipientId") Long recipientId, Pageable pageable);
+
+    @Query(INBOX_SELECT + BEFORE_CURSOR + NEWEST_FIRST)
+    List<NotificationSummaryDTO> findInboxBefore(@Param("recipientId") Long recipientId,
+                                                 @Param("createdAt") Instant createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    @Query(INBOX_SELECT + UNREAD_ONLY + NEWEST_FIRST)
+    List<NotificationSummaryDTO> findUnreadInbox(@Param("recipientId") Long recipientId, Pageable pageable);
+
+    @Query(INBOX_SELECT + UNREAD_ONLY + BEFORE_CURSOR + NEWEST_FIRST)
+    List<NotificationSummaryDTO> findUnreadInboxBefore(@Param("recipientId") Long recipientId,
+                                                       @Param("createdAt") Instant createdAt,
+                                                       @Param("id") Long id,
+                                                       Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.recipient.id = :recipientId AND n.isRead = false")
+    int markAllAsRead(@Param("recipientId") Long recipientId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.recipient.id = :recipientId AND n.isRead = false AND n.id IN :ids")
+    int markAsRead(@Param("recipientId") Long recipientId, @Param("ids") Collection<Long> ids);
+
 }
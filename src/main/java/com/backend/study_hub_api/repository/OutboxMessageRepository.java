@@ -0,0 +1,50 @@
+package com.backend.study_hub_api.repository;
+
+import com.backend.study_hub_api.helper.enumeration.OutboxStatus;
+import com.backend.study_hub_api.model.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Lock due messages, rows already locked by another dispatcher are skipped instead of waited on
+     */
+    @Query(value = "SELECT * FROM t_outbox_messages " +
+                   "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at, id " +
+                   "LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxMessage> lockDueMessages(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Only a PENDING message changes, a late outcome never turns a dead-lettered message into a sent one
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :status, m.processedAt = :processedAt, m.lastError = :lastError " +
+           "WHERE m.id = :id AND m.status = com.backend.study_hub_api.helper.enumeration.OutboxStatus.PENDING")
+    int markProcessed(@Param("id") Long id,
+                      @Param("status") OutboxStatus status,
+                      @Param("processedAt") Instant processedAt,
+                      @Param("lastError") String lastError);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.attempts = :attempts, m.nextAttemptAt = :nextAttemptAt, m.lastError = :lastError " +
+           "WHERE m.id = :id AND m.status = com.backend.study_hub_api.helper.enumeration.OutboxStatus.PENDING")
+    int reschedule(@Param("id") Long id,
+                   @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") Instant nextAttemptAt,
+                   @Param("lastError") String lastError);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = :status AND m.processedAt < :before")
+    int deleteProcessedBefore(@Param("status") OutboxStatus status, @Param("before") Instant before);
+}
@@ -25,6 +25,9 @@ public interface ProductImageRepository extends JpaRepository<ProductImage, Long
     @Query("UPDATE ProductImage pi SET pi.isPrimary = false WHERE pi.product.id = :productId")
     void unsetAllPrimaryImages(@Param("productId") Long productId);
 
+    @Query("SELECT DISTINCT pi.imageUrl FROM ProductImage pi")
+    List<String> findAllImageUrls();
+
     boolean existsByIdAndProductId(Long imageId, Long productId);
 
     @Query("SELECT CASE WHEN COUNT(pi) > 0 THEN true ELSE false END " +
@@ -1,24 +1,62 @@
 package com.backend.study_hub_api.repository;
 
 import com.backend.study_hub_api.model.TopicComment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TopicCommentRepository extends JpaRepository<TopicComment, Long>, JpaSpecificationExecutor<TopicComment> {
 
+    String COMMENT_SELECT = "SELECT c FROM TopicComment c " +
+                            "JOIN FETCH c.author " +
+                            "WHERE c.isDeleted = false ";
+    String TOP_LEVEL = "AND c.topic.id = :topicId AND c.parent IS NULL ";
+    String REPLIES = "AND c.parent.id = :parentId ";
+    String AFTER_CURSOR = "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) ";
+    String OLDEST_FIRST = "ORDER BY c.createdAt ASC, c.id ASC";
+
     @Query("SELECT c FROM TopicComment c WHERE c.id = :id AND c.isDeleted = false")
     Optional<TopicComment> findByIdAndNotDeleted(@Param("id") Long id);
 
-    @Query("SELECT c FROM TopicComment c " +
-           "LEFT JOIN FETCH c.author " +
-           "WHERE c.topic.id = :topicId AND c.isDeleted = false " +
-           "ORDER BY c.createdAt ASC")
-    List<TopicComment> findByTopicIdAndNotDeletedOrderByCreatedAt(@Param("topicId") Long topicId);
-}
\ No newline at end of file
+    @Query(COMMENT_SELECT + TOP_LEVEL + OLDEST_FIRST)
+    List<TopicComment> findTopLevel(@Param("topicId") Long topicId, Pageable pageable);
+
+    @Query(COMMENT_SELECT + TOP_LEVEL + AFTER_CURSOR + OLDEST_FIRST)
+    List<TopicComment> findTopLevelAfter(@Param("topicId") Long topicId,
+                                         @Param("createdAt") Instant createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query(COMMENT_SELECT + REPLIES + OLDEST_FIRST)
+    List<TopicComment> findReplies(@Param("parentId") Long parentId, Pageable pageable);
+
+    @Query(COMMENT_SELECT + REPLIES + AFTER_CURSOR + OLDEST_FIRST)
+    List<TopicComment> findRepliesAfter(@Param("parentId") Long parentId,
+                                        @Param("createdAt") Instant createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    @Modifying
+    @Query(value = "UPDATE t_topic_comments SET reply_count = GREATEST(COALESCE(reply_count, 0) + :delta, 0) WHERE id = :commentId",
+           nativeQuery = true)
+    int addReplyCount(@Param("commentId") Long commentId, @Param("delta") int delta);
+
+    /**
+     * Soft delete that only succeeds once: returns 0 when the comment was already deleted, so a repeated or
+     * concurrent delete never moves the counters again
+     */
+    @Modifying
+    @Query(value = "UPDATE t_topic_comments SET is_deleted = true, updated_at = now() " +
+                   "WHERE id = :commentId AND is_deleted IS NOT TRUE",
+           nativeQuery = true)
+    int softDelete(@Param("commentId") Long commentId);
+}
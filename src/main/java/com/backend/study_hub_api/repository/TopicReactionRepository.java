@@ -3,6 +3,7 @@ package com.backend.study_hub_api.repository;
 import com.backend.study_hub_api.helper.enumeration.ReactionType;
 import com.backend.study_hub_api.model.TopicReaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -38,4 +39,46 @@ public interface TopicReactionRepository extends JpaRepository<TopicReaction, Lo
            "WHERE tr.topic.id IN :topicIds AND tr.user.id = :userId")
     List<TopicReaction> getUserReactionsForTopics(@Param("topicIds") List<Long> topicIds,
                                                   @Param("userId") Long userId);
-}
\ No newline at end of file
+
+    /**
+     * Insert the reaction, or switch an existing one to the given type, and move the topic counters
+     * in the same statement. Returns 0 when the user already has this exact reaction.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "WITH upserted AS (" +
+                   "    INSERT INTO t_topic_reactions (topic_id, user_id, reaction_type, created_at) " +
+                   "    VALUES (:topicId, :userId, :reactionType, now()) " +
+                   "    ON CONFLICT (topic_id, user_id) DO UPDATE SET reaction_type = EXCLUDED.reaction_type " +
+                   "    WHERE t_topic_reactions.reaction_type <> EXCLUDED.reaction_type " +
+                   "    RETURNING (xmax = 0) AS inserted" +
+                   ") " +
+                   "UPDATE t_topics SET " +
+                   "    like_count = GREATEST(like_count + CASE WHEN :reactionType = 'LIKE' THEN 1 " +
+                   "        WHEN (SELECT inserted FROM upserted) THEN 0 ELSE -1 END, 0), " +
+                   "    dislike_count = GREATEST(dislike_count + CASE WHEN :reactionType = 'DISLIKE' THEN 1 " +
+                   "        WHEN (SELECT inserted FROM upserted) THEN 0 ELSE -1 END, 0) " +
+                   "WHERE id = :topicId AND EXISTS (SELECT 1 FROM upserted)",
+           nativeQuery = true)
+    int upsertReaction(@Param("topicId") Long topicId,
+                       @Param("userId") Long userId,
+                       @Param("reactionType") String reactionType);
+
+    /**
+     * Delete the user's reaction of the given type and decrement the matching topic counter
+     * in the same statement. Returns 0 when there was nothing to delete.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "WITH removed AS (" +
+                   "    DELETE FROM t_topic_reactions " +
+                   "    WHERE topic_id = :topicId AND user_id = :userId AND reaction_type = :reactionType " +
+                   "    RETURNING id" +
+                   ") " +
+                   "UPDATE t_topics SET " +
+                   "    like_count = GREATEST(like_count - CASE WHEN :reactionType = 'LIKE' THEN 1 ELSE 0 END, 0), " +
+                   "    dislike_count = GREATEST(dislike_count - CASE WHEN :reactionType = 'DISLIKE' THEN 1 ELSE 0 END, 0) " +
+                   "WHERE id = :topicId AND EXISTS (SELECT 1 FROM removed)",
+           nativeQuery = true)
+    int deleteReaction(@Param("topicId") Long topicId,
+                       @Param("userId") Long userId,
+                       @Param("reactionType") String reactionType);
+}
@@ -4,8 +4,12 @@ import com.backend.study_hub_api.helper.enumeration.TopicStatus;
 import com.backend.study_hub_api.model.Topic;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +17,46 @@ public interface TopicRepository extends JpaRepository<Topic, Long>, JpaSpecific
 
     List<Topic> findTop10ByStatusOrderByViewCountDesc(TopicStatus status);
 
+    @Query("SELECT DISTINCT t FROM Topic t " +
+           "JOIN FETCH t.author " +
+           "LEFT JOIN FETCH t.university " +
+           "LEFT JOIN FETCH t.categories " +
+           "WHERE t.id IN :ids")
+    List<Topic> findWithAuthorAndCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT t FROM Topic t " +
+           "LEFT JOIN FETCH t.attachments " +
+           "WHERE t.id IN :ids")
+    List<Topic> findWithAttachmentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Leaderboard rows: id, createdAt, lastActivityAt, viewCount, likeCount, dislikeCount, commentCount, universityId
+    @Query("SELECT t.id, t.createdAt, t.lastActivityAt, t.viewCount, t.likeCount, t.dislikeCount, t.commentCount, u.id " +
+           "FROM Topic t LEFT JOIN t.university u " +
+           "WHERE t.status = :status")
+    List<Object[]> findRankingRowsByStatus(@Param("status") TopicStatus status);
+
+    @Query("SELECT t.id, t.createdAt, t.lastActivityAt, t.viewCount, t.likeCount, t.dislikeCount, t.commentCount, u.id " +
+           "FROM Topic t LEFT JOIN t.university u " +
+           "WHERE t.status = :status AND t.id IN :ids")
+    List<Object[]> findRankingRowsByStatusAndIdIn(@Param("status") TopicStatus status, @Param("ids") Collection<Long> ids);
+
+    // (topicId, categoryId) pairs
+    @Query("SELECT t.id, c.id FROM Topic t JOIN t.categories c WHERE t.status = :status")
+    List<Object[]> findCategoryIdsByStatus(@Param("status") TopicStatus status);
+
+    @Query("SELECT t.id, c.id FROM Topic t JOIN t.categories c WHERE t.status = :status AND t.id IN :ids")
+    List<Object[]> findCategoryIdsByStatusAndIdIn(@Param("status") TopicStatus status, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Move the comment counter in SQL, in the transaction that writes the comment. A new comment also moves
+     * last_activity_at, GREATEST skips a NULL one.
+     */
+    @Modifying
+    @Query(value = "UPDATE t_topics SET " +
+                   "    comment_count = GREATEST(COALESCE(comment_count, 0) + :delta, 0), " +
+                   "    last_activity_at = CASE WHEN :delta > 0 THEN GREATEST(last_activity_at, now()) ELSE last_activity_at END " +
+                   "WHERE id = :topicId",
+           nativeQuery = true)
+    int addCommentCount(@Param("topicId") Long topicId, @Param("delta") int delta);
+
 }
@@ -0,0 +1,131 @@
+package com.backend.study_hub_api.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * PostgreSQL full-text search over topics.
+ * t_topics.search_vector is maintained by triggers: title (A), category names (B), author name (C), content (D),
+ * all unaccented and lower-cased so Vietnamese keywords match with or without diacritics.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class TopicSearchRepository {
+
+    private static final List<String> SCHEMA_STATEMENTS = List.of(
+            "CREATE EXTENSION IF NOT EXISTS unaccent",
+
+            // unaccent() is only STABLE, the wrapper pins the dictionary so it can be used as IMMUTABLE
+            "CREATE OR REPLACE FUNCTION study_hub_unaccent(text) RETURNS text " +
+            "LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT AS " +
+            "$$ SELECT lower(public.unaccent('public.unaccent'::regdictionary, $1)) $$",
+
+            "ALTER TABLE t_topics ADD COLUMN IF NOT EXISTS search_vector tsvector",
+
+            // The vector and the categories trigger look categories up by topic, the join table has no index on it
+            "CREATE INDEX IF NOT EXISTS idx_topic_categories_topic_id ON t_topic_categories (topic_id)",
+
+            "CREATE OR REPLACE FUNCTION study_hub_topic_search_vector(p_topic_id bigint, p_title text, p_content text, p_author_id bigint) " +
+            "RETURNS tsvector LANGUAGE sql STABLE AS $$ " +
+            "SELECT setweight(to_tsvector('simple', study_hub_unaccent(coalesce(p_title, ''))), 'A') " +
+            "    || setweight(to_tsvector('simple', study_hub_unaccent(coalesce((" +
+            "           SELECT string_agg(c.name, ' ') FROM t_topic_categories tc " +
+            "           JOIN t_categories c ON c.id = tc.category_id WHERE tc.topic_id = p_topic_id), ''))), 'B') " +
+            "    || setweight(to_tsvector('simple', study_hub_unaccent(coalesce((" +
+            "           SELECT u.full_name FROM t_users u WHERE u.id = p_author_id), ''))), 'C') " +
+            "    || setweight(to_tsvector('simple', study_hub_unaccent(coalesce(p_content, ''))), 'D') " +
+            "$$",
+
+            "CREATE OR REPLACE FUNCTION study_hub_topics_search_trigger() RETURNS trigger LANGUAGE plpgsql AS $$ " +
+            "BEGIN " +
+            "    NEW.search_vector := study_hub_topic_search_vector(NEW.id, NEW.title, NEW.content, NEW.author_id); " +
+            "    RETURN NEW; " +
+            "END $$",
+
+            "DROP TRIGGER IF EXISTS trg_topics_search_vector ON t_topics",
+            "CREATE TRIGGER trg_topics_search_vector BEFORE INSERT OR UPDATE OF title, content, author_id ON t_topics " +
+            "FOR EACH ROW EXECUTE FUNCTION study_hub_topics_search_trigger()",
+
+            // Categories are linked after the topic row is inserted
+            "CREATE OR REPLACE FUNCTION study_hub_topic_categories_search_trigger() RETURNS trigger LANGUAGE plpgsql AS $$ " +
+            "DECLARE v_topic_id bigint; " +
+            "BEGIN " +
+            "    IF TG_OP = 'DELETE' THEN v_topic_id := OLD.topic_id; ELSE v_topic_id := NEW.topic_id; END IF; " +
+            "    UPDATE t_topics t SET search_vector = study_hub_topic_search_vector(t.id, t.title, t.content, t.author_id) " +
+            "    WHERE t.id = v_topic_id; " +
+            "    RETURN NULL; " +
+            "END $$",
+
+            "DROP TRIGGER IF EXISTS trg_topic_categories_search_vector ON t_topic_categories",
+            "CREATE TRIGGER trg_topic_categories_search_vector AFTER INSERT OR DELETE ON t_topic_categories " +
+            "FOR EACH ROW EXECUTE FUNCTION study_hub_topic_categories_search_trigger()",
+
+            "CREATE OR REPLACE FUNCTION study_hub_users_topic_search_trigger() RETURNS trigger LANGUAGE plpgsql AS $$ " +
+            "BEGIN " +
+            "    UPDATE t_topics t SET search_vector = study_hub_topic_search_vector(t.id, t.title, t.content, t.author_id) " +
+            "    WHERE t.author_id = NEW.id; " +
+            "    RETURN NULL; " +
+            "END $$",
+
+            "DROP TRIGGER IF EXISTS trg_users_topic_search_vector ON t_users",
+            "CREATE TRIGGER trg_users_topic_search_vector AFTER UPDATE OF full_name ON t_users " +
+            "FOR EACH ROW WHEN (OLD.full_name IS DISTINCT FROM NEW.full_name) " +
+            "EXECUTE FUNCTION study_hub_users_topic_search_trigger()",
+
+            // Backfill rows created before the trigger existed, only runs for real once
+            "UPDATE t_topics t SET search_vector = study_hub_topic_search_vector(t.id, t.title, t.content, t.author_id) " +
+            "WHERE t.search_vector IS NULL",
+
+            "CREATE INDEX IF NOT EXISTS idx_topics_search_vector ON t_topics USING GIN (search_vector)"
+    );
+
+    private static final String SEARCH_ACTIVE_IDS_SQL =
+            "SELECT t.id FROM t_topics t, websearch_to_tsquery('simple', study_hub_unaccent(:keyword)) q " +
+            "WHERE t.status = 'ACTIVE' AND t.search_vector @@ q " +
+            "ORDER BY ts_rank(t.search_vector, q) DESC, t.last_activity_at DESC, t.id DESC " +
+            "LIMIT :limit OFFSET :offset";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private volatile boolean fullTextAvailable = false;
+
+    /**
+     * Create the search column, triggers and GIN index if missing. Statements are idempotent.
+     * On failure (e.g. no permission to create the unaccent extension) search stays on the LIKE fallback.
+     */
+    public void installFullTextSchema() {
+        try {
+            for (String statement : SCHEMA_STATEMENTS) {
+                jdbcTemplate.getJdbcTemplate().execute(statement);
+            }
+            fullTextAvailable = true;
+            log.info("Topic full-text search index is ready");
+        } catch (DataAccessException e) {
+            fullTextAvailable = false;
+            log.warn("Topic full-text search is unavailable, falling back to LIKE search", e);
+        }
+    }
+
+    public boolean isFullTextAvailable() {
+        return fullTextAvailable;
+    }
+
+    /**
+     * Ids of active topics matching the keyword, best rank first
+     */
+    public List<Long> searchActiveTopicIds(String keyword, long offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("keyword", keyword)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+
+        return jdbcTemplate.queryForList(SEARCH_ACTIVE_IDS_SQL, params, Long.class);
+    }
+}
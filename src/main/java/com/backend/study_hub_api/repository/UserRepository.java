@@ -2,6 +2,9 @@ package com.backend.study_hub_api.repository;
 
 import com.backend.study_hub_api.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +14,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     boolean existsByStudentId(String studentId);
-}
\ No newline at end of file
+
+    @Query("SELECT u.unreadNotificationCount FROM User u WHERE u.id = :userId")
+    Optional<Integer> findUnreadNotificationCount(@Param("userId") Long userId);
+
+    /**
+     * Count unread notifications once for users whose counter was never initialized
+     */
+    @Modifying
+    @Query(value = "UPDATE t_users SET unread_notification_count = (" +
+                   "    SELECT COUNT(*) FROM t_notifications n WHERE n.recipient_id = :userId AND n.is_read = false" +
+                   ") WHERE id = :userId AND unread_notification_count IS NULL",
+           nativeQuery = true)
+    int initUnreadNotificationCount(@Param("userId") Long userId);
+
+    // Counters not initialized yet are left alone, they are counted on first read
+    @Modifying
+    @Query(value = "UPDATE t_users SET unread_notification_count = GREATEST(unread_notification_count + :delta, 0) " +
+                   "WHERE id = :userId AND unread_notification_count IS NOT NULL",
+           nativeQuery = true)
+    int addUnreadNotificationCount(@Param("userId") Long userId, @Param("delta") int delta);
+}
@@ -2,8 +2,11 @@ package com.backend.study_hub_api.repository;
 
 import com.backend.study_hub_api.model.UserSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +16,7 @@ public interface UserSessionRepository extends JpaRepository<UserSession, Long>
 
     Optional<UserSession> findByTokenId(String tokenId);
 
+    @Query("SELECT s.expiredDate FROM UserSession s WHERE s.tokenId = :tokenId")
+    Optional<Instant> findExpiredDateByTokenId(@Param("tokenId") String tokenId);
+
 }
@@ -1,12 +1,15 @@
 package com.backend.study_hub_api.service;
 
 import com.backend.study_hub_api.dto.criteria.BaseFilterCriteria;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
 import com.backend.study_hub_api.dto.common.PaginationDTO;
+import com.backend.study_hub_api.helper.util.KeysetCursor;
 import com.backend.study_hub_api.helper.util.PageableBuilder;
 import com.backend.study_hub_api.helper.util.PaginationUtils;
 import com.backend.study_hub_api.specification.BaseSpecificationBuilder;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
@@ -15,24 +18,54 @@ import java.util.function.Function;
 
 public abstract class BaseFilterService<T, ID, C extends BaseFilterCriteria, DTO> {
 
+    private PaginationQueryService paginationQueryService;
+
+    @Autowired
+    public void setPaginationQueryService(PaginationQueryService paginationQueryService) {
+        this.paginationQueryService = paginationQueryService;
+    }
+
     /**
      * Get paginated results with filter
      */
     public PaginationDTO<DTO> getWithFilter(C criteria) {
-        // Build pageable from criteria
-        Pageable pageable = PageableBuilder.build(criteria);
-
         // Build specification
         Specification<T> specification = getSpecificationBuilder().build(criteria);
 
-        // Query data
-        Page<T> page = getRepository().findAll(specification, pageable);
+        // Query a slice of data, the total comes from the count cache
+        return paginationQueryService.findPage(getEntityClass(),
+                                               getRepository(),
+                                               specification,
+                                               criteria,
+                                               entities -> entities.stream().map(getEntityToDtoMapper()).toList());
+    }
 
-        // Convert to DTO
-        Page<DTO> dtoPage = page.map(getEntityToDtoMapper());
+    /**
+     * Get results after the criteria cursor (keyset pagination), the total is only counted when requested
+     */
+    public CursorPaginationDTO<DTO> getWithCursor(C criteria) {
+        int pageSize = PageableBuilder.resolvePageSize(criteria.getSize());
+        String sortBy = PageableBuilder.resolveKeysetSortField(getEntityClass(), criteria.getSortBy());
+        Sort sort = PageableBuilder.buildKeysetSort(sortBy, criteria.getSortDirection());
+        KeysetCursor cursor = KeysetCursor.decode(criteria.getCursor(), sortBy, criteria.getSortDirection());
+
+        // Query one extra row to know if there is a next page
+        Specification<T> specification = getSpecificationBuilder().buildAfter(criteria, cursor);
+        List<T> rows = getRepository().findBy(specification, query -> query.sortBy(sort).limit(pageSize + 1).all());
 
-        // Return pagination response
-        return PaginationUtils.createPaginationResponse(dtoPage);
+        Long totalElements = Boolean.TRUE.equals(criteria.getIncludeTotal())
+                ? paginationQueryService.countCached(getEntityClass(),
+                                                     getRepository(),
+                                                     getSpecificationBuilder().build(criteria),
+                                                     criteria)
+                : null;
+
+        return PaginationUtils.createCursorResponse(rows,
+                                                    pageSize,
+                                                    sortBy,
+                                                    criteria.getSortDirection(),
+                                                    entities -> entities.stream().map(getEntityToDtoMapper()).toList(),
+                                                    totalElements);
     }
 
     /**
@@ -51,6 +84,14 @@ public abstract class BaseFilterService<T, ID, C extends BaseFilterCriteria, DTO
                        .toList();
     }
 
+    /**
+     * Get entity class, resolved from the generic type of the subclass
+     */
+    @SuppressWarnings("unchecked")
+    protected Class<T> getEntityClass() {
+        return (Class<T>) GenericTypeResolver.resolveTypeArguments(getClass(), BaseFilterService.class)[0];
+    }
+
     /**
      * Get repository
      */
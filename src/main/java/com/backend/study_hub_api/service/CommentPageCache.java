@@ -0,0 +1,75 @@
+package com.backend.study_hub_api.service;
+
+import com.backend.study_hub_api.dto.CommentDTO;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
+import com.backend.study_hub_api.helper.util.CacheUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of the first comment page per topic, the page every reader of a topic opens.
+ * Invalidation leaves a marker instead of removing the entry, so a page loaded before the invalidation
+ * (and possibly before the comment was committed) cannot be stored over it.
+ */
+@Service
+public class CommentPageCache {
+
+    // Markers are entries too, so they count against max-entries and expire after the same TTL
+    private final Cache<Long, CachedPage> firstPages;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CommentPageCache(MeterRegistry meterRegistry,
+                            @Value("${app.comments.first-page-cache.ttl:15s}") Duration ttl,
+                            @Value("${app.comments.first-page-cache.max-entries:10000}") int maxEntries) {
+        // Counted from storedAt, keeping an entry in getFirstPage does not extend its life
+        this.firstPages = CacheUtils.boundedTtlCache(
+                maxEntries,
+                (topicId, cached) -> ttl.minusNanos(System.nanoTime() - cached.storedAt));
+
+        Gauge.builder("studyhub.comment_page_cache.size", firstPages, Cache::estimatedSize)
+             .description("Topics with a cached first comment page")
+             .register(meterRegistry);
+        this.hits = meterRegistry.counter("studyhub.comment_page_cache.hits");
+        this.misses = meterRegistry.counter("studyhub.comment_page_cache.misses");
+    }
+
+    /**
+     * The cached first page of the topic when it was loaded with the same page size, otherwise load and cache it
+     */
+    public CursorPaginationDTO<CommentDTO> getFirstPage(Long topicId,
+                                                        int pageSize,
+                                                        Supplier<CursorPaginationDTO<CommentDTO>> loader) {
+        long now = System.nanoTime();
+        CachedPage cached = firstPages.getIfPresent(topicId);
+        if (cached != null && cached.page != null && cached.pageSize == pageSize) {
+            hits.increment();
+            return cached.page;
+        }
+
+        misses.increment();
+        CursorPaginationDTO<CommentDTO> page = loader.get();
+        // Keep whatever was stored after this load started, including an invalidation marker
+        firstPages.asMap().compute(topicId, (id, current) -> current != null && current.storedAt > now
+                ? current
+                : new CachedPage(pageSize, page, now));
+        return page;
+    }
+
+    /**
+     * Call after the transaction that changed the topic's comments has committed
+     */
+    public void invalidate(Long topicId) {
+        firstPages.put(topicId, new CachedPage(0, null, System.nanoTime()));
+    }
+
+    private record CachedPage(int pageSize, CursorPaginationDTO<CommentDTO> page, long storedAt) {
+    }
+}
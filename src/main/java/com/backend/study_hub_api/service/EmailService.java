@@ -4,15 +4,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final MailDispatcher mailDispatcher;
 
     @Value("${app.email.from:noreply@studyhub.com}")
     private String fromEmail;
@@ -20,40 +22,50 @@ public class EmailService {
     @Value("${app.name:StudyHub}")
     private String appName;
 
-    public void sendVerificationEmail(String toEmail, String fullName, String otpCode) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Xác nhận tài khoản " + appName);
-
-            String emailContent = buildVerificationEmailContent(fullName, otpCode);
-            message.setText(emailContent);
+    /**
+     * Queue the email, the future completes once the SMTP server accepted it.
+     * It is not sent after expiresAt, when the code in it no longer works
+     */
+    public CompletableFuture<Void> sendVerificationEmail(String toEmail, String fullName, String otpCode, Instant expiresAt) {
+        return send(createVerificationEmail(toEmail, fullName, otpCode), expiresAt, "verification");
+    }
 
-            mailSender.send(message);
-            log.info("Verification email sent successfully to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("Failed to send verification email to: {}", toEmail, e);
-            throw new RuntimeException("Không thể gửi email xác nhận. Vui lòng thử lại sau.");
-        }
+    /**
+     * Queue the email, the future completes once the SMTP server accepted it.
+     * It is not sent after expiresAt, when the code in it no longer works
+     */
+    public CompletableFuture<Void> sendPasswordResetEmail(String toEmail, String fullName, String otpCode, Instant expiresAt) {
+        return send(createPasswordResetEmail(toEmail, fullName, otpCode), expiresAt, "password reset");
     }
 
-    public void sendPasswordResetEmail(String toEmail, String fullName, String otpCode) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Đặt lại mật khẩu " + appName);
+    private CompletableFuture<Void> send(SimpleMailMessage message, Instant expiresAt, String kind) {
+        String toEmail = message.getTo()[0];
+        return mailDispatcher.dispatch(message, expiresAt)
+                             .whenComplete((sent, error) -> {
+                                 if (error == null) {
+                                     log.info("{} email sent successfully to: {}", kind, toEmail);
+                                 } else {
+                                     log.error("Failed to send {} email to: {}", kind, toEmail, error);
+                                 }
+                             });
+    }
 
-            String emailContent = buildPasswordResetEmailContent(fullName, otpCode);
-            message.setText(emailContent);
+    private SimpleMailMessage createVerificationEmail(String toEmail, String fullName, String otpCode) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(toEmail);
+        message.setSubject("Xác nhận tài khoản " + appName);
+        message.setText(buildVerificationEmailContent(fullName, otpCode));
+        return message;
+    }
 
-            mailSender.send(message);
-            log.info("Password reset email sent successfully to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("Failed to send password reset email to: {}", toEmail, e);
-            throw new RuntimeException("Không thể gửi email đặt lại mật khẩu. Vui lòng thử lại sau.");
-        }
+    private SimpleMailMessage createPasswordResetEmail(String toEmail, String fullName, String otpCode) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(toEmail);
+        message.setSubject("Đặt lại mật khẩu " + appName);
+        message.setText(buildPasswordResetEmailContent(fullName, otpCode));
+        return message;
     }
 
     private String buildVerificationEmailContent(String fullName, String otpCode) {
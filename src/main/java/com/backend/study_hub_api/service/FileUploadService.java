@@ -1,9 +1,13 @@
 package com.backend.study_hub_api.service;
 
 import com.backend.study_hub_api.dto.FileUploadDTO;
+import com.backend.study_hub_api.helper.enumeration.UploadTarget;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 
 public interface FileUploadService {
 
@@ -24,20 +28,53 @@ public interface FileUploadService {
     FileUploadDTO.MultipleFileUploadResponse uploadMultipleFiles(List<MultipartFile> files, String folder, String[] allowedTypes);
 
     /**
-     * Delete file from S3
+     * Release a file. Identical uploads share one S3 object, which is deleted with its last reference
      * @param fileUrl Complete S3 file URL
-     * @return true if deleted successfully, false otherwise
+     * @return true if released successfully, false otherwise
      */
     boolean deleteFile(String fileUrl);
 
     /**
-     * Generate pre-signed URL for direct upload (optional feature)
-     * @param fileName File name
-     * @param folder Folder path
-     * @param contentType MIME type
-     * @return Pre-signed URL for upload
+     * Discard a presigned upload of the current user that is not attached to anything yet.
+     * Shared and attached files are only released through the entity referencing them.
+     * @param fileUrl Complete S3 file URL
+     * @return true if deleted successfully, false otherwise
+     */
+    boolean deleteOwnedUpload(String fileUrl);
+
+    /**
+     * Delete files in a folder last modified before the given time and not referenced anywhere
+     * @param folder Folder path in S3 bucket
+     * @param modifiedBefore Only older files are considered
+     * @param storedUrls Every file URL stored on entities, matched to objects by key. Nothing is deleted when one
+     *                   of them is not a URL of the upload bucket
+     * @return number of deleted files
+     */
+    int deleteUnreferencedFiles(String folder, Instant modifiedBefore, Supplier<Collection<String>> storedUrls);
+
+    /**
+     * Generate a presigned PUT so the client uploads directly to S3
+     * @param request File name, content type and exact size of the file, and what it will be attached to
+     * @return Upload URL, headers to send and the object key to confirm afterwards
+     */
+    FileUploadDTO.PresignedUploadResponse generatePresignedUploadUrl(FileUploadDTO.PresignedUploadRequest request);
+
+    /**
+     * Check objects uploaded through presigned URLs (HeadObject) before they are attached to an entity.
+     * Objects with a disallowed type or size are deleted. When one key is rejected, the ones confirmed before it
+     * are released again (see releaseConfirmedUploads).
+     * @param objectKeys Keys returned by generatePresignedUploadUrl
+     * @param target Target the keys were issued for
+     * @return Uploaded files in the same order as the keys
+     */
+    List<FileUploadDTO.FileUploadResponse> confirmUploads(List<String> objectKeys, UploadTarget target);
+
+    /**
+     * Undo confirmUploads when the entity the files were confirmed for could not be saved.
+     * Only the registration is removed, the objects stay under the user's prefix to be confirmed again or discarded.
+     * @param uploads Files returned by confirmUploads
      */
-    String generatePresignedUploadUrl(String fileName, String folder, String contentType);
+    void releaseConfirmedUploads(List<FileUploadDTO.FileUploadResponse> uploads);
 
     /**
      * Validate file type and size
@@ -0,0 +1,46 @@
+package com.backend.study_hub_api.service;
+
+import com.backend.study_hub_api.helper.enumeration.ImageVariant;
+
+import java.util.Collection;
+
+public interface ImageVariantService {
+
+    /**
+     * Whether variants can be generated for this content type
+     */
+    boolean supports(String contentType);
+
+    /**
+     * Queue generation of all variants of an uploaded image. Returns immediately; when the queue is full
+     * the image is left pending and picked up by generatePendingVariants
+     * @param objectKey Key of the original image in S3
+     */
+    void generateVariants(String objectKey);
+
+    /**
+     * Queue images still pending after an earlier attempt, no more than the queue has room for
+     * @return number of queued images
+     */
+    int generatePendingVariants();
+
+    /**
+     * URL of the variant when it has been generated, otherwise the original URL
+     * @param fileUrl Public URL of the original image, may be null
+     * @param variant Smallest variant adequate for where the image is shown
+     */
+    String resolveUrl(String fileUrl, ImageVariant variant);
+
+    /**
+     * Load the variant status of every image of a page in one query, so resolveUrl does not query per image
+     * @param fileUrls Public URLs of the original images, nulls and URLs outside the bucket are ignored
+     */
+    void preloadStatuses(Collection<String> fileUrls);
+
+    /**
+     * Delete the variants of the given originals, best effort
+     * @param objectKeys Keys of the original images in S3
+     */
+    void deleteVariants(Collection<String> objectKeys);
+
+}
@@ -0,0 +1,402 @@
+package com.backend.study_hub_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends mail off the caller's thread.
+ * Messages wait in a bounded queue and each worker keeps its SMTP connection open across messages,
+ * reconnecting after max-messages-per-connection or when idle. Sends to one recipient domain are
+ * rate limited so a burst (e.g. every student of a university registering at once) is spread out
+ * instead of being rejected by the receiving server. A message is never held back longer than
+ * max-throttle-delay, nor sent after it expired: an OTP that arrives too late is only noise.
+ * Host, port and credentials come from the spring.mail.* sender, so tests can point it at an in-process SMTP server.
+ */
+@Slf4j
+@Service
+public class MailDispatcher {
+
+    private static final String DEFAULT_PROTOCOL = "smtp";
+    private static final long POLL_TIMEOUT_MILLIS = 1000;
+    private static final int MAX_TRACKED_DOMAINS = 10000;
+
+    private final JavaMailSenderImpl mailSender;
+    private final ExecutorService workers;
+    private final DelayQueue<PendingMail> queue = new DelayQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, TokenBucket> domainBuckets = new ConcurrentHashMap<>();
+    private final int queueCapacity;
+    private final int maxMessagesPerConnection;
+    private final long idleTimeoutNanos;
+    private final int domainRatePerMinute;
+    private final Duration maxThrottleDelay;
+
+    private final Timer sendLatency;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Counter throttled;
+    private final Counter expired;
+
+    private volatile boolean running = true;
+
+    public MailDispatcher(JavaMailSenderImpl mailSender,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.mail.dispatcher.workers:2}") int workerCount,
+                          @Value("${app.mail.dispatcher.queue-capacity:1000}") int queueCapacity,
+                          @Value("${app.mail.dispatcher.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                          @Value("${app.mail.dispatcher.idle-timeout:30s}") Duration idleTimeout,
+                          @Value("${app.mail.dispatcher.domain-rate-per-minute:120}") int domainRatePerMinute,
+                          @Value("${app.mail.dispatcher.max-throttle-delay:30s}") Duration maxThrottleDelay) {
+        this.mailSender = mailSender;
+        this.queueCapacity = queueCapacity;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.domainRatePerMinute = domainRatePerMinute;
+        this.maxThrottleDelay = maxThrottleDelay;
+
+        Gauge.builder("studyhub.mail.queue.depth", queued, AtomicInteger::get)
+             .description("Emails waiting to be sent, including rate limited ones")
+             .register(meterRegistry);
+        this.sendLatency = Timer.builder("studyhub.mail.send.latency")
+                                .description("SMTP time per message, connection setup included")
+                                .register(meterRegistry);
+        this.sent = meterRegistry.counter("studyhub.mail.sent");
+        this.failed = meterRegistry.counter("studyhub.mail.failed");
+        this.rejected = meterRegistry.counter("studyhub.mail.rejected");
+        this.throttled = meterRegistry.counter("studyhub.mail.throttled");
+        this.expired = meterRegistry.counter("studyhub.mail.expired");
+
+        // One SMTP connection per worker
+        this.workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("mail-dispatch-"));
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::runWorker);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.shutdownNow();
+
+        // Callers (the outbox) retry whatever was still queued. poll only returns mail whose delay has passed,
+        // throttled mail is removed one by one
+        for (PendingMail pending : queue.toArray(new PendingMail[0])) {
+            if (queue.remove(pending)) {
+                complete(pending, new RejectedExecutionException("Mail dispatcher is shutting down"));
+            }
+        }
+    }
+
+    /**
+     * Queue a message, the future completes once the SMTP server accepted it.
+     * Fails with RejectedExecutionException when the queue is full or the recipient domain stays rate limited
+     * for longer than max-throttle-delay, and with TimeoutException when the message expires before it is sent.
+     * @param expiresAt After this the message is dropped instead of sent, null when it never expires
+     */
+    public CompletableFuture<Void> dispatch(SimpleMailMessage message, Instant expiresAt) {
+        if (expiresAt != null && !expiresAt.isAfter(Instant.now())) {
+            expired.increment();
+            return CompletableFuture.failedFuture(new TimeoutException("Mail expired before it was queued"));
+        }
+        if (!running || queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Mail queue is full"));
+        }
+
+        PendingMail pending = new PendingMail(message, recipientDomain(message), sequence.incrementAndGet(), expiresAt);
+        queue.put(pending);
+        return pending.result;
+    }
+
+    /**
+     * Longest a message waits for its recipient domain's rate limit, callers leasing work must lease it for longer
+     */
+    public Duration maxThrottleDelay() {
+        return maxThrottleDelay;
+    }
+
+    /**
+     * Free queue slots, callers use it to avoid claiming more work than can be queued
+     */
+    public int remainingCapacity() {
+        return Math.max(queueCapacity - queued.get(), 0);
+    }
+
+    // ==================== WORKER ====================
+
+    private void runWorker() {
+        Transport transport = null;
+        int sentOnConnection = 0;
+        long lastSendAt = System.nanoTime();
+
+        try {
+            while (running) {
+                PendingMail pending = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (pending == null) {
+                    if (transport != null && System.nanoTime() - lastSendAt > idleTimeoutNanos) {
+                        closeQuietly(transport);
+                        transport = null;
+                    }
+                    continue;
+                }
+
+                long now = System.nanoTime();
+                if (pending.isExpiredAt(now)) {
+                    expire(pending);
+                    continue;
+                }
+
+                long waitNanos = reservePermit(pending.domain);
+                if (waitNanos > 0) {
+                    throttled.increment();
+                    // Waiting would outlive the message, or the caller's lease on it (it would be claimed and sent twice)
+                    if (pending.isExpiredAt(now + waitNanos)) {
+                        expire(pending);
+                    } else if (now + waitNanos - pending.queuedAt > maxThrottleDelay.toNanos()) {
+                        rejected.increment();
+                        complete(pending, new RejectedExecutionException("Rate limit of domain " + pending.domain + " exceeded"));
+                    } else {
+                        pending.delayBy(waitNanos);
+                        queue.put(pending);
+                    }
+                    continue;
+                }
+
+                if (transport != null && sentOnConnection >= maxMessagesPerConnection) {
+                    closeQuietly(transport);
+                    transport = null;
+                }
+                if (transport == null) {
+                    sentOnConnection = 0;
+                }
+
+                long start = System.nanoTime();
+                try {
+                    transport = send(transport, sentOnConnection > 0, pending.message);
+                    sentOnConnection++;
+                    sent.increment();
+                    complete(pending, null);
+                } catch (MessagingException | RuntimeException e) {
+                    closeQuietly(transport);
+                    transport = null;
+                    failed.increment();
+                    log.warn("Failed to send email to domain {}", pending.domain, e);
+                    complete(pending, e);
+                } finally {
+                    sendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    lastSendAt = System.nanoTime();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeQuietly(transport);
+        }
+    }
+
+    private void expire(PendingMail pending) {
+        expired.increment();
+        log.warn("Dropped expired email to domain {}", pending.domain);
+        complete(pending, new TimeoutException("Mail expired before it was sent"));
+    }
+
+    /**
+     * Leave the queue, with the send's outcome: null on success
+     */
+    private void complete(PendingMail pending, Throwable failure) {
+        queued.decrementAndGet();
+        if (failure == null) {
+            pending.result.complete(null);
+        } else {
+            pending.result.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Send over the given connection, opening one if needed. A reused connection the server has
+     * dropped in the meantime is replaced once before giving up.
+     */
+    private Transport send(Transport transport, boolean reused, SimpleMailMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        message.copyTo(new MimeMailMessage(mimeMessage));
+        mimeMessage.saveChanges();
+
+        if (transport == null) {
+            transport = connect();
+        }
+        try {
+            transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+            return transport;
+        } catch (MessagingException e) {
+            if (!reused) {
+                throw e;
+            }
+            closeQuietly(transport);
+            Transport fresh = connect();
+            try {
+                fresh.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+                return fresh;
+            } catch (MessagingException retryFailure) {
+                closeQuietly(fresh);
+                throw retryFailure;
+            }
+        }
+    }
+
+    private Transport connect() throws MessagingException {
+        Session session = mailSender.getSession();
+        // Resolved like JavaMailSenderImpl does, the protocol is only set when spring.mail.protocol is
+        String protocol = mailSender.getProtocol();
+        if (protocol == null) {
+            protocol = session.getProperty("mail.transport.protocol");
+        }
+        Transport transport = session.getTransport(protocol != null ? protocol : DEFAULT_PROTOCOL);
+        String username = StringUtils.hasLength(mailSender.getUsername()) ? mailSender.getUsername() : null;
+        String password = StringUtils.hasLength(mailSender.getPassword()) ? mailSender.getPassword() : null;
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+        return transport;
+    }
+
+    private static void closeQuietly(Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error while closing SMTP connection", e);
+        }
+    }
+
+    // ==================== RATE LIMIT ====================
+
+    /**
+     * Take a send permit for the domain, returns 0 when granted or the nanos until one is available
+     */
+    private long reservePermit(String domain) {
+        if (domainRatePerMinute <= 0) {
+            return 0;
+        }
+        if (domainBuckets.size() >= MAX_TRACKED_DOMAINS) {
+            long now = System.nanoTime();
+            domainBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+        return domainBuckets.computeIfAbsent(domain, key -> new TokenBucket(domainRatePerMinute))
+                            .tryAcquire(System.nanoTime());
+    }
+
+    private static String recipientDomain(SimpleMailMessage message) {
+        String[] to = message.getTo();
+        if (to == null || to.length == 0) {
+            return "";
+        }
+        String address = to[0];
+        int at = address.lastIndexOf('@');
+        return at >= 0 ? address.substring(at + 1).trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * Allows ratePerMinute sends per minute with bursts up to the same amount
+     */
+    private static final class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(int ratePerMinute) {
+            this.capacity = ratePerMinute;
+            this.tokensPerNano = ratePerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        synchronized long tryAcquire(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+
+    private static final class PendingMail implements Delayed {
+
+        private final SimpleMailMessage message;
+        private final String domain;
+        private final long sequence;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final long queuedAt = System.nanoTime();
+        // In System.nanoTime terms, Long.MAX_VALUE when the message never expires
+        private final long expiresAtNanos;
+        private long notBefore = queuedAt;
+
+        PendingMail(SimpleMailMessage message, String domain, long sequence, Instant expiresAt) {
+            this.message = message;
+            this.domain = domain;
+            this.sequence = sequence;
+            this.expiresAtNanos = expiresAt != null
+                    ? queuedAt + Duration.between(Instant.now(), expiresAt).toNanos()
+                    : Long.MAX_VALUE;
+        }
+
+        boolean isExpiredAt(long nanoTime) {
+            return expiresAtNanos != Long.MAX_VALUE && nanoTime - expiresAtNanos >= 0;
+        }
+
+        void delayBy(long nanos) {
+            notBefore = System.nanoTime() + nanos;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(notBefore - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            PendingMail that = (PendingMail) other;
+            int byTime = Long.compare(notBefore, that.notBefore);
+            // First come, first served among messages that are due at the same time
+            return byTime != 0 ? byTime : Long.compare(sequence, that.sequence);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.backend.study_hub_api.service;
 
+import com.backend.study_hub_api.dto.NotificationCountDTO;
 import com.backend.study_hub_api.dto.NotificationDTO;
+import com.backend.study_hub_api.dto.NotificationSummaryDTO;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
+import com.backend.study_hub_api.dto.criteria.NotificationFilterCriteria;
+import com.backend.study_hub_api.model.Notification;
 
 import java.util.List;
 
@@ -10,6 +15,23 @@ public interface NotificationService {
     void sendNotificationToAll(Object notification);
     void sendNotificationToUniversity(Integer universityId, Object notification);
 
+    /**
+     * Save a notification, count it as unread for the recipient and push it if they are connected
+     */
+    Notification saveNotification(Notification notification);
+
     List<NotificationDTO> getUserNotifications();
 
+    /**
+     * Current user's notifications, newest first, paged by the nextCursor of the previous page
+     */
+    CursorPaginationDTO<NotificationSummaryDTO> getInbox(NotificationFilterCriteria criteria);
+
+    NotificationCountDTO getUnreadCount();
+
+    /**
+     * Mark the given notifications of the current user as read, all of them when ids is empty
+     */
+    NotificationCountDTO markAsRead(List<Long> ids);
+
 }
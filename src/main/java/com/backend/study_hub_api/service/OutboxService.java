@@ -0,0 +1,25 @@
+package com.backend.study_hub_api.service;
+
+import com.backend.study_hub_api.helper.enumeration.OutboxMessageType;
+
+import java.time.Instant;
+
+public interface OutboxService {
+
+    /**
+     * Record a message in the caller's transaction, it is only delivered if that transaction commits.
+     * Messages not delivered before expiresAt (null for never) are dead-lettered.
+     */
+    void enqueue(OutboxMessageType type, Object payload, Instant expiresAt);
+
+    /**
+     * Claim and deliver due messages in batches until none are left, returns the number of messages processed
+     */
+    int dispatchDueMessages();
+
+    /**
+     * Delete sent messages older than the retention, returns the number of rows deleted
+     */
+    int purgeSentMessages();
+
+}
@@ -0,0 +1,137 @@
+package com.backend.study_hub_api.service;
+
+import com.backend.study_hub_api.dto.common.PaginationDTO;
+import com.backend.study_hub_api.dto.criteria.BaseFilterCriteria;
+import com.backend.study_hub_api.helper.util.CacheUtils;
+import com.backend.study_hub_api.helper.util.PageableBuilder;
+import com.backend.study_hub_api.helper.util.PaginationUtils;
+import com.backend.study_hub_api.repository.SpecificationSliceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Offset pagination without a COUNT per request.
+ * Pages are read as slices (size + 1 rows) and totals come from a short-lived cache keyed by the
+ * filter criteria without its paging fields, so paging through the same filter counts at most once per TTL.
+ */
+@Service
+public class PaginationQueryService {
+
+    // Criteria fields that do not change the set of matching rows
+    private static final Set<String> PAGING_FIELDS = Set.of(
+            "page", "size", "sortBy", "sortDirection", "cursor", "includeTotal", "skipCount"
+    );
+
+    private final SpecificationSliceRepository sliceRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<Object, Long> totals;
+
+    public PaginationQueryService(SpecificationSliceRepository sliceRepository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.pagination.total-cache.ttl:60s}") Duration ttl,
+                                  @Value("${app.pagination.total-cache.max-entries:2000}") int maxEntries) {
+        this.sliceRepository = sliceRepository;
+        this.objectMapper = objectMapper;
+        this.totals = CacheUtils.boundedTtlCache(maxEntries, ttl);
+    }
+
+    /**
+     * Get a page for the criteria. With skipCount=true the total is only returned when it is already known,
+     * otherwise it is -1 and clients should rely on hasNext.
+     */
+    public <E, D> PaginationDTO<D> findPage(Class<E> domainClass,
+                                            JpaSpecificationExecutor<E> repository,
+                                            Specification<E> specification,
+                                            BaseFilterCriteria criteria,
+                                            Function<List<E>, List<D>> mapper) {
+        Pageable pageable = PageableBuilder.build(domainClass, criteria);
+        Slice<E> slice = sliceRepository.findSlice(domainClass, specification, pageable);
+
+        Object key = cacheKey(domainClass, criteria);
+        Long totalElements;
+
+        if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+            // Last page: the total is known exactly without counting
+            totalElements = pageable.getOffset() + slice.getNumberOfElements();
+            totals.put(key, totalElements);
+        } else if (Boolean.TRUE.equals(criteria.getSkipCount())) {
+            totalElements = getIfPresent(key);
+        } else {
+            totalElements = getOrCount(key, () -> repository.count(specification));
+        }
+
+        return PaginationUtils.createPaginationResponse(slice, mapper.apply(slice.getContent()), totalElements);
+    }
+
+    /**
+     * Count the criteria matches, reusing a total computed within the TTL
+     */
+    public <E> long countCached(Class<E> domainClass,
+                                JpaSpecificationExecutor<E> repository,
+                                Specification<E> specification,
+                                BaseFilterCriteria criteria) {
+        return getOrCount(cacheKey(domainClass, criteria), () -> repository.count(specification));
+    }
+
+    // ==================== TOTAL CACHE ====================
+
+    private long getOrCount(Object key, LongSupplier counter) {
+        Long cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long total = counter.getAsLong();
+        totals.put(key, total);
+        return total;
+    }
+
+    private Long getIfPresent(Object key) {
+        return totals.getIfPresent(key);
+    }
+
+    /**
+     * Key from the filter fields only: nulls dropped, strings trimmed, lists sorted, so equivalent filters share a total
+     */
+    @SuppressWarnings("unchecked")
+    private Object cacheKey(Class<?> domainClass, BaseFilterCriteria criteria) {
+        Map<String, Object> fields = objectMapper.convertValue(criteria, Map.class);
+        Map<String, Object> normalized = new TreeMap<>();
+
+        fields.forEach((name, value) -> {
+            if (value == null || PAGING_FIELDS.contains(name)) {
+                return;
+            }
+            if (value instanceof String text) {
+                if (!text.isBlank()) {
+                    normalized.put(name, text.trim());
+                }
+            } else if (value instanceof Collection<?> values) {
+                List<String> sorted = new ArrayList<>();
+                values.forEach(item -> sorted.add(String.valueOf(item)));
+                sorted.sort(null);
+                normalized.put(name, sorted);
+            } else {
+                normalized.put(name, value);
+            }
+        });
+
+        return List.of(domainClass.getName(), normalized);
+    }
+}
@@ -0,0 +1,32 @@
+package com.backend.study_hub_api.service;
+
+import java.util.List;
+
+public interface ProductSearchService {
+
+    /**
+     * Whether the in-memory index has been built and can answer searches
+     */
+    boolean isReady();
+
+    /**
+     * Ids of AVAILABLE products matching every keyword token (prefix match), newest first
+     */
+    List<Long> search(String keyword);
+
+    /**
+     * Rebuild the whole index by streaming t_products
+     */
+    void rebuild();
+
+    /**
+     * Re-read a product into the index once the current transaction commits
+     */
+    void refreshProduct(Long productId);
+
+    /**
+     * Drop a product from the index once the current transaction commits
+     */
+    void removeProduct(Long productId);
+
+}
@@ -1,11 +1,13 @@
 package com.backend.study_hub_api.service;
 
 import com.backend.study_hub_api.dto.ProductDTO;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
 import com.backend.study_hub_api.dto.common.PaginationDTO;
 import com.backend.study_hub_api.dto.criteria.ProductFilterCriteria;
 import com.backend.study_hub_api.model.Product;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface ProductService {
@@ -22,10 +24,24 @@ public interface ProductService {
 
     PaginationDTO<ProductDTO.ProductSummaryResponse> getProductsWithFilter(ProductFilterCriteria criteria);
 
+    CursorPaginationDTO<ProductDTO.ProductSummaryResponse> getProductsWithCursor(ProductFilterCriteria criteria);
+
     PaginationDTO<ProductDTO.ProductSummaryResponse> getAllProducts(Pageable pageable);
 
     ProductDTO.ProductResponse mapToProductResponse(Product product);
 
     List<ProductDTO.ProductSummaryResponse> getTop10Products();
 
+    /**
+     * Reload the cached top products, called after view counts were written
+     */
+    void refreshTopProducts();
+
+    /**
+     * Delete product images in S3 that no ProductImage row references, only those uploaded before the given time
+     * so uploads of products still being created are left alone
+     * @return number of deleted objects
+     */
+    int deleteOrphanedImages(Instant uploadedBefore);
+
 }
@@ -0,0 +1,50 @@
+package com.backend.study_hub_api.service;
+
+import com.backend.study_hub_api.config.ApplicationProperties;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maps object keys of the upload bucket to the public URLs stored on entities, and back
+ */
+@Service
+public class S3UrlResolver {
+
+    private final ApplicationProperties applicationProperties;
+    private final String endpointOverride;
+
+    public S3UrlResolver(ApplicationProperties applicationProperties,
+                         @Value("${app.s3.endpoint:}") String endpointOverride) {
+        this.applicationProperties = applicationProperties;
+        this.endpointOverride = StringUtils.removeEnd(endpointOverride, "/");
+    }
+
+    public String bucket() {
+        return applicationProperties.getAws().s3Bucket();
+    }
+
+    public String publicUrl(String key) {
+        return publicUrlPrefix() + key;
+    }
+
+    /**
+     * Object key of a public URL, null when the URL is not in the upload bucket
+     */
+    public String objectKey(String fileUrl) {
+        String prefix = publicUrlPrefix();
+        if (fileUrl == null || !fileUrl.startsWith(prefix) || fileUrl.length() == prefix.length()) {
+            return null;
+        }
+        return fileUrl.substring(prefix.length());
+    }
+
+    private String publicUrlPrefix() {
+        // Local S3 stand-ins (MinIO, LocalStack) are addressed path-style
+        if (StringUtils.isNotBlank(endpointOverride)) {
+            return endpointOverride + "/" + bucket() + "/";
+        }
+        String region = applicationProperties.getAws().region();
+        return String.format("https://%s.s3.%s.amazonaws.com/", bucket(), region);
+    }
+}
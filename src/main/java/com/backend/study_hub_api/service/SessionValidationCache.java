@@ -0,0 +1,101 @@
+package com.backend.study_hub_api.service;
+
+import com.backend.study_hub_api.helper.util.CacheUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of session lookups keyed by JWT token id.
+ * Existing sessions are kept until their expiredDate (capped by max-ttl, since other instances cannot invalidate
+ * this one), missing sessions for negative-ttl so floods of revoked tokens do not all reach the database.
+ */
+@Service
+public class SessionValidationCache {
+
+    private final long maxTtlMillis;
+    private final long negativeTtlMillis;
+    private final Cache<String, CachedSession> sessions;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    public SessionValidationCache(MeterRegistry meterRegistry,
+                                  @Value("${app.session-cache.max-ttl:10m}") Duration maxTtl,
+                                  @Value("${app.session-cache.negative-ttl:30s}") Duration negativeTtl,
+                                  @Value("${app.session-cache.max-entries:100000}") int maxEntries) {
+        this.maxTtlMillis = maxTtl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+
+        Counter expiredEvictions = meterRegistry.counter("studyhub.session_cache.evictions", "cause", "expired");
+        Counter sizeEvictions = meterRegistry.counter("studyhub.session_cache.evictions", "cause", "size");
+        this.sessions = CacheUtils.boundedTtlCache(
+                maxEntries,
+                (tokenId, cached) -> Duration.ofMillis(cached.expiresAt - System.currentTimeMillis()),
+                (tokenId, cached, cause) -> (cause == RemovalCause.EXPIRED ? expiredEvictions : sizeEvictions).increment());
+
+        Gauge.builder("studyhub.session_cache.size", sessions, Cache::estimatedSize)
+             .description("Cached session lookups")
+             .register(meterRegistry);
+        this.hits = meterRegistry.counter("studyhub.session_cache.hits");
+        this.misses = meterRegistry.counter("studyhub.session_cache.misses");
+        this.invalidations = meterRegistry.counter("studyhub.session_cache.evictions", "cause", "invalidated");
+    }
+
+    /**
+     * Whether the session exists, the loader returns the session's expiredDate or empty when there is no session
+     */
+    public boolean isActive(String tokenId, Function<String, Optional<Instant>> loader) {
+        CachedSession cached = sessions.getIfPresent(tokenId);
+        if (cached != null) {
+            hits.increment();
+            return cached.active;
+        }
+
+        misses.increment();
+        long now = System.currentTimeMillis();
+        Optional<Instant> expiredDate = loader.apply(tokenId);
+        boolean active = expiredDate.isPresent() && expiredDate.get().toEpochMilli() > now;
+        long expiresAt = active
+                ? Math.min(expiredDate.get().toEpochMilli(), now + maxTtlMillis)
+                : now + negativeTtlMillis;
+
+        // putIfAbsent so a lookup racing with a revoke never overwrites the revoked entry
+        sessions.asMap().putIfAbsent(tokenId, new CachedSession(active, expiresAt));
+        return active;
+    }
+
+    /**
+     * The session was deleted, reject the token without asking the database for negative-ttl
+     */
+    public void revoke(String tokenId) {
+        if (tokenId == null) {
+            return;
+        }
+        CachedSession previous = sessions.asMap().put(tokenId, new CachedSession(false, System.currentTimeMillis() + negativeTtlMillis));
+        if (previous != null && previous.active) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * The session was created, drop any negative entry cached for its token id
+     */
+    public void evict(String tokenId) {
+        if (tokenId != null && sessions.asMap().remove(tokenId) != null) {
+            invalidations.increment();
+        }
+    }
+
+    private record CachedSession(boolean active, long expiresAt) {
+    }
+}
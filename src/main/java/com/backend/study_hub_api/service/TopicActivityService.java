@@ -0,0 +1,32 @@
+package com.backend.study_hub_api.service;
+
+import com.backend.study_hub_api.dto.CommentDTO;
+
+public interface TopicActivityService {
+
+    /**
+     * Whether any STOMP session on this node is subscribed to the topic's channel
+     */
+    boolean isWatched(Long topicId);
+
+    /**
+     * Record the topic's reaction counters once the current transaction commits, the latest counters win
+     */
+    void recordReaction(Long topicId, int likeCount, int dislikeCount);
+
+    /**
+     * Record a new comment or reply once the current transaction commits
+     */
+    void recordCommentCreated(CommentDTO comment);
+
+    /**
+     * Record a deleted comment or reply once the current transaction commits
+     */
+    void recordCommentDeleted(Long topicId, Long commentId);
+
+    /**
+     * Push one update per watched topic with everything recorded since the previous call
+     */
+    void publishPending();
+
+}
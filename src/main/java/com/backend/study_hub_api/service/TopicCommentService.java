@@ -1,14 +1,15 @@
 package com.backend.study_hub_api.service;
 
 import com.backend.study_hub_api.dto.CommentDTO;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
+import com.backend.study_hub_api.dto.criteria.CommentFilterCriteria;
 import com.backend.study_hub_api.dto.request.CreateCommentRequest;
 import com.backend.study_hub_api.model.TopicComment;
 
-import java.util.List;
-
 public interface TopicCommentService {
 
-    List<CommentDTO> getCommentsByTopic(Long topicId);
+    CursorPaginationDTO<CommentDTO> getCommentsByTopic(Long topicId, CommentFilterCriteria criteria);
+    CursorPaginationDTO<CommentDTO> getReplies(Long commentId, CommentFilterCriteria criteria);
     CommentDTO createComment(CreateCommentRequest request, Long authorId);
     void deleteComment(Long commentId, Long userId);
     CommentDTO mapToDTO(TopicComment comment);
@@ -0,0 +1,66 @@
+package com.backend.study_hub_api.service;
+
+import com.backend.study_hub_api.dto.TopicDTO;
+import com.backend.study_hub_api.dto.TopicRankingDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TopicLeaderboardService {
+
+    /**
+     * Whether the boards have been built and can answer queries
+     */
+    boolean isReady();
+
+    /**
+     * ACTIVE topics by view count, optionally restricted to a university and/or category
+     */
+    List<TopicRankingDTO> getPopular(int limit, Long universityId, Long categoryId);
+
+    /**
+     * ACTIVE topics by creation time, newest first
+     */
+    List<TopicRankingDTO> getRecent(int limit, Long universityId, Long categoryId);
+
+    /**
+     * ACTIVE topics by time-decayed engagement (views, likes, comments)
+     */
+    List<TopicRankingDTO> getTrending(int limit, Long universityId, Long categoryId);
+
+    /**
+     * Keep rendered summaries next to their entries, they are returned with the rankings until they expire
+     */
+    void cacheSummaries(Collection<TopicDTO.TopicSummaryResponse> summaries);
+
+    /**
+     * Record a topic view, applied on the next tick
+     */
+    void recordView(Long topicId);
+
+    /**
+     * Record the topic's reaction counters after a reaction change, added tells whether it counts as new engagement
+     */
+    void recordReaction(Long topicId, int likeCount, int dislikeCount, boolean added);
+
+    /**
+     * Record comments created (positive delta) or deleted (negative delta) on the topic
+     */
+    void recordComment(Long topicId, int delta);
+
+    /**
+     * Re-read a topic into the boards once the current transaction commits
+     */
+    void refreshTopic(Long topicId);
+
+    /**
+     * Apply buffered events and refreshed topics to the boards
+     */
+    void applyPendingEvents();
+
+    /**
+     * Rebuild every board from t_topics, trending scores of known topics are kept
+     */
+    void rebuild();
+
+}
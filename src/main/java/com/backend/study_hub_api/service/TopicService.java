@@ -1,6 +1,7 @@
 package com.backend.study_hub_api.service;
 
 import com.backend.study_hub_api.dto.TopicDTO;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
 import com.backend.study_hub_api.dto.common.PaginationDTO;
 import com.backend.study_hub_api.dto.criteria.TopicFilterCriteria;
 import com.backend.study_hub_api.model.Topic;
@@ -18,15 +19,18 @@ public interface TopicService {
     // ==================== READ OPERATIONS WITH FILTERS ====================
 
     PaginationDTO<TopicDTO.TopicResponse> getTopicsWithFilter(TopicFilterCriteria criteria);
+    CursorPaginationDTO<TopicDTO.TopicResponse> getTopicsWithCursor(TopicFilterCriteria criteria);
+    PaginationDTO<TopicDTO.TopicResponse> searchTopics(String keyword, Integer page, Integer size);
     PaginationDTO<TopicDTO.TopicResponse> getAllTopics(Pageable pageable);
     TopicDTO.TopicResponse getTopicById(Long id);
     List<TopicDTO.TopicResponse> getTop10Topics();
+    void refreshTopTopics();
 
     // ==================== SPECIAL QUERIES ====================
 
-    List<TopicDTO.TopicSummaryResponse> getPopularTopics(int limit);
-    List<TopicDTO.TopicSummaryResponse> getRecentTopics(int limit);
-    List<TopicDTO.TopicSummaryResponse> getTrendingTopics(int limit);
+    List<TopicDTO.TopicSummaryResponse> getPopularTopics(int limit, Long universityId, Long categoryId);
+    List<TopicDTO.TopicSummaryResponse> getRecentTopics(int limit, Long universityId, Long categoryId);
+    List<TopicDTO.TopicSummaryResponse> getTrendingTopics(int limit, Long universityId, Long categoryId);
 
     // ==================== HELPER METHODS ====================
 
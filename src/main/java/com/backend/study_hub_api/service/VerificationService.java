@@ -1,5 +1,7 @@
 package com.backend.study_hub_api.service;
 
+import com.backend.study_hub_api.dto.EmailOutboxPayload;
+import com.backend.study_hub_api.helper.enumeration.OutboxMessageType;
 import com.backend.study_hub_api.helper.enumeration.VerificationType;
 import com.backend.study_hub_api.helper.exception.BadRequestException;
 import com.backend.study_hub_api.model.User;
@@ -17,7 +19,6 @@ import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 
 import static com.backend.study_hub_api.helper.constant.Message.VERIFICATION_CODE_EXISTS_ERROR;
-import static com.backend.study_hub_api.helper.constant.Message.VERIFICATION_CODE_SENT_FAILED_ERROR;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +26,7 @@ import static com.backend.study_hub_api.helper.constant.Message.VERIFICATION_COD
 public class VerificationService {
 
     private final VerificationCodeRepository verificationCodeRepository;
-    private final EmailService emailService;
+    private final OutboxService outboxService;
 
     @Value("${app.verification.otp-length:6}")
     private int otpLength;
@@ -62,20 +63,19 @@ public class VerificationService {
 
         verificationCodeRepository.save(verificationCode);
 
-        try {
-            switch (type) {
-                case EMAIL_VERIFICATION:
-                    emailService.sendVerificationEmail(user.getEmail(), user.getFullName(), code);
-                    break;
-                case PASSWORD_RESET:
-                    emailService.sendPasswordResetEmail(user.getEmail(), user.getFullName(), code);
-                    break;
-            }
-            log.info("Verification code sent to user: {} for type: {}", user.getEmail(), type);
-        } catch (Exception e) {
-            log.error("Failed to send verification code to user: {}", user.getEmail(), e);
-            throw new BadRequestException(VERIFICATION_CODE_SENT_FAILED_ERROR);
-        }
+        // Sent by the outbox dispatcher once this transaction commits, SMTP latency no longer blocks the request
+        OutboxMessageType messageType = switch (type) {
+            case EMAIL_VERIFICATION -> OutboxMessageType.VERIFICATION_EMAIL;
+            case PASSWORD_RESET -> OutboxMessageType.PASSWORD_RESET_EMAIL;
+        };
+        outboxService.enqueue(messageType,
+                              EmailOutboxPayload.builder()
+                                                .toEmail(user.getEmail())
+                                                .fullName(user.getFullName())
+                                                .otpCode(code)
+                                                .build(),
+                              expiredAt);
+        log.info("Verification code queued for user: {} for type: {}", user.getEmail(), type);
     }
 
     /**
@@ -0,0 +1,31 @@
+package com.backend.study_hub_api.service;
+
+public interface ViewCountService {
+
+    /**
+     * Record a topic view in memory, it will be written to t_topics on the next flush
+     */
+    void recordTopicView(Long topicId);
+
+    /**
+     * Record a product view in memory, it will be written to t_products on the next flush
+     */
+    void recordProductView(Long productId);
+
+    /**
+     * Views recorded for a topic that are not persisted yet
+     */
+    long getPendingTopicViews(Long topicId);
+
+    /**
+     * Views recorded for a product that are not persisted yet
+     */
+    long getPendingProductViews(Long productId);
+
+    /**
+     * Write all pending deltas to the database with batched UPDATE statements
+     * @return number of views written
+     */
+    long flush();
+
+}
@@ -6,6 +6,7 @@ import com.backend.study_hub_api.dto.criteria.CategoryFilterCriteria;
 import com.backend.study_hub_api.helper.enumeration.CategoryType;
 import com.backend.study_hub_api.helper.exception.BadRequestException;
 import com.backend.study_hub_api.helper.util.PaginationUtils;
+import com.backend.study_hub_api.helper.util.TransactionUtils;
 import com.backend.study_hub_api.model.Category;
 import com.backend.study_hub_api.repository.CategoryRepository;
 import com.backend.study_hub_api.service.BaseFilterService;
@@ -13,28 +14,48 @@ import com.backend.study_hub_api.service.CategoryService;
 import com.backend.study_hub_api.specification.BaseSpecificationBuilder;
 import com.backend.study_hub_api.specification.CategorySpecification;
 import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
-import java.util.List;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.backend.study_hub_api.helper.constant.Message.CATEGORY_NAME_ALREADY_EXISTS;
 import static com.backend.study_hub_api.helper.constant.Message.CATEGORY_NOT_FOUND;
 
+/**
+ * Categories are a tiny, rarely changing table read on every topic/product creation and product mapping.
+ * Reads are served from an immutable snapshot (entities by id plus prebuilt DTOs and lists) that is
+ * loaded on first use and replaced as a whole after each admin write commits. The TTL bounds how long
+ * another node's writes stay invisible.
+ */
+@Slf4j
 @Service
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
-@RequiredArgsConstructor
 public class CategoryServiceImpl extends BaseFilterService<Category, Long, CategoryFilterCriteria, CategoryDTO.CategoryResponse>
         implements CategoryService {
 
     CategoryRepository categoryRepository;
     CategorySpecification categorySpecification;
+    long snapshotTtlMillis;
+    AtomicReference<CategorySnapshot> snapshot = new AtomicReference<>();
+
+    public CategoryServiceImpl(CategoryRepository categoryRepository,
+                               CategorySpecification categorySpecification,
+                               @Value("${app.reference-cache.ttl:5m}") Duration snapshotTtl) {
+        this.categoryRepository = categoryRepository;
+        this.categorySpecification = categorySpecification;
+        this.snapshotTtlMillis = snapshotTtl.toMillis();
+    }
 
     @Override
     @Transactional
@@ -50,30 +71,30 @@ public class CategoryServiceImpl extends BaseFilterService<Category, Long, Categ
                                     .build();
 
         Category savedCategory = categoryRepository.save(category);
-        return mapToDTO(savedCategory);
+        refreshSnapshotAfterCommit();
+        return buildResponse(savedCategory);
     }
 
     @Override
     public CategoryDTO.CategoryResponse getCategoryById(Long id) {
-        Category category = categoryRepository.findById(id)
-                                              .orElseThrow(() -> new BadRequestException(CATEGORY_NOT_FOUND));
-        return mapToDTO(category);
+        CategoryDTO.CategoryResponse response = getSnapshot().responses().get(id);
+        if (response == null) {
+            throw new BadRequestException(CATEGORY_NOT_FOUND);
+        }
+        return response;
     }
 
     @Override
     public PaginationDTO<CategoryDTO.CategoryResponse> getAllCategories(Pageable pageable) {
         Page<CategoryDTO.CategoryResponse> categories = categoryRepository.findAll(pageable)
-                                                                          .map(this::mapToDTO);
+                                                                          .map(this::buildResponse);
 
         return PaginationUtils.createPaginationResponse(categories);
     }
 
     @Override
     public List<CategoryDTO.CategoryResponse> getActiveCategories() {
-        return categoryRepository.findByIsActiveTrue()
-                                 .stream()
-                                 .map(this::mapToDTO)
-                                 .toList();
+        return getSnapshot().active();
     }
 
     @Override
@@ -93,7 +114,8 @@ public class CategoryServiceImpl extends BaseFilterService<Category, Long, Categ
         }
 
         Category savedCategory = categoryRepository.save(category);
-        return mapToDTO(savedCategory);
+        refreshSnapshotAfterCommit();
+        return buildResponse(savedCategory);
     }
 
     @Override
@@ -104,10 +126,19 @@ public class CategoryServiceImpl extends BaseFilterService<Category, Long, Categ
 
         category.setIsActive(false);
         categoryRepository.save(category);
+        refreshSnapshotAfterCommit();
     }
 
+    /**
+     * Prebuilt DTO from the snapshot, looked up by id so a lazy category proxy is not initialized
+     */
     @Override
     public CategoryDTO.CategoryResponse mapToDTO(Category category) {
+        CategoryDTO.CategoryResponse cached = getSnapshot().responses().get(category.getId());
+        return cached != null ? cached : buildResponse(category);
+    }
+
+    private CategoryDTO.CategoryResponse buildResponse(Category category) {
         return CategoryDTO.CategoryResponse.builder()
                                            .id(category.getId())
                                            .name(category.getName())
@@ -135,29 +166,99 @@ public class CategoryServiceImpl extends BaseFilterService<Category, Long, Categ
 
     @Override
     protected Function<Category, CategoryDTO.CategoryResponse> getEntityToDtoMapper() {
-        return this::mapToDTO;
+        return this::buildResponse;
     }
 
+    /**
+     * Detached copy of the cached category, safe to reference from new entities and to modify
+     */
     @Override
     public Category getCategoryByIdOrThrow(Long id) {
-        return categoryRepository.findById(id)
-                                 .orElseThrow(() -> new BadRequestException(CATEGORY_NOT_FOUND));
+        Category category = getSnapshot().categories().get(id);
+        if (category == null) {
+            throw new BadRequestException(CATEGORY_NOT_FOUND);
+        }
+        return copyOf(category);
     }
 
     @Override
     public List<CategoryDTO.CategoryResponse> getCategoriesForTopicCreation() {
-        return categoryRepository.findByTypeAndIsActive(CategoryType.TOPIC, true)
-                                 .stream()
-                                 .map(this::mapToDTO)
-                                 .toList();
+        return getSnapshot().activeByType().getOrDefault(CategoryType.TOPIC, Collections.emptyList());
     }
 
     @Override
     public List<CategoryDTO.CategoryResponse> getCategoriesForProductCreation() {
-        return categoryRepository.findByTypeAndIsActive(CategoryType.PRODUCT, true)
-                                 .stream()
-                                 .map(this::mapToDTO)
-                                 .toList();
+        return getSnapshot().activeByType().getOrDefault(CategoryType.PRODUCT, Collections.emptyList());
+    }
+
+    // ==================== SNAPSHOT ====================
+
+    private CategorySnapshot getSnapshot() {
+        CategorySnapshot current = snapshot.get();
+        if (current == null || current.loadedAt() + snapshotTtlMillis < System.currentTimeMillis()) {
+            CategorySnapshot loaded = loadSnapshot();
+            // A snapshot installed by a concurrent refresh in the meantime is at least as new, keep it
+            snapshot.compareAndSet(current, loaded);
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    private CategorySnapshot loadSnapshot() {
+        Map<Long, Category> categories = new LinkedHashMap<>();
+        Map<Long, CategoryDTO.CategoryResponse> responses = new LinkedHashMap<>();
+        categoryRepository.findAll()
+                          .stream()
+                          .sorted(Comparator.comparing(Category::getId))
+                          .forEach(category -> {
+                              categories.put(category.getId(), copyOf(category));
+                              responses.put(category.getId(), buildResponse(category));
+                          });
+
+        List<CategoryDTO.CategoryResponse> active = responses.values()
+                                                             .stream()
+                                                             .filter(response -> Boolean.TRUE.equals(response.getIsActive()))
+                                                             .toList();
+        Map<CategoryType, List<CategoryDTO.CategoryResponse>> activeByType = active.stream()
+                .collect(Collectors.groupingBy(CategoryDTO.CategoryResponse::getType,
+                                               () -> new EnumMap<>(CategoryType.class),
+                                               Collectors.toUnmodifiableList()));
+
+        return new CategorySnapshot(Collections.unmodifiableMap(categories),
+                                    Collections.unmodifiableMap(responses),
+                                    active,
+                                    Collections.unmodifiableMap(activeByType),
+                                    System.currentTimeMillis());
+    }
+
+    private void refreshSnapshotAfterCommit() {
+        TransactionUtils.afterCommit(() -> {
+            try {
+                snapshot.set(loadSnapshot());
+            } catch (RuntimeException e) {
+                // Reloaded on the next read
+                snapshot.set(null);
+                log.warn("Failed to refresh category snapshot", e);
+            }
+        });
+    }
+
+    private static Category copyOf(Category category) {
+        return Category.builder()
+                       .id(category.getId())
+                       .name(category.getName())
+                       .isActive(category.getIsActive())
+                       .type(category.getType())
+                       .createdAt(category.getCreatedAt())
+                       .updatedAt(category.getUpdatedAt())
+                       .build();
+    }
+
+    private record CategorySnapshot(Map<Long, Category> categories,
+                                    Map<Long, CategoryDTO.CategoryResponse> responses,
+                                    List<CategoryDTO.CategoryResponse> active,
+                                    Map<CategoryType, List<CategoryDTO.CategoryResponse>> activeByType,
+                                    long loadedAt) {
     }
 
 }
\ No newline at end of file
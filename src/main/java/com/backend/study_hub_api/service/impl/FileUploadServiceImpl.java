@@ -1,37 +1,82 @@
 package com.backend.study_hub_api.service.impl;
 
 import com.backend.study_hub_api.config.ApplicationProperties;
+import com.backend.study_hub_api.config.jwt.SecurityUtils;
 import com.backend.study_hub_api.dto.FileUploadDTO;
+import com.backend.study_hub_api.helper.enumeration.ImageVariantStatus;
+import com.backend.study_hub_api.helper.enumeration.UploadTarget;
 import com.backend.study_hub_api.helper.exception.BadRequestException;
 import com.backend.study_hub_api.helper.exception.InternalException;
+import com.backend.study_hub_api.model.FileBlob;
+import com.backend.study_hub_api.repository.FileBlobRepository;
 import com.backend.study_hub_api.service.FileUploadService;
-import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
-import lombok.experimental.FieldDefaults;
+import com.backend.study_hub_api.service.ImageVariantService;
+import com.backend.study_hub_api.service.S3UrlResolver;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.backend.study_hub_api.helper.constant.Message.*;
 
 @Slf4j
 @Service
-@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
-@RequiredArgsConstructor
 public class FileUploadServiceImpl implements FileUploadService {
 
-    S3Client s3Client;
-    ApplicationProperties applicationProperties;
+    private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    private final FileBlobRepository fileBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ImageVariantService imageVariantService;
+    private final S3UrlResolver s3UrlResolver;
+    private final ApplicationProperties applicationProperties;
+    private final Duration presignTtl;
+    private final int maxConcurrencyPerRequest;
+    private final ExecutorService uploadExecutor;
 
     public static final String[] DEFAULT_ALLOWED_IMAGE_TYPES = {
             "image/jpeg", "image/jpg", "image/png", "image/gif", "image/webp"
@@ -44,6 +89,40 @@ public class FileUploadServiceImpl implements FileUploadService {
     };
 
     private static final int DEFAULT_MAX_FILE_SIZE_MB = 10;
+    private static final int UPLOAD_QUEUE_CAPACITY = 200;
+    private static final String ORIGINAL_FILENAME_METADATA = "original-filename";
+
+    public FileUploadServiceImpl(S3Client s3Client,
+                                 S3Presigner s3Presigner,
+                                 FileBlobRepository fileBlobRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 ImageVariantService imageVariantService,
+                                 S3UrlResolver s3UrlResolver,
+                                 ApplicationProperties applicationProperties,
+                                 @Value("${app.file-upload.presign-ttl:15m}") Duration presignTtl,
+                                 @Value("${app.file-upload.threads:16}") int uploadThreads,
+                                 @Value("${app.file-upload.max-concurrency-per-request:4}") int maxConcurrencyPerRequest) {
+        this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
+        this.fileBlobRepository = fileBlobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.imageVariantService = imageVariantService;
+        this.s3UrlResolver = s3UrlResolver;
+        this.applicationProperties = applicationProperties;
+        this.presignTtl = presignTtl;
+        this.maxConcurrencyPerRequest = maxConcurrencyPerRequest;
+        // Bounded queue, when it is full the request thread uploads the file itself instead of queueing more
+        this.uploadExecutor = new ThreadPoolExecutor(uploadThreads, uploadThreads,
+                                                     0L, TimeUnit.MILLISECONDS,
+                                                     new ArrayBlockingQueue<>(UPLOAD_QUEUE_CAPACITY),
+                                                     new CustomizableThreadFactory("s3-upload-"),
+                                                     new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdownUploadExecutor() {
+        uploadExecutor.shutdown();
+    }
 
     @Override
     public FileUploadDTO.FileUploadResponse uploadFile(MultipartFile file, String folder,
@@ -55,38 +134,7 @@ public class FileUploadServiceImpl implements FileUploadService {
         // Validate file
         validateFile(file, allowedTypes, DEFAULT_MAX_FILE_SIZE_MB);
 
-        try {
-            String fileName = generateUniqueFileName(file.getOriginalFilename());
-            String key = buildS3Key(folder, fileName);
-            String bucketName = applicationProperties.getAws().s3Bucket();
-
-            // Upload to S3
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                                                                .bucket(bucketName)
-                                                                .key(key)
-                                                                .contentType(file.getContentType())
-                                                                .contentLength(file.getSize())
-                                                                .build();
-
-            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
-
-            // Generate public URL
-            String fileUrl = generatePublicUrl(bucketName, key);
-
-            log.info("File uploaded successfully: {}", fileUrl);
-
-            return FileUploadDTO.FileUploadResponse.builder()
-                                                   .fileUrl(fileUrl)
-                                                   .originalFilename(file.getOriginalFilename())
-                                                   .fileSize(file.getSize())
-                                                   .contentType(file.getContentType())
-                                                   .uploadedAt(Instant.now())
-                                                   .build();
-
-        } catch (IOException e) {
-            log.error("Error uploading file to S3", e);
-            throw new InternalException();
-        }
+        return putObject(file, folder);
     }
 
     @Override
@@ -99,10 +147,16 @@ public class FileUploadServiceImpl implements FileUploadService {
             throw new BadRequestException(MAX_FILE_UPLOAD_ERROR);
         }
 
-        List<FileUploadDTO.FileUploadResponse> uploadedFiles = files.stream()
-                                                                    .filter(file -> !file.isEmpty())
-                                                                    .map(file -> uploadFile(file, folder, allowedTypes))
-                                                                    .collect(Collectors.toList());
+        List<MultipartFile> validFiles = files.stream()
+                                              .filter(file -> !file.isEmpty())
+                                              .collect(Collectors.toList());
+
+        // Validate everything first so an invalid file never leaves the others uploaded
+        validFiles.forEach(file -> validateFile(file, allowedTypes, DEFAULT_MAX_FILE_SIZE_MB));
+
+        long start = System.currentTimeMillis();
+        List<FileUploadDTO.FileUploadResponse> uploadedFiles = uploadConcurrently(validFiles, folder);
+        log.info("Uploaded {} files to {} in {} ms", uploadedFiles.size(), folder, System.currentTimeMillis() - start);
 
         return FileUploadDTO.MultipleFileUploadResponse.builder()
                                                        .files(uploadedFiles)
@@ -119,15 +173,12 @@ public class FileUploadServiceImpl implements FileUploadService {
             }
 
             String key = extractKeyFromUrl(fileUrl);
-            String bucketName = applicationProperties.getAws().s3Bucket();
-
-            DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
-                                                                         .bucket(bucketName)
-                                                                         .key(key)
-                                                                         .build();
 
-            s3Client.deleteObject(deleteObjectRequest);
-            log.info("File deleted successfully: {}", fileUrl);
+            if (releaseReference(key)) {
+                log.info("File deleted successfully: {}", fileUrl);
+            } else {
+                log.info("File reference released, object still in use: {}", fileUrl);
+            }
             return true;
 
         } catch (Exception e) {
@@ -137,11 +188,188 @@ public class FileUploadServiceImpl implements FileUploadService {
     }
 
     @Override
-    public String generatePresignedUploadUrl(String fileName, String folder, String contentType) {
-        // For simplicity, we'll return a standard upload endpoint instead of presigned URL
-        // In production, you might want to implement proper presigned URLs with additional dependencies
-        log.warn("Presigned URL generation not implemented. Use regular upload endpoints instead.");
-        throw new BadRequestException("Presigned URL không được hỗ trợ. Vui lòng sử dụng endpoint upload thông thường.");
+    public boolean deleteOwnedUpload(String fileUrl) {
+        if (StringUtils.isBlank(fileUrl)) {
+            return false;
+        }
+
+        String key = extractKeyFromUrl(fileUrl);
+        Long userId = getCurrentUserId();
+        boolean ownKey = Arrays.stream(UploadTarget.values()).anyMatch(target -> isPresignedKeyOf(key, target, userId));
+        // A registered key is attached to a product or topic, deleting it here would leave that entity broken
+        if (!ownKey || fileBlobRepository.existsByObjectKey(key)) {
+            throw new BadRequestException(FILE_DELETE_NOT_ALLOWED_ERROR);
+        }
+
+        try {
+            deleteObject(key);
+            log.info("Presigned upload discarded by its owner: {}", fileUrl);
+            return true;
+        } catch (Exception e) {
+            log.error("Error deleting file from S3: {}", fileUrl, e);
+            return false;
+        }
+    }
+
+    @Override
+    public int deleteUnreferencedFiles(String folder, Instant modifiedBefore,
+                                       Supplier<Collection<String>> storedUrls) {
+        // Compared by object key, a URL stored under another endpoint or region still protects its object.
+        // A URL that does not parse means the resolver no longer matches what is stored: deleting would be a guess.
+        Set<String> referencedKeys = new HashSet<>();
+        for (String storedUrl : storedUrls.get()) {
+            String objectKey = s3UrlResolver.objectKey(storedUrl);
+            if (objectKey == null) {
+                log.warn("Stored file URL {} is not in the upload bucket, skipping orphan cleanup of {}", storedUrl, folder);
+                return 0;
+            }
+            referencedKeys.add(objectKey);
+        }
+
+        String bucketName = applicationProperties.getAws().s3Bucket();
+        ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
+                                                               .bucket(bucketName)
+                                                               .prefix(buildS3Key(folder, ""))
+                                                               .build();
+
+        int deleted = 0;
+        // Pages hold at most 1000 keys, the DeleteObjects limit
+        for (ListObjectsV2Response page : s3Client.listObjectsV2Paginator(listRequest)) {
+            List<String> candidates = page.contents()
+                                          .stream()
+                                          .filter(object -> object.lastModified().isBefore(modifiedBefore))
+                                          .map(S3Object::key)
+                                          .filter(key -> !referencedKeys.contains(key))
+                                          .collect(Collectors.toList());
+            if (candidates.isEmpty()) {
+                continue;
+            }
+
+            // A shared blob keeps the time of its first upload, a newer reference may not be saved by its owner yet
+            Set<String> recentlyShared = new HashSet<>(
+                    fileBlobRepository.findObjectKeysReferencedSince(candidates, modifiedBefore));
+            List<ObjectIdentifier> orphans = candidates.stream()
+                                                       .filter(key -> !recentlyShared.contains(key))
+                                                       .map(key -> ObjectIdentifier.builder().key(key).build())
+                                                       .collect(Collectors.toList());
+            if (orphans.isEmpty()) {
+                continue;
+            }
+
+            DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                                                                                        .bucket(bucketName)
+                                                                                        .delete(Delete.builder()
+                                                                                                      .objects(orphans)
+                                                                                                      .quiet(true)
+                                                                                                      .build())
+                                                                                        .build());
+            response.errors().forEach(error -> log.warn("Could not delete orphaned file {}: {}", error.key(), error.message()));
+            deleted += orphans.size() - response.errors().size();
+
+            // Forget the blobs of deleted objects so the next upload of the same content is stored again
+            Set<String> failedKeys = response.errors().stream().map(S3Error::key).collect(Collectors.toSet());
+            List<String> deletedKeys = orphans.stream()
+                                              .map(ObjectIdentifier::key)
+                                              .filter(key -> !failedKeys.contains(key))
+                                              .collect(Collectors.toList());
+            if (!deletedKeys.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> fileBlobRepository.deleteByObjectKeyIn(deletedKeys));
+                imageVariantService.deleteVariants(deletedKeys);
+            }
+        }
+
+        log.info("Deleted {} orphaned files under {}", deleted, folder);
+        return deleted;
+    }
+
+    @Override
+    public FileUploadDTO.PresignedUploadResponse generatePresignedUploadUrl(FileUploadDTO.PresignedUploadRequest request) {
+        UploadTarget target = request.getTarget();
+        if (target == null) {
+            throw new BadRequestException(FILE_UPLOAD_KEY_INVALID_ERROR);
+        }
+        if (StringUtils.isBlank(request.getFileName())) {
+            throw new BadRequestException(FILE_NAME_INVALID_ERROR);
+        }
+        if (!isAllowed(target, request.getContentType())) {
+            throw new BadRequestException(FILE_TYPE_NOT_SUPPORTED_ERROR);
+        }
+        if (request.getFileSize() == null || request.getFileSize() <= 0 || exceedsMaxSize(target, request.getFileSize())) {
+            throw new BadRequestException(FILE_MAX_SIZE_ERROR);
+        }
+
+        // Under a folder of the requesting user, only they can confirm or discard it
+        String key = presignedKeyPrefix(target, getCurrentUserId()) + generateUniqueFileName(request.getFileName());
+
+        // Content type, length and original name are signed, the client must send exactly these headers
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                                                            .bucket(applicationProperties.getAws().s3Bucket())
+                                                            .key(key)
+                                                            .contentType(request.getContentType())
+                                                            .contentLength(request.getFileSize())
+                                                            .metadata(Map.of(ORIGINAL_FILENAME_METADATA,
+                                                                             URLEncoder.encode(request.getFileName(), StandardCharsets.UTF_8)))
+                                                            .build();
+
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                                                                                                  .signatureDuration(presignTtl)
+                                                                                                  .putObjectRequest(putObjectRequest)
+                                                                                                  .build());
+
+        Map<String, String> headers = new HashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!"host".equalsIgnoreCase(name)) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+
+        return FileUploadDTO.PresignedUploadResponse.builder()
+                                                    .uploadUrl(presigned.url().toString())
+                                                    .method(presigned.httpRequest().method().name())
+                                                    .headers(headers)
+                                                    .objectKey(key)
+                                                    .expiresAt(presigned.expiration())
+                                                    .build();
+    }
+
+    @Override
+    public List<FileUploadDTO.FileUploadResponse> confirmUploads(List<String> objectKeys, UploadTarget target) {
+        if (objectKeys == null || objectKeys.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        if (objectKeys.size() > 10) {
+            throw new BadRequestException(MAX_FILE_UPLOAD_ERROR);
+        }
+
+        // All or nothing: when one key is rejected the ones confirmed before it are released again
+        Long userId = getCurrentUserId();
+        List<FileUploadDTO.FileUploadResponse> confirmed = new ArrayList<>(objectKeys.size());
+        try {
+            for (String objectKey : objectKeys.stream().distinct().toList()) {
+                confirmed.add(confirmUpload(objectKey, target, userId));
+            }
+        } catch (RuntimeException e) {
+            releaseConfirmedUploads(confirmed);
+            throw e;
+        }
+        return confirmed;
+    }
+
+    @Override
+    public void releaseConfirmedUploads(List<FileUploadDTO.FileUploadResponse> uploads) {
+        if (uploads == null || uploads.isEmpty()) {
+            return;
+        }
+
+        for (FileUploadDTO.FileUploadResponse upload : uploads) {
+            try {
+                String key = extractKeyFromUrl(upload.getFileUrl());
+                transactionTemplate.executeWithoutResult(status -> fileBlobRepository.unregisterUpload(key));
+            } catch (Exception e) {
+                log.error("Error releasing confirmed upload: {}", upload.getFileUrl(), e);
+            }
+        }
     }
 
     @Override
@@ -172,18 +400,239 @@ public class FileUploadServiceImpl implements FileUploadService {
     }
 
     // Helper methods
+
+    private FileUploadDTO.FileUploadResponse confirmUpload(String objectKey, UploadTarget target, Long userId) {
+        // Only keys issued to this user for this target
+        if (!isPresignedKeyOf(objectKey, target, userId)) {
+            throw new BadRequestException(FILE_UPLOAD_KEY_INVALID_ERROR);
+        }
+
+        String bucketName = applicationProperties.getAws().s3Bucket();
+        HeadObjectResponse head;
+        try {
+            head = s3Client.headObject(HeadObjectRequest.builder().bucket(bucketName).key(objectKey).build());
+        } catch (NoSuchKeyException e) {
+            throw new BadRequestException(FILE_UPLOAD_NOT_FOUND_ERROR);
+        }
+
+        // What was actually stored is checked, not what the client asked to upload. Such an object is never usable
+        if (!isAllowed(target, head.contentType())) {
+            deleteObject(objectKey);
+            throw new BadRequestException(FILE_TYPE_NOT_SUPPORTED_ERROR);
+        }
+        if (exceedsMaxSize(target, head.contentLength())) {
+            deleteObject(objectKey);
+            throw new BadRequestException(FILE_MAX_SIZE_ERROR);
+        }
+
+        // The first confirmation registers the object with one reference, a key already attached is rejected
+        String eTag = StringUtils.defaultString(StringUtils.strip(head.eTag(), "\""));
+        Integer registered = transactionTemplate.execute(status -> fileBlobRepository.registerUpload(
+                objectKey, eTag, head.contentType(), head.contentLength()));
+        if (registered == null || registered == 0) {
+            throw new BadRequestException(FILE_UPLOAD_KEY_INVALID_ERROR);
+        }
+
+        String fileUrl = s3UrlResolver.publicUrl(objectKey);
+
+        String originalFilename = head.metadata().get(ORIGINAL_FILENAME_METADATA);
+        return FileUploadDTO.FileUploadResponse.builder()
+                                               .fileUrl(fileUrl)
+                                               .originalFilename(originalFilename != null
+                                                       ? URLDecoder.decode(originalFilename, StandardCharsets.UTF_8)
+                                                       : objectKey.substring(objectKey.lastIndexOf('/') + 1))
+                                               .fileSize(head.contentLength())
+                                               .contentType(head.contentType())
+                                               .uploadedAt(head.lastModified())
+                                               .build();
+    }
+
+    private boolean isAllowed(UploadTarget target, String contentType) {
+        return contentType != null && Arrays.asList(target.getAllowedTypes()).contains(contentType);
+    }
+
+    private boolean exceedsMaxSize(UploadTarget target, long size) {
+        return size > target.getMaxSizeInMB() * 1024L * 1024L;
+    }
+
+    /**
+     * Upload the files in parallel, at most maxConcurrencyPerRequest at a time, keeping their order.
+     * All or nothing: when one upload fails no more are started and the ones that succeeded are deleted.
+     */
+    private List<FileUploadDTO.FileUploadResponse> uploadConcurrently(List<MultipartFile> files, String folder) {
+        Semaphore permits = new Semaphore(maxConcurrencyPerRequest);
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<CompletableFuture<FileUploadDTO.FileUploadResponse>> uploads = new ArrayList<>(files.size());
+
+        for (MultipartFile file : files) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.set(true);
+                break;
+            }
+            if (failed.get()) {
+                permits.release();
+                break;
+            }
+
+            uploads.add(CompletableFuture.supplyAsync(() -> putObject(file, folder), uploadExecutor)
+                                         .whenComplete((response, error) -> {
+                                             if (error != null) {
+                                                 failed.set(true);
+                                             }
+                                             permits.release();
+                                         }));
+        }
+
+        List<FileUploadDTO.FileUploadResponse> uploadedFiles = new ArrayList<>(uploads.size());
+        RuntimeException failure = null;
+        for (CompletableFuture<FileUploadDTO.FileUploadResponse> upload : uploads) {
+            try {
+                uploadedFiles.add(upload.join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+        }
+
+        if (failure != null || failed.get()) {
+            log.warn("Upload to {} failed, deleting {} already uploaded files", folder, uploadedFiles.size());
+            uploadedFiles.forEach(uploaded -> deleteFile(uploaded.getFileUrl()));
+            throw failure != null ? failure : new InternalException();
+        }
+        return uploadedFiles;
+    }
+
+    /**
+     * Store the file under a key derived from its SHA-256, so identical content in a folder is one S3 object.
+     * The PUT is skipped when the content is already stored, otherwise it is safe to repeat: same key, same bytes.
+     */
+    private FileUploadDTO.FileUploadResponse putObject(MultipartFile file, String folder) {
+        try {
+            byte[] contentHash = sha256(file);
+            String contentHashHex = HexFormat.of().formatHex(contentHash);
+            String key = buildS3Key(folder, contentHashHex + fileExtension(file.getOriginalFilename()));
+            String bucketName = applicationProperties.getAws().s3Bucket();
+
+            boolean image = imageVariantService.supports(file.getContentType());
+            ImageVariantStatus variantStatus = image ? ImageVariantStatus.PENDING : ImageVariantStatus.NONE;
+
+            boolean alreadyUploaded = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                fileBlobRepository.acquireReference(key, contentHashHex, file.getContentType(), file.getSize(),
+                                                    variantStatus.name());
+                return fileBlobRepository.findUploadedByObjectKey(key).orElse(false);
+            }));
+
+            if (alreadyUploaded) {
+                log.debug("Content already stored, reusing {}", key);
+            } else {
+                try {
+                    // Upload to S3, streamed from the multipart content and verified by S3 against the hash
+                    PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                                                                        .bucket(bucketName)
+                                                                        .key(key)
+                                                                        .contentType(file.getContentType())
+                                                                        .contentLength(file.getSize())
+                                                                        .checksumSHA256(Base64.getEncoder().encodeToString(contentHash))
+                                                                        .build();
+
+                    s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+                    transactionTemplate.executeWithoutResult(status -> fileBlobRepository.markUploaded(key));
+                } catch (IOException | RuntimeException e) {
+                    releaseReference(key);
+                    throw e;
+                }
+
+                if (image) {
+                    imageVariantService.generateVariants(key);
+                }
+            }
+
+            // Generate public URL
+            String fileUrl = s3UrlResolver.publicUrl(key);
+
+            log.info("File uploaded successfully: {}", fileUrl);
+
+            return FileUploadDTO.FileUploadResponse.builder()
+                                                   .fileUrl(fileUrl)
+                                                   .originalFilename(file.getOriginalFilename())
+                                                   .fileSize(file.getSize())
+                                                   .contentType(file.getContentType())
+                                                   .uploadedAt(Instant.now())
+                                                   .build();
+
+        } catch (IOException e) {
+            log.error("Error uploading file to S3", e);
+            throw new InternalException();
+        }
+    }
+
+    /**
+     * Drop one reference to the object and delete it from S3 when it was the last one.
+     * Objects without a blob (presigned uploads, files stored before deduplication) are deleted directly.
+     * @return true if the S3 object was deleted
+     */
+    private boolean releaseReference(String key) {
+        // The blob row stays locked while the object is deleted, an upload of the same content waits and stores it again
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Optional<FileBlob> blob = fileBlobRepository.findByObjectKey(key);
+            if (blob.isPresent() && blob.get().getRefCount() > 1) {
+                blob.get().setRefCount(blob.get().getRefCount() - 1);
+                return false;
+            }
+
+            deleteObject(key);
+            blob.ifPresent(fileBlobRepository::delete);
+            blob.filter(this::hasVariants)
+                .ifPresent(deleted -> imageVariantService.deleteVariants(List.of(key)));
+            return true;
+        }));
+    }
+
+    private boolean hasVariants(FileBlob blob) {
+        return blob.getVariantStatus() != null && blob.getVariantStatus() != ImageVariantStatus.NONE;
+    }
+
+    private void deleteObject(String key) {
+        DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
+                                                                     .bucket(applicationProperties.getAws().s3Bucket())
+                                                                     .key(key)
+                                                                     .build();
+
+        s3Client.deleteObject(deleteObjectRequest);
+    }
+
+    /**
+     * SHA-256 of the file, read as a stream so large uploads are never held in memory
+     */
+    private static byte[] sha256(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return digest.digest();
+    }
+
     private String generateUniqueFileName(String originalFilename) {
+        return UUID.randomUUID().toString() + fileExtension(originalFilename);
+    }
+
+    private String fileExtension(String originalFilename) {
         if (originalFilename == null) {
-            return UUID.randomUUID().toString();
+            return "";
         }
 
-        String extension = "";
         int lastDotIndex = originalFilename.lastIndexOf('.');
-        if (lastDotIndex > 0) {
-            extension = originalFilename.substring(lastDotIndex);
-        }
-
-        return UUID.randomUUID().toString() + extension;
+        return lastDotIndex > 0 ? originalFilename.substring(lastDotIndex) : "";
     }
 
     private String buildS3Key(String folder, String fileName) {
@@ -193,26 +642,37 @@ public class FileUploadServiceImpl implements FileUploadService {
         return folder.trim() + "/" + fileName;
     }
 
-    private String generatePublicUrl(String bucketName, String key) {
-        String region = applicationProperties.getAws().region();
-        return String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, key);
+    /**
+     * Presigned uploads go to {folder}/{userId}/, content-addressed keys sit directly in the folder
+     */
+    private String presignedKeyPrefix(UploadTarget target, Long userId) {
+        return buildS3Key(target.getFolder(), userId + "/");
     }
 
-    private String extractKeyFromUrl(String fileUrl) {
-        // Extract key from URL format: https://bucket.s3.region.amazonaws.com/key
-        try {
-            String bucketName = applicationProperties.getAws().s3Bucket();
-            String region = applicationProperties.getAws().region();
-            String prefix = String.format("https://%s.s3.%s.amazonaws.com/", bucketName, region);
+    private boolean isPresignedKeyOf(String objectKey, UploadTarget target, Long userId) {
+        String prefix = presignedKeyPrefix(target, userId);
+        // Generated names never contain a path separator
+        return objectKey != null
+               && objectKey.length() > prefix.length()
+               && objectKey.startsWith(prefix)
+               && !objectKey.substring(prefix.length()).contains("/");
+    }
 
-            if (fileUrl.startsWith(prefix)) {
-                return fileUrl.substring(prefix.length());
-            }
+    private Long getCurrentUserId() {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new BadRequestException(USER_NOT_AUTHENTICATED_ERROR);
+        }
+        return userId;
+    }
 
-            throw new BadRequestException(URL_INVALID_ERROR);
-        } catch (Exception e) {
-            log.error("Error extracting key from URL: {}", fileUrl, e);
+    private String extractKeyFromUrl(String fileUrl) {
+        // Extract key from URL format: https://bucket.s3.region.amazonaws.com/key
+        String key = s3UrlResolver.objectKey(fileUrl);
+        if (key == null) {
+            log.error("Error extracting key from URL: {}", fileUrl);
             throw new BadRequestException(URL_INVALID_ERROR);
         }
+        return key;
     }
 }
\ No newline at end of file
@@ -0,0 +1,393 @@
+package com.backend.study_hub_api.service.impl;
+
+import com.backend.study_hub_api.helper.enumeration.ImageVariant;
+import com.backend.study_hub_api.helper.enumeration.ImageVariantStatus;
+import com.backend.study_hub_api.helper.util.CacheUtils;
+import com.backend.study_hub_api.repository.FileBlobRepository;
+import com.backend.study_hub_api.service.ImageVariantService;
+import com.backend.study_hub_api.service.S3UrlResolver;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates JPEG variants of uploaded images with ImageIO on a small bounded pool.
+ * Variants of an original {@code <folder>/<hash>.<ext>} are stored as {@code variants/<folder>/<hash>/<variant>.jpg},
+ * outside the upload folders so folder reconciliation never sees them. Progress is kept on the file blob.
+ */
+@Slf4j
+@Service
+public class ImageVariantServiceImpl implements ImageVariantService {
+
+    private static final Set<String> SUPPORTED_TYPES = Set.of("image/jpeg", "image/jpg", "image/png", "image/gif");
+    private static final String VARIANT_PREFIX = "variants/";
+    private static final String VARIANT_EXTENSION = ".jpg";
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+    // Keys are derived from the content hash, a variant never changes
+    private static final String VARIANT_CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private final S3Client s3Client;
+    private final S3UrlResolver s3UrlResolver;
+    private final FileBlobRepository fileBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor variantExecutor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final float jpegQuality;
+    private final long maxSourcePixels;
+    private final Duration retryAfter;
+    // Only PENDING can still change, it is re-read after a short TTL. READY, NONE and FAILED are final while the
+    // original exists, and so is a key without a blob (cached as NONE): those are kept until evicted or deleted
+    private final Cache<String, ImageVariantStatus> statuses;
+    private final Counter generated;
+    private final Counter failed;
+    private final Counter rejected;
+
+    public ImageVariantServiceImpl(S3Client s3Client,
+                                   S3UrlResolver s3UrlResolver,
+                                   FileBlobRepository fileBlobRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.image-variants.threads:2}") int threads,
+                                   @Value("${app.image-variants.queue-capacity:100}") int queueCapacity,
+                                   @Value("${app.image-variants.jpeg-quality:0.82}") float jpegQuality,
+                                   @Value("${app.image-variants.max-source-pixels:50000000}") long maxSourcePixels,
+                                   @Value("${app.image-variants.retry-after:2m}") Duration retryAfter,
+                                   @Value("${app.image-variants.status-cache.not-ready-ttl:30s}") Duration notReadyTtl,
+                                   @Value("${app.image-variants.status-cache.max-entries:50000}") int maxCachedStatuses) {
+        this.s3Client = s3Client;
+        this.s3UrlResolver = s3UrlResolver;
+        this.fileBlobRepository = fileBlobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jpegQuality = jpegQuality;
+        this.maxSourcePixels = maxSourcePixels;
+        this.retryAfter = retryAfter;
+        this.statuses = CacheUtils.boundedTtlCache(maxCachedStatuses,
+                                                   (objectKey, status) -> status == ImageVariantStatus.PENDING
+                                                           ? notReadyTtl
+                                                           : ChronoUnit.FOREVER.getDuration());
+        // Decoding is CPU and memory heavy: few threads and a bounded queue, overflow waits for the next sweep
+        this.variantExecutor = new ThreadPoolExecutor(threads, threads,
+                                                      0L, TimeUnit.MILLISECONDS,
+                                                      new ArrayBlockingQueue<>(queueCapacity),
+                                                      new CustomizableThreadFactory("image-variant-"),
+                                                      new ThreadPoolExecutor.AbortPolicy());
+
+        // Images are read from and written to byte arrays, no need for ImageIO's temp file cache
+        ImageIO.setUseCache(false);
+
+        Gauge.builder("studyhub.image_variants.queued", variantExecutor, executor -> executor.getQueue().size())
+             .description("Images waiting for variant generation")
+             .register(meterRegistry);
+        this.generated = meterRegistry.counter("studyhub.image_variants.generated");
+        this.failed = meterRegistry.counter("studyhub.image_variants.failed");
+        this.rejected = meterRegistry.counter("studyhub.image_variants.rejected");
+    }
+
+    @PreDestroy
+    public void shutdownVariantExecutor() {
+        variantExecutor.shutdown();
+    }
+
+    @Override
+    public boolean supports(String contentType) {
+        return contentType != null && SUPPORTED_TYPES.contains(contentType.toLowerCase());
+    }
+
+    @Override
+    public void generateVariants(String objectKey) {
+        if (!inFlight.add(objectKey)) {
+            return;
+        }
+
+        try {
+            variantExecutor.execute(() -> {
+                try {
+                    generate(objectKey);
+                } finally {
+                    inFlight.remove(objectKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(objectKey);
+            rejected.increment();
+            log.debug("Image variant queue is full, {} is left for the next sweep", objectKey);
+        }
+    }
+
+    @Override
+    public int generatePendingVariants() {
+        int capacity = variantExecutor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return 0;
+        }
+
+        // Fresh uploads are queued by the upload itself
+        List<String> pending = fileBlobRepository.findUploadedObjectKeysByVariantStatus(ImageVariantStatus.PENDING,
+                                                                                        Instant.now().minus(retryAfter),
+                                                                                        PageRequest.of(0, capacity));
+        pending.forEach(this::generateVariants);
+        return pending.size();
+    }
+
+    @Override
+    public String resolveUrl(String fileUrl, ImageVariant variant) {
+        String objectKey = s3UrlResolver.objectKey(fileUrl);
+        if (objectKey == null || objectKey.startsWith(VARIANT_PREFIX) || !isReady(objectKey)) {
+            return fileUrl;
+        }
+        return s3UrlResolver.publicUrl(variantKey(objectKey, variant));
+    }
+
+    @Override
+    public void preloadStatuses(Collection<String> fileUrls) {
+        Set<String> missing = new HashSet<>();
+        for (String fileUrl : fileUrls) {
+            String objectKey = s3UrlResolver.objectKey(fileUrl);
+            if (objectKey != null && !objectKey.startsWith(VARIANT_PREFIX) && statuses.getIfPresent(objectKey) == null) {
+                missing.add(objectKey);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Map<String, ImageVariantStatus> found = new HashMap<>();
+        for (Object[] row : fileBlobRepository.findVariantStatusByObjectKeyIn(missing)) {
+            if (row[1] != null) {
+                found.put((String) row[0], (ImageVariantStatus) row[1]);
+            }
+        }
+        missing.forEach(objectKey -> statuses.put(objectKey, found.getOrDefault(objectKey, ImageVariantStatus.NONE)));
+    }
+
+    @Override
+    public void deleteVariants(Collection<String> objectKeys) {
+        List<ObjectIdentifier> variants = new ArrayList<>(objectKeys.size() * ImageVariant.values().length);
+        for (String objectKey : objectKeys) {
+            statuses.invalidate(objectKey);
+            for (ImageVariant variant : ImageVariant.values()) {
+                variants.add(ObjectIdentifier.builder().key(variantKey(objectKey, variant)).build());
+            }
+        }
+
+        for (int from = 0; from < variants.size(); from += DELETE_BATCH_SIZE) {
+            List<ObjectIdentifier> batch = variants.subList(from, Math.min(from + DELETE_BATCH_SIZE, variants.size()));
+            try {
+                DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                                                                                            .bucket(s3UrlResolver.bucket())
+                                                                                            .delete(Delete.builder()
+                                                                                                          .objects(batch)
+                                                                                                          .quiet(true)
+                                                                                                          .build())
+                                                                                            .build());
+                response.errors().forEach(error -> log.warn("Could not delete image variant {}: {}", error.key(), error.message()));
+            } catch (RuntimeException e) {
+                log.warn("Could not delete {} image variants", batch.size(), e);
+            }
+        }
+    }
+
+    // ==================== GENERATION ====================
+
+    private void generate(String objectKey) {
+        long start = System.currentTimeMillis();
+        try {
+            BufferedImage image;
+            try {
+                byte[] content = s3Client.getObjectAsBytes(GetObjectRequest.builder()
+                                                                           .bucket(s3UrlResolver.bucket())
+                                                                           .key(objectKey)
+                                                                           .build())
+                                         .asByteArray();
+                image = decode(content);
+            } catch (NoSuchKeyException | IOException e) {
+                log.warn("Cannot generate variants for {}: {}", objectKey, e.getMessage());
+                failed.increment();
+                transactionTemplate.executeWithoutResult(status -> fileBlobRepository.updateVariantStatus(
+                        objectKey, ImageVariantStatus.PENDING, ImageVariantStatus.FAILED));
+                return;
+            }
+
+            // Largest first, each variant is scaled down from the previous one
+            List<ImageVariant> variants = new ArrayList<>(List.of(ImageVariant.values()));
+            variants.sort((left, right) -> Integer.compare(right.getMaxDimension(), left.getMaxDimension()));
+            for (ImageVariant variant : variants) {
+                image = scale(image, variant.getMaxDimension());
+                byte[] jpeg = encodeJpeg(image);
+                s3Client.putObject(PutObjectRequest.builder()
+                                                   .bucket(s3UrlResolver.bucket())
+                                                   .key(variantKey(objectKey, variant))
+                                                   .contentType(VARIANT_CONTENT_TYPE)
+                                                   .contentLength((long) jpeg.length)
+                                                   .cacheControl(VARIANT_CACHE_CONTROL)
+                                                   .build(),
+                                   RequestBody.fromBytes(jpeg));
+            }
+
+            Integer updated = transactionTemplate.execute(status -> fileBlobRepository.updateVariantStatus(
+                    objectKey, ImageVariantStatus.PENDING, ImageVariantStatus.READY));
+            if (updated == null || updated == 0) {
+                // The original was deleted while its variants were being written
+                deleteVariants(List.of(objectKey));
+                return;
+            }
+
+            statuses.invalidate(objectKey);
+            generated.increment();
+            log.debug("Generated variants for {} in {} ms", objectKey, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            // Left pending, retried by the next sweep
+            log.error("Error generating variants for {}", objectKey, e);
+        }
+    }
+
+    /**
+     * Decode with source subsampling so a large photo is never fully expanded in memory
+     */
+    private BufferedImage decode(byte[] content) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    throw new IOException("Image is too large: " + width + "x" + height);
+                }
+
+                // Keep about twice the largest variant, enough for a clean downscale
+                int subsampling = Math.max(1, Math.max(width, height) / (ImageVariant.DETAIL.getMaxDimension() * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                BufferedImage image = reader.read(0, param);
+                if (image == null) {
+                    throw new IOException("Image could not be decoded");
+                }
+                return image;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Fit inside maxDimension without upscaling, halving step by step because one bilinear pass over a large ratio aliases.
+     * The result is always an opaque RGB image ready for JPEG.
+     */
+    private static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        do {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = Math.max(targetHeight, current.getHeight() / 2);
+            current = draw(current, width, height);
+        } while (current.getWidth() != targetWidth || current.getHeight() != targetHeight);
+
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no alpha, transparent PNG/GIF pixels end up white
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new IllegalStateException("JPEG encoding failed", e);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private static String variantKey(String objectKey, ImageVariant variant) {
+        int lastSlash = objectKey.lastIndexOf('/');
+        int lastDot = objectKey.lastIndexOf('.');
+        String base = lastDot > lastSlash ? objectKey.substring(0, lastDot) : objectKey;
+        return VARIANT_PREFIX + base + "/" + variant.getSuffix() + VARIANT_EXTENSION;
+    }
+
+    // ==================== STATUS CACHE ====================
+
+    private boolean isReady(String objectKey) {
+        ImageVariantStatus status = statuses.getIfPresent(objectKey);
+        if (status == null) {
+            // Read outside the cache's compute, a slow query must not block writes to other keys
+            status = fileBlobRepository.findVariantStatusByObjectKey(objectKey).orElse(ImageVariantStatus.NONE);
+            statuses.put(objectKey, status);
+        }
+        return status == ImageVariantStatus.READY;
+    }
+}
@@ -1,34 +1,78 @@
 package com.backend.study_hub_api.service.impl;
 
+import com.backend.study_hub_api.config.jwt.SecurityUtils;
+import com.backend.study_hub_api.dto.NotificationCountDTO;
 import com.backend.study_hub_api.dto.NotificationDTO;
+import com.backend.study_hub_api.dto.NotificationSummaryDTO;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
+import com.backend.study_hub_api.dto.criteria.NotificationFilterCriteria;
+import com.backend.study_hub_api.helper.enumeration.ImageVariant;
+import com.backend.study_hub_api.helper.exception.BadRequestException;
+import com.backend.study_hub_api.helper.util.KeysetCursor;
+import com.backend.study_hub_api.helper.util.PageableBuilder;
+import com.backend.study_hub_api.helper.util.PaginationUtils;
+import com.backend.study_hub_api.helper.util.TransactionUtils;
 import com.backend.study_hub_api.mapper.OrderMapper;
 import com.backend.study_hub_api.model.Notification;
 import com.backend.study_hub_api.model.User;
 import com.backend.study_hub_api.repository.NotificationRepository;
+import com.backend.study_hub_api.repository.UserRepository;
 import com.backend.study_hub_api.service.*;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
+import static com.backend.study_hub_api.helper.constant.Message.PAGINATION_INVALID_CURSOR_ERROR;
+import static com.backend.study_hub_api.helper.constant.Message.USER_NOT_FOUND_ERROR;
+
+@Slf4j
 @Service
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final String USER_NOTIFICATION_DESTINATION = "/queue/notifications";
+
     SimpMessagingTemplate messagingTemplate;
+    SimpUserRegistry simpUserRegistry;
     UserService userService;
     NotificationRepository notificationRepository;
+    UserRepository userRepository;
     TopicService topicService;
     ProductService productService;
     OrderMapper orderMapper;
+    ImageVariantService imageVariantService;
 
     @Override
     public void sendNotificationToUser(Long userId, Object notification) {
+        // Sessions connected to this node, keyed by the user id bound on STOMP CONNECT
+        String user = String.valueOf(userId);
+        if (simpUserRegistry.getUser(user) == null) {
+            // Not connected here, the notification is read from the inbox
+            return;
+        }
 
+        // Entities are mapped to the inbox row while their transaction is still open, the push waits for the commit
+        Object payload = notification instanceof Notification entity ? convertToSummary(entity) : notification;
+        TransactionUtils.afterCommit(() -> {
+            try {
+                messagingTemplate.convertAndSendToUser(user, USER_NOTIFICATION_DESTINATION, payload);
+            } catch (RuntimeException e) {
+                log.warn("Failed to push notification to user {}", userId, e);
+            }
+        });
     }
 
     @Override
@@ -44,6 +88,23 @@ public class NotificationServiceImpl implements NotificationService {
         );
     }
 
+    @Override
+    @Transactional
+    public Notification saveNotification(Notification notification) {
+        if (notification.getIsRead() == null) {
+            notification.setIsRead(false);
+        }
+
+        Notification savedNotification = notificationRepository.save(notification);
+        Long recipientId = savedNotification.getRecipient().getId();
+        if (!savedNotification.getIsRead()) {
+            userRepository.addUnreadNotificationCount(recipientId, 1);
+        }
+
+        sendNotificationToUser(recipientId, savedNotification);
+        return savedNotification;
+    }
+
     @Override
     public List<NotificationDTO> getUserNotifications() {
         User currentUser = userService.getCurrentUser();
@@ -53,6 +114,115 @@ public class NotificationServiceImpl implements NotificationService {
                                      .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPaginationDTO<NotificationSummaryDTO> getInbox(NotificationFilterCriteria criteria) {
+        Long recipientId = getCurrentUserId();
+        int pageSize = PageableBuilder.resolvePageSize(criteria.getSize());
+        // One extra row tells whether there is a next page
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        boolean unreadOnly = Boolean.TRUE.equals(criteria.getUnreadOnly());
+
+        KeysetCursor cursor = KeysetCursor.decode(criteria.getCursor(), criteria.getSortBy(), criteria.getSortDirection());
+        List<NotificationSummaryDTO> rows;
+        if (cursor == null) {
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadInbox(recipientId, limit)
+                    : notificationRepository.findInbox(recipientId, limit);
+        } else {
+            Instant createdAt = parseCursorCreatedAt(cursor);
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadInboxBefore(recipientId, createdAt, cursor.getId(), limit)
+                    : notificationRepository.findInboxBefore(recipientId, createdAt, cursor.getId(), limit);
+        }
+
+        return PaginationUtils.createCursorResponse(rows,
+                                                    pageSize,
+                                                    criteria.getSortBy(),
+                                                    criteria.getSortDirection(),
+                                                    this::withAvatarVariants,
+                                                    null);
+    }
+
+    @Override
+    @Transactional
+    public NotificationCountDTO getUnreadCount() {
+        return NotificationCountDTO.builder()
+                                   .unread(readUnreadCount(getCurrentUserId()))
+                                   .build();
+    }
+
+    @Override
+    @Transactional
+    public NotificationCountDTO markAsRead(List<Long> ids) {
+        Long recipientId = getCurrentUserId();
+        // Only rows that were unread are updated, so the counter moves by exactly the number of rows changed
+        int updated = CollectionUtils.isEmpty(ids)
+                ? notificationRepository.markAllAsRead(recipientId)
+                : notificationRepository.markAsRead(recipientId, ids);
+        if (updated > 0) {
+            userRepository.addUnreadNotificationCount(recipientId, -updated);
+        }
+
+        return NotificationCountDTO.builder()
+                                   .unread(readUnreadCount(recipientId))
+                                   .build();
+    }
+
+    private Integer readUnreadCount(Long userId) {
+        return userRepository.findUnreadNotificationCount(userId)
+                             .orElseGet(() -> {
+                                 userRepository.initUnreadNotificationCount(userId);
+                                 return userRepository.findUnreadNotificationCount(userId).orElse(0);
+                             });
+    }
+
+    private Long getCurrentUserId() {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new BadRequestException(USER_NOT_FOUND_ERROR);
+        }
+        return userId;
+    }
+
+    private Instant parseCursorCreatedAt(KeysetCursor cursor) {
+        try {
+            return Instant.parse(cursor.getValue());
+        } catch (NullPointerException | DateTimeParseException e) {
+            throw new BadRequestException(PAGINATION_INVALID_CURSOR_ERROR);
+        }
+    }
+
+    private List<NotificationSummaryDTO> withAvatarVariants(List<NotificationSummaryDTO> summaries) {
+        imageVariantService.preloadStatuses(summaries.stream().map(NotificationSummaryDTO::getSenderAvatarUrl).toList());
+        return summaries.stream().map(this::withAvatarVariant).toList();
+    }
+
+    private NotificationSummaryDTO withAvatarVariant(NotificationSummaryDTO summary) {
+        summary.setSenderAvatarUrl(imageVariantService.resolveUrl(summary.getSenderAvatarUrl(), ImageVariant.THUMBNAIL));
+        return summary;
+    }
+
+    // Topic, product, order and comment are only read for their ids, which does not initialize the proxies
+    private NotificationSummaryDTO convertToSummary(Notification notification) {
+        User sender = notification.getSender();
+        return withAvatarVariant(NotificationSummaryDTO.builder()
+                                                       .id(notification.getId())
+                                                       .type(notification.getType())
+                                                       .title(notification.getTitle())
+                                                       .content(notification.getContent())
+                                                       .isRead(notification.getIsRead())
+                                                       .createdAt(notification.getCreatedAt())
+                                                       .senderId(sender != null ? sender.getId() : null)
+                                                       .senderName(sender != null ? sender.getFullName() : null)
+                                                       .senderAvatarUrl(sender != null ? sender.getAvatarUrl() : null)
+                                                       .topicId(notification.getTopic() != null ? notification.getTopic().getId() : null)
+                                                       .productId(notification.getProduct() != null ? notification.getProduct().getId() : null)
+                                                       .orderId(notification.getOrder() != null ? notification.getOrder().getId() : null)
+                                                       .commentId(notification.getComment() != null ? notification.getComment().getId() : null)
+                                                       .build());
+    }
+
     private NotificationDTO convertToDTO(Notification notification) {
         return NotificationDTO.builder()
                               .id(notification.getId())
@@ -67,5 +237,4 @@ public class NotificationServiceImpl implements NotificationService {
                               .order(notification.getOrder() != null ? orderMapper.toDTO(notification.getOrder()) : null)
                               .build();
     }
-
 }
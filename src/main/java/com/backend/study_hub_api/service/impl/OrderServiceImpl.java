@@ -10,7 +10,6 @@ import com.backend.study_hub_api.helper.enumeration.OrderStatus;
 import com.backend.study_hub_api.helper.exception.BadRequestException;
 import com.backend.study_hub_api.mapper.OrderMapper;
 import com.backend.study_hub_api.model.*;
-import com.backend.study_hub_api.repository.NotificationRepository;
 import com.backend.study_hub_api.repository.OrderRepository;
 import com.backend.study_hub_api.repository.ProductRepository;
 import com.backend.study_hub_api.service.NotificationService;
@@ -40,7 +39,6 @@ public class OrderServiceImpl implements OrderService {
     ProductService productService;
     OrderMapper orderMapper;
     NotificationService notificationService;
-    NotificationRepository notificationRepository;
 
     @Override
     @Transactional
@@ -269,8 +267,7 @@ public class OrderServiceImpl implements OrderService {
                                                 .isRead(false)
                                                 .build();
 
-        notificationRepository.save(notification);
-        notificationService.sendNotificationToUser(order.getSeller().getId(), notification);
+        notificationService.saveNotification(notification);
     }
 
     private OrderCountDTO buildOrderCountDTO(Map<OrderStatus, Long> counts) {
@@ -0,0 +1,245 @@
+package com.backend.study_hub_api.service.impl;
+
+import com.backend.study_hub_api.dto.EmailOutboxPayload;
+import com.backend.study_hub_api.helper.enumeration.OutboxMessageType;
+import com.backend.study_hub_api.helper.enumeration.OutboxStatus;
+import com.backend.study_hub_api.model.OutboxMessage;
+import com.backend.study_hub_api.repository.OutboxMessageRepository;
+import com.backend.study_hub_api.service.EmailService;
+import com.backend.study_hub_api.service.MailDispatcher;
+import com.backend.study_hub_api.service.OutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Transactional outbox: messages are inserted with the business change and delivered by a polling dispatcher.
+ * Due rows are claimed with FOR UPDATE SKIP LOCKED and leased by moving next_attempt_at forward, so several
+ * dispatchers (nodes) share the table without sending twice and without holding row locks during SMTP I/O.
+ * Claimed emails are handed to the MailDispatcher and each outcome is written back when its send completes.
+ */
+@Slf4j
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final EmailService emailService;
+    private final MailDispatcher mailDispatcher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration sentRetention;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter deadLettered;
+
+    public OutboxServiceImpl(OutboxMessageRepository outboxMessageRepository,
+                             EmailService emailService,
+                             MailDispatcher mailDispatcher,
+                             ObjectMapper objectMapper,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.outbox.batch-size:50}") int batchSize,
+                             @Value("${app.outbox.max-attempts:5}") int maxAttempts,
+                             @Value("${app.outbox.lease:5m}") Duration lease,
+                             @Value("${app.outbox.initial-backoff:10s}") Duration initialBackoff,
+                             @Value("${app.outbox.max-backoff:30m}") Duration maxBackoff,
+                             @Value("${app.outbox.sent-retention:7d}") Duration sentRetention) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.emailService = emailService;
+        this.mailDispatcher = mailDispatcher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.sentRetention = sentRetention;
+        // A message still throttled when its lease runs out would be claimed again and sent twice
+        if (lease.compareTo(mailDispatcher.maxThrottleDelay()) <= 0) {
+            throw new IllegalArgumentException("app.outbox.lease must be longer than app.mail.dispatcher.max-throttle-delay");
+        }
+
+        this.sent = meterRegistry.counter("studyhub.outbox.sent");
+        this.retried = meterRegistry.counter("studyhub.outbox.retried");
+        this.deadLettered = meterRegistry.counter("studyhub.outbox.dead_lettered");
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxMessageType type, Object payload, Instant expiresAt) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload of type " + type + " is not serializable", e);
+        }
+
+        outboxMessageRepository.save(OutboxMessage.builder()
+                                                  .type(type)
+                                                  .payload(json)
+                                                  .status(OutboxStatus.PENDING)
+                                                  .attempts(0)
+                                                  .nextAttemptAt(Instant.now())
+                                                  .expiresAt(expiresAt)
+                                                  .build());
+    }
+
+    @Override
+    public int dispatchDueMessages() {
+        int processed = 0;
+        while (true) {
+            // Never claim more than the mail queue can take, the rest stays due for the next poll
+            int limit = Math.min(batchSize, mailDispatcher.remainingCapacity());
+            if (limit == 0) {
+                break;
+            }
+
+            List<OutboxMessage> batch = claimBatch(limit);
+            batch.forEach(this::deliver);
+            processed += batch.size();
+            if (batch.size() < limit) {
+                break;
+            }
+        }
+        return processed;
+    }
+
+    @Override
+    @Transactional
+    public int purgeSentMessages() {
+        return outboxMessageRepository.deleteProcessedBefore(OutboxStatus.SENT, Instant.now().minus(sentRetention));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private List<OutboxMessage> claimBatch(int limit) {
+        List<OutboxMessage> batch = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxMessage> due = outboxMessageRepository.lockDueMessages(now, limit);
+            for (OutboxMessage message : due) {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(now.plus(lease));
+            }
+            return due;
+        });
+        return batch != null ? batch : Collections.emptyList();
+    }
+
+    /**
+     * Hand the message to the mail dispatcher, the outcome is recorded when the send completes
+     */
+    private void deliver(OutboxMessage message) {
+        if (message.getExpiresAt() != null && message.getExpiresAt().isBefore(Instant.now())) {
+            deadLetter(message, "Expired before delivery");
+            return;
+        }
+
+        CompletableFuture<Void> result;
+        try {
+            result = send(message);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Poison message, retrying cannot fix the payload
+            deadLetter(message, "Invalid payload: " + e.getMessage());
+            return;
+        }
+
+        result.whenComplete((ignored, error) -> {
+            Throwable failure = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            try {
+                if (failure == null) {
+                    markSent(message);
+                } else if (failure instanceof TimeoutException) {
+                    deadLetter(message, "Expired before delivery");
+                } else if (failure instanceof RejectedExecutionException) {
+                    // Not attempted (queue full or domain rate limited), give the attempt back and retry shortly
+                    reschedule(message, message.getAttempts() - 1, Instant.now().plus(initialBackoff), failure.getMessage());
+                } else {
+                    retryOrDeadLetter(message, failure);
+                }
+            } catch (RuntimeException e) {
+                // The lease expires and the message is claimed again
+                log.error("Failed to record outcome of outbox message {}", message.getId(), e);
+            }
+        });
+    }
+
+    private CompletableFuture<Void> send(OutboxMessage message) throws JsonProcessingException {
+        EmailOutboxPayload payload = objectMapper.readValue(message.getPayload(), EmailOutboxPayload.class);
+        return switch (message.getType()) {
+            case VERIFICATION_EMAIL -> emailService.sendVerificationEmail(
+                    payload.getToEmail(), payload.getFullName(), payload.getOtpCode(), message.getExpiresAt());
+            case PASSWORD_RESET_EMAIL -> emailService.sendPasswordResetEmail(
+                    payload.getToEmail(), payload.getFullName(), payload.getOtpCode(), message.getExpiresAt());
+        };
+    }
+
+    private void markSent(OutboxMessage message) {
+        Integer updated = transactionTemplate.execute(status -> outboxMessageRepository.markProcessed(
+                message.getId(), OutboxStatus.SENT, Instant.now(), null));
+        if (updated != null && updated > 0) {
+            sent.increment();
+        }
+    }
+
+    private void retryOrDeadLetter(OutboxMessage message, Throwable failure) {
+        if (message.getAttempts() >= maxAttempts) {
+            deadLetter(message, failure.getMessage());
+            return;
+        }
+
+        // Exponential backoff: initial, 2x, 4x... capped
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(message.getAttempts() - 1, 20));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+        reschedule(message, message.getAttempts(), Instant.now().plus(backoff), failure.getMessage());
+        retried.increment();
+        log.warn("Outbox message {} failed (attempt {}/{}), retrying in {}",
+                 message.getId(), message.getAttempts(), maxAttempts, backoff);
+    }
+
+    private void reschedule(OutboxMessage message, int attempts, Instant nextAttemptAt, String error) {
+        transactionTemplate.executeWithoutResult(status -> outboxMessageRepository.reschedule(
+                message.getId(), attempts, nextAttemptAt, truncate(error)));
+    }
+
+    private void deadLetter(OutboxMessage message, String reason) {
+        transactionTemplate.executeWithoutResult(status -> outboxMessageRepository.markProcessed(
+                message.getId(), OutboxStatus.DEAD, Instant.now(), truncate(reason)));
+        deadLettered.increment();
+        log.error("Outbox message {} of type {} dead-lettered after {} attempts: {}",
+                  message.getId(), message.getType(), message.getAttempts(), reason);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
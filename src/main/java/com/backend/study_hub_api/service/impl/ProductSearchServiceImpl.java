@@ -0,0 +1,252 @@
+package com.backend.study_hub_api.service.impl;
+
+import com.backend.study_hub_api.helper.util.TransactionUtils;
+import com.backend.study_hub_api.service.ProductSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index of AVAILABLE products over title, description, address, seller name and category name.
+ * Tokens are lower-cased and diacritic-folded ("Sách Toán" -> "sach", "toan") and matched by prefix.
+ */
+@Slf4j
+@Service
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private static final String SELECT_DOCUMENTS_SQL =
+            "SELECT p.id, p.status, p.title, p.description, p.address, u.full_name, c.name AS category_name " +
+            "FROM t_products p " +
+            "LEFT JOIN t_users u ON u.id = p.seller_id " +
+            "LEFT JOIN t_categories c ON c.id = p.category_id ";
+
+    private static final String AVAILABLE_STATUS = "AVAILABLE";
+    private static final int REBUILD_FETCH_SIZE = 1000;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private IndexData index = new IndexData();
+    private volatile boolean ready = false;
+
+    // Products changed while a rebuild is streaming, re-read after the new index is swapped in
+    private volatile Set<Long> changedDuringRebuild;
+
+    public ProductSearchServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<Long> search(String keyword) {
+        List<String> tokens = tokenize(keyword);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            return index.search(tokens);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+        try {
+            IndexData rebuilt = new IndexData();
+            // PostgreSQL only streams with a fetch size inside a transaction, otherwise the whole table is buffered
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_DOCUMENTS_SQL + "WHERE p.status = ?");
+                statement.setFetchSize(REBUILD_FETCH_SIZE);
+                statement.setString(1, AVAILABLE_STATUS);
+                return statement;
+            }, (RowCallbackHandler) rs -> rebuilt.put(rs.getLong("id"), documentTerms(rs))));
+
+            lock.writeLock().lock();
+            try {
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+
+            Set<Long> changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            changed.forEach(this::reindex);
+
+            log.info("Product search index rebuilt with {} products in {} ms",
+                     rebuilt.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            changedDuringRebuild = null;
+            log.error("Failed to rebuild product search index, search stays on the database", e);
+        }
+    }
+
+    @Override
+    public void refreshProduct(Long productId) {
+        TransactionUtils.afterCommit(() -> reindex(productId));
+    }
+
+    @Override
+    public void removeProduct(Long productId) {
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                index.remove(productId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            markChanged(productId);
+        });
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private void reindex(Long productId) {
+        try {
+            List<Set<String>> documents = jdbcTemplate.query(
+                    SELECT_DOCUMENTS_SQL + "WHERE p.id = ? AND p.status = ?",
+                    (rs, rowNum) -> documentTerms(rs),
+                    productId, AVAILABLE_STATUS);
+
+            lock.writeLock().lock();
+            try {
+                if (documents.isEmpty()) {
+                    index.remove(productId);
+                } else {
+                    index.put(productId, documents.get(0));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            markChanged(productId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh product {} in search index", productId, e);
+        }
+    }
+
+    private void markChanged(Long productId) {
+        Set<Long> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(productId);
+        }
+    }
+
+    private static Set<String> documentTerms(ResultSet rs) throws SQLException {
+        Set<String> terms = new HashSet<>();
+        terms.addAll(tokenize(rs.getString("title")));
+        terms.addAll(tokenize(rs.getString("description")));
+        terms.addAll(tokenize(rs.getString("address")));
+        terms.addAll(tokenize(rs.getString("full_name")));
+        terms.addAll(tokenize(rs.getString("category_name")));
+        return terms;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD))
+                                  .replaceAll("")
+                                  .replace('đ', 'd');
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Postings sorted by term so a prefix is a contiguous range, not thread-safe (guarded by the service lock)
+     */
+    private static final class IndexData {
+
+        private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+        private final Map<Long, Set<String>> documents = new HashMap<>();
+
+        int size() {
+            return documents.size();
+        }
+
+        void put(Long productId, Set<String> terms) {
+            remove(productId);
+            documents.put(productId, terms);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new HashSet<>()).add(productId);
+            }
+        }
+
+        void remove(Long productId) {
+            Set<String> terms = documents.remove(productId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Set<Long> ids = postings.get(term);
+                if (ids != null) {
+                    ids.remove(productId);
+                    if (ids.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        List<Long> search(List<String> tokens) {
+            // Match each token as a prefix, then intersect starting from the smallest posting list
+            List<Set<Long>> matches = new ArrayList<>();
+            for (String token : new LinkedHashSet<>(tokens)) {
+                Set<Long> ids = new HashSet<>();
+                postings.subMap(token, true, token + Character.MAX_VALUE, false)
+                        .values()
+                        .forEach(ids::addAll);
+                if (ids.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                matches.add(ids);
+            }
+            matches.sort(Comparator.comparingInt(Set::size));
+
+            Set<Long> result = new HashSet<>(matches.get(0));
+            for (int i = 1; i < matches.size() && !result.isEmpty(); i++) {
+                result.retainAll(matches.get(i));
+            }
+
+            List<Long> ids = new ArrayList<>(result);
+            ids.sort(Comparator.reverseOrder());
+            return ids;
+        }
+    }
+}
@@ -1,42 +1,65 @@
 package com.backend.study_hub_api.service.impl;
 
 import com.backend.study_hub_api.dto.CategoryDTO;
+import com.backend.study_hub_api.dto.FileUploadDTO;
 import com.backend.study_hub_api.dto.ProductDTO;
 import com.backend.study_hub_api.dto.UserDTO;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
 import com.backend.study_hub_api.dto.common.PaginationDTO;
 import com.backend.study_hub_api.dto.criteria.ProductFilterCriteria;
+import com.backend.study_hub_api.helper.enumeration.ImageVariant;
 import com.backend.study_hub_api.helper.enumeration.ProductStatus;
+import com.backend.study_hub_api.helper.enumeration.UploadTarget;
 import com.backend.study_hub_api.helper.exception.BadRequestException;
+import com.backend.study_hub_api.helper.util.KeysetCursor;
+import com.backend.study_hub_api.helper.util.PageableBuilder;
 import com.backend.study_hub_api.helper.util.PaginationUtils;
+import com.backend.study_hub_api.helper.util.TopRankingSnapshot;
 import com.backend.study_hub_api.model.Category;
 import com.backend.study_hub_api.model.Product;
 import com.backend.study_hub_api.model.ProductImage;
 import com.backend.study_hub_api.model.User;
+import com.backend.study_hub_api.repository.ProductImageRepository;
 import com.backend.study_hub_api.repository.ProductRepository;
 import com.backend.study_hub_api.service.CategoryService;
 import com.backend.study_hub_api.service.FileUploadService;
+import com.backend.study_hub_api.service.ImageVariantService;
+import com.backend.study_hub_api.service.PaginationQueryService;
+import com.backend.study_hub_api.service.ProductSearchService;
 import com.backend.study_hub_api.service.ProductService;
 import com.backend.study_hub_api.service.UserService;
+import com.backend.study_hub_api.service.ViewCountService;
 import com.backend.study_hub_api.specification.ProductSpecification;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import org.springframework.data.domain.Page;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.backend.study_hub_api.helper.constant.Message.*;
 
+@Slf4j
 @Service
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @RequiredArgsConstructor
@@ -47,75 +70,88 @@ public class ProductServiceImpl implements ProductService {
     UserService userService;
     FileUploadService fileUploadService;
     ProductSpecification productSpecification;
+    ViewCountService viewCountService;
+    PaginationQueryService paginationQueryService;
+    ProductSearchService productSearchService;
+    ProductImageRepository productImageRepository;
+    TransactionTemplate transactionTemplate;
+    ImageVariantService imageVariantService;
+
+    // Served to every caller until the TTL passes or the view-count flush refreshes it
+    TopRankingSnapshot<ProductDTO.ProductSummaryResponse> topProducts =
+            new TopRankingSnapshot<>(TOP_PRODUCTS_TTL, this::loadTopProducts);
+
+    private static final int TOP_PRODUCTS_LIMIT = 10;
+    private static final int INDEX_STATUS_BATCH_SIZE = 1000;
+    private static final Duration TOP_PRODUCTS_TTL = Duration.ofMinutes(1);
 
     private static final String[] ALLOWED_IMAGE_TYPES = {
         "image/jpeg", "image/jpg", "image/png"
     };
 
+    private static final String PRODUCT_IMAGE_FOLDER = UploadTarget.PRODUCT_IMAGE.getFolder();
+
     private static final long MAX_FILE_SIZE_MB = 10;
     private static final int MAX_IMAGES_COUNT = 5;
 
+    /**
+     * Validate, upload the images in parallel outside any transaction, then insert the product and its images
+     * in one short transaction. If that transaction fails the uploaded images are deleted again.
+     */
     @Override
-    @Transactional
     public ProductDTO.ProductResponse createProduct(ProductDTO.CreateProductRequest request) {
-        User seller = userService.getCurrentUser();
-        Category category = categoryService.getCategoryByIdOrThrow(request.getCategoryId());
-
-        validateImageFiles(request.getImages());
-
-        Product product = Product.builder()
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .price(request.getPrice())
-                .condition(request.getCondition())
-                .address(request.getAddress())
-                .deliveryMethod(request.getDeliveryMethod())
-                .seller(seller)
-                .category(category)
-                .viewCount(0)
-                .build();
-
-        product = productRepository.save(product);
-
-        if (!CollectionUtils.isEmpty(request.getImages())) {
-            List<ProductImage> images = new ArrayList<>();
-            boolean isFirst = true;
-
-            for (MultipartFile imageFile : request.getImages()) {
-                if (!imageFile.isEmpty()) {
-                    String imageUrl = fileUploadService.uploadFile(
-                        imageFile,
-                        "products/images",
+        // Fail before uploading anything
+        userService.getCurrentUser();
+        categoryService.getCategoryByIdOrThrow(request.getCategoryId());
+        validateImageFiles(request.getImages(), request.getImageKeys());
+
+        List<FileUploadDTO.FileUploadResponse> confirmedImages = new ArrayList<>();
+        List<FileUploadDTO.FileUploadResponse> uploadedImages = new ArrayList<>();
+        try {
+            // Images the client uploaded directly with presigned URLs, checked against what S3 actually stored
+            confirmedImages.addAll(fileUploadService.confirmUploads(request.getImageKeys(), UploadTarget.PRODUCT_IMAGE));
+
+            // Multipart images are uploaded in parallel, all of them or none
+            if (!CollectionUtils.isEmpty(request.getImages())) {
+                uploadedImages.addAll(fileUploadService.uploadMultipleFiles(
+                        request.getImages(),
+                        PRODUCT_IMAGE_FOLDER,
                         ALLOWED_IMAGE_TYPES
-                    ).getFileUrl();
-
-                    ProductImage image = ProductImage.builder()
-                            .imageUrl(imageUrl)
-                            .isPrimary(isFirst)
-                            .product(product)
-                            .build();
-                    images.add(image);
-                    isFirst = false;
-                }
+                ).getFiles());
             }
 
-            product.setImages(images);
+            List<FileUploadDTO.FileUploadResponse> images = new ArrayList<>(confirmedImages);
+            images.addAll(uploadedImages);
+            return transactionTemplate.execute(status -> saveProductWithImages(request, images));
+        } catch (RuntimeException e) {
+            // Direct uploads are only unregistered, the client still owns them
+            log.warn("Product creation failed, releasing {} confirmed and deleting {} uploaded images",
+                     confirmedImages.size(), uploadedImages.size());
+            fileUploadService.releaseConfirmedUploads(confirmedImages);
+            uploadedImages.forEach(image -> fileUploadService.deleteFile(image.getFileUrl()));
+            throw e;
         }
+    }
 
-        product = productRepository.save(product);
-
-        return mapToProductResponse(product);
+    @Override
+    public int deleteOrphanedImages(Instant uploadedBefore) {
+        return fileUploadService.deleteUnreferencedFiles(
+                PRODUCT_IMAGE_FOLDER,
+                uploadedBefore,
+                productImageRepository::findAllImageUrls
+        );
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public ProductDTO.ProductResponse getProductById(Long id) {
         Product product = getProductByIdOrThrow(id);
 
-        product.setViewCount(product.getViewCount() + 1);
-        productRepository.save(product);
+        viewCountService.recordProductView(product.getId());
 
-        return mapToProductResponse(product);
+        ProductDTO.ProductResponse response = mapToProductResponse(product);
+        response.setViewCount(product.getViewCount() + (int) viewCountService.getPendingProductViews(product.getId()));
+        return response;
     }
 
     @Override
@@ -134,28 +170,44 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public List<ProductDTO.ProductSummaryResponse> getAllProducts() {
-        return productRepository.findAll()
-                                .stream()
-                                .map(this::mapToProductSummaryResponse)
-                                .toList();
+        return mapToProductSummaries(productRepository.findAll());
     }
 
     @Override
     public PaginationDTO<ProductDTO.ProductSummaryResponse> getProductsWithFilter(ProductFilterCriteria criteria) {
-        Specification<Product> specification = productSpecification.build(criteria);
-
-        Sort.Direction direction = Sort.Direction.fromString(criteria.getSortDirection());
-        Pageable pageable = PageRequest.of(
-                criteria.getPage(),
-                criteria.getSize(),
-                Sort.by(direction, criteria.getSortBy())
-        );
+        if (canSearchFromIndex(criteria)) {
+            return searchProductsFromIndex(criteria);
+        }
 
-        Page<Product> productPage = productRepository.findAll(specification, pageable);
+        Specification<Product> specification = productSpecification.build(criteria);
 
-        Page<ProductDTO.ProductSummaryResponse> responsePage = productPage.map(this::mapToProductSummaryResponse);
+        return paginationQueryService.findPage(Product.class,
+                                               productRepository,
+                                               specification,
+                                               criteria,
+                                               this::mapToProductSummaries);
+    }
 
-        return PaginationUtils.createPaginationResponse(responsePage);
+    @Override
+    public CursorPaginationDTO<ProductDTO.ProductSummaryResponse> getProductsWithCursor(ProductFilterCriteria criteria) {
+        int pageSize = PageableBuilder.resolvePageSize(criteria.getSize());
+        String sortBy = PageableBuilder.resolveKeysetSortField(Product.class, criteria.getSortBy());
+        Sort sort = PageableBuilder.buildKeysetSort(sortBy, criteria.getSortDirection());
+        KeysetCursor cursor = KeysetCursor.decode(criteria.getCursor(), sortBy, criteria.getSortDirection());
+
+        Specification<Product> specification = productSpecification.buildAfter(criteria, cursor);
+        List<Product> rows = productRepository.findBy(specification, query -> query.sortBy(sort).limit(pageSize + 1).all());
+
+        Long totalElements = Boolean.TRUE.equals(criteria.getIncludeTotal())
+                ? paginationQueryService.countCached(Product.class, productRepository, productSpecification.build(criteria), criteria)
+                : null;
+
+        return PaginationUtils.createCursorResponse(rows,
+                                                    pageSize,
+                                                    sortBy,
+                                                    criteria.getSortDirection(),
+                                                    this::mapToProductSummaries,
+                                                    totalElements);
     }
 
     @Override
@@ -167,6 +219,53 @@ public class ProductServiceImpl implements ProductService {
                                                           .build());
     }
 
+    private boolean canSearchFromIndex(ProductFilterCriteria criteria) {
+        // Index results are ordered by id desc, which follows creation order
+        return productSearchService.isReady()
+                && criteria.isKeywordOnlySearch()
+                && "createdAt".equals(criteria.getSortBy())
+                && "DESC".equals(criteria.getSortDirection());
+    }
+
+    /**
+     * Keyword search answered by the in-memory index. The index of this node can still hold products sold or edited
+     * on another node until its next rebuild, so the matches are checked against the database before paging:
+     * pages stay full and the total only counts products that are still AVAILABLE.
+     */
+    private PaginationDTO<ProductDTO.ProductSummaryResponse> searchProductsFromIndex(ProductFilterCriteria criteria) {
+        Pageable pageable = PageableBuilder.build(Product.class, criteria);
+        List<Long> ids = availableIds(productSearchService.search(criteria.getSearchKeyword()));
+
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        List<Long> pageIds = ids.subList(from, to);
+
+        Map<Long, Product> productsById = productRepository.findAllById(pageIds)
+                                                           .stream()
+                                                           .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<ProductDTO.ProductSummaryResponse> items = mapToProductSummaries(
+                pageIds.stream()
+                       .map(productsById::get)
+                       .filter(product -> product != null && product.getStatus() == ProductStatus.AVAILABLE)
+                       .toList());
+
+        Slice<Long> slice = new SliceImpl<>(pageIds, pageable, to < ids.size());
+        return PaginationUtils.createPaginationResponse(slice, items, (long) ids.size());
+    }
+
+    /**
+     * The given ids that are AVAILABLE in the database, in the order of the index
+     */
+    private List<Long> availableIds(List<Long> ids) {
+        Set<Long> available = new HashSet<>(ids.size());
+        for (int from = 0; from < ids.size(); from += INDEX_STATUS_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + INDEX_STATUS_BATCH_SIZE, ids.size()));
+            available.addAll(productRepository.findIdsByIdInAndStatus(batch, ProductStatus.AVAILABLE));
+        }
+        return ids.stream().filter(available::contains).toList();
+    }
+
     @Override
     public ProductDTO.ProductResponse mapToProductResponse(Product product) {
         return ProductDTO.ProductResponse.builder()
@@ -190,22 +289,78 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public List<ProductDTO.ProductSummaryResponse> getTop10Products() {
-        return productRepository.findByStatusOrderByViewCountDesc(ProductStatus.AVAILABLE)
-                                .stream()
-                                .map(this::mapToProductSummaryResponse)
-                                .limit(10)
-                                .toList();
+        return topProducts.get();
     }
 
-    private void validateImageFiles(List<MultipartFile> images) {
-        if (CollectionUtils.isEmpty(images)) {
+    @Override
+    public void refreshTopProducts() {
+        topProducts.refreshIfLoaded();
+    }
+
+    /**
+     * Only the ten most viewed rows are read, images of those ten in one extra query
+     */
+    private List<ProductDTO.ProductSummaryResponse> loadTopProducts() {
+        List<ProductDTO.ProductSummaryResponse> summaries = transactionTemplate.execute(status -> {
+            List<Product> products = productRepository.findMostViewedByStatus(ProductStatus.AVAILABLE,
+                                                                              PageRequest.of(0, TOP_PRODUCTS_LIMIT));
+            if (products.isEmpty()) {
+                return List.<ProductDTO.ProductSummaryResponse>of();
+            }
+            productRepository.findWithImagesByIdIn(products.stream().map(Product::getId).toList());
+            return mapToProductSummaries(products);
+        });
+        return summaries != null ? summaries : List.of();
+    }
+
+    private ProductDTO.ProductResponse saveProductWithImages(ProductDTO.CreateProductRequest request,
+                                                            List<FileUploadDTO.FileUploadResponse> uploadedImages) {
+        // Loaded again inside the transaction, served from the persistence context when it is still open
+        User seller = userService.getCurrentUser();
+        Category category = categoryService.getCategoryByIdOrThrow(request.getCategoryId());
+
+        Product product = Product.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .price(request.getPrice())
+                .condition(request.getCondition())
+                .address(request.getAddress())
+                .deliveryMethod(request.getDeliveryMethod())
+                .seller(seller)
+                .category(category)
+                .viewCount(0)
+                .build();
+
+        List<ProductImage> images = new ArrayList<>();
+        for (int i = 0; i < uploadedImages.size(); i++) {
+            images.add(ProductImage.builder()
+                    .imageUrl(uploadedImages.get(i).getFileUrl())
+                    .isPrimary(i == 0)
+                    .product(product)
+                    .build());
+        }
+        product.setImages(images);
+
+        // Product and images are inserted together through the cascade
+        product = productRepository.save(product);
+
+        return mapToProductResponse(product);
+    }
+
+    private void validateImageFiles(List<MultipartFile> images, List<String> imageKeys) {
+        int imageCount = (images != null ? images.size() : 0) + (imageKeys != null ? imageKeys.size() : 0);
+        if (imageCount == 0) {
             throw new BadRequestException(PRODUCT_IMAGE_REQUIRED_ERROR);
         }
 
-        if (images.size() > MAX_IMAGES_COUNT) {
+        if (imageCount > MAX_IMAGES_COUNT) {
             throw new BadRequestException(PRODUCT_IMAGE_MAX_COUNT_ERROR);
         }
 
+        if (images == null) {
+            return;
+        }
+
         for (MultipartFile file : images) {
             if (file.isEmpty()) {
                 continue;
@@ -230,6 +385,11 @@ public class ProductServiceImpl implements ProductService {
                         .anyMatch(type -> type.equalsIgnoreCase(contentType));
     }
 
+    private List<ProductDTO.ProductSummaryResponse> mapToProductSummaries(List<Product> products) {
+        imageVariantService.preloadStatuses(products.stream().map(Product::getPrimaryImageUrl).toList());
+        return products.stream().map(this::mapToProductSummaryResponse).toList();
+    }
+
     private ProductDTO.ProductSummaryResponse mapToProductSummaryResponse(Product product) {
         return ProductDTO.ProductSummaryResponse.builder()
                                          .id(product.getId())
@@ -239,9 +399,9 @@ public class ProductServiceImpl implements ProductService {
                                          .condition(product.getCondition())
                                          .status(product.getStatus())
                                          .seller(userService.mapToDTO(product.getSeller()))
-                                         .primaryImageUrl(product.getPrimaryImageUrl())
+                                         .primaryImageUrl(imageVariantService.resolveUrl(product.getPrimaryImageUrl(), ImageVariant.LIST))
                                          .createdAt(product.getCreatedAt())
-                                         .categoryName(product.getCategory().getName())
+                                         .categoryName(categoryService.mapToDTO(product.getCategory()).getName())
                                          .build();
     }
 
@@ -0,0 +1,201 @@
+package com.backend.study_hub_api.service.impl;
+
+import com.backend.study_hub_api.dto.CommentDTO;
+import com.backend.study_hub_api.dto.TopicActivityDTO;
+import com.backend.study_hub_api.helper.util.TransactionUtils;
+import com.backend.study_hub_api.service.TopicActivityService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Pushes comment and reaction activity to /topic/topics/{id} so clients stop polling the topic and its comments.
+ * Subscriptions to those channels are counted per topic from the broker's session events, activity on topics nobody
+ * watches on this node is dropped before it is buffered. What is recorded for a watched topic is merged in memory
+ * and sent as one message per publish interval, a burst of reactions becomes a single counter update.
+ */
+@Slf4j
+@Service
+public class TopicActivityServiceImpl implements TopicActivityService {
+
+    private static final String DESTINATION_PREFIX = "/topic/topics/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int maxCommentsPerUpdate;
+
+    // sessionId -> subscriptionId -> topicId, to undo subscriptions on UNSUBSCRIBE and disconnect
+    private final Map<String, Map<String, Long>> subscriptionsBySession = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> watchers = new ConcurrentHashMap<>();
+    private final Map<Long, PendingActivity> pending = new ConcurrentHashMap<>();
+    private final Counter publishedUpdates;
+
+    public TopicActivityServiceImpl(SimpMessagingTemplate messagingTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.topic-activity.max-comments-per-update:20}") int maxCommentsPerUpdate) {
+        this.messagingTemplate = messagingTemplate;
+        this.maxCommentsPerUpdate = maxCommentsPerUpdate;
+
+        Gauge.builder("studyhub.topic_activity.watched_topics", watchers, Map::size)
+             .description("Topics with at least one activity subscription on this node")
+             .register(meterRegistry);
+        this.publishedUpdates = meterRegistry.counter("studyhub.topic_activity.published_updates");
+    }
+
+    @Override
+    public boolean isWatched(Long topicId) {
+        return topicId != null && watchers.containsKey(topicId);
+    }
+
+    @Override
+    public void recordReaction(Long topicId, int likeCount, int dislikeCount) {
+        record(topicId, activity -> {
+            activity.likeCount = likeCount;
+            activity.dislikeCount = dislikeCount;
+        });
+    }
+
+    @Override
+    public void recordCommentCreated(CommentDTO comment) {
+        record(comment.getTopicId(), activity -> {
+            activity.commentDelta++;
+            if (activity.newComments.size() < maxCommentsPerUpdate) {
+                activity.newComments.add(comment);
+            } else {
+                activity.commentsTruncated = true;
+            }
+        });
+    }
+
+    @Override
+    public void recordCommentDeleted(Long topicId, Long commentId) {
+        record(topicId, activity -> {
+            activity.commentDelta--;
+            // Created and deleted within the same interval: the client never saw it
+            if (!activity.newComments.removeIf(comment -> comment.getId().equals(commentId))) {
+                activity.deletedCommentIds.add(commentId);
+            }
+        });
+    }
+
+    @Override
+    public void publishPending() {
+        Instant now = Instant.now();
+        for (Long topicId : pending.keySet()) {
+            PendingActivity activity = pending.remove(topicId);
+            if (activity == null || !isWatched(topicId)) {
+                continue;
+            }
+
+            TopicActivityDTO update = TopicActivityDTO.builder()
+                                                      .topicId(topicId)
+                                                      .likeCount(activity.likeCount)
+                                                      .dislikeCount(activity.dislikeCount)
+                                                      .commentDelta(activity.commentDelta)
+                                                      .newComments(activity.newComments)
+                                                      .deletedCommentIds(activity.deletedCommentIds)
+                                                      .commentsTruncated(activity.commentsTruncated)
+                                                      .sentAt(now)
+                                                      .build();
+            try {
+                messagingTemplate.convertAndSend(DESTINATION_PREFIX + topicId, update);
+                publishedUpdates.increment();
+            } catch (RuntimeException e) {
+                log.warn("Failed to push activity of topic {}", topicId, e);
+            }
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long topicId = parseTopicId(accessor.getDestination());
+        if (topicId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        Long previous = subscriptionsBySession.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                                              .put(accessor.getSubscriptionId(), topicId);
+        watchers.merge(topicId, 1, Integer::sum);
+        if (previous != null) {
+            unwatch(previous);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Long> subscriptions = accessor.getSessionId() != null
+                ? subscriptionsBySession.get(accessor.getSessionId())
+                : null;
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        Long topicId = subscriptions.remove(accessor.getSubscriptionId());
+        if (topicId != null) {
+            unwatch(topicId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Long> subscriptions = subscriptionsBySession.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::unwatch);
+        }
+    }
+
+    private void record(Long topicId, Consumer<PendingActivity> change) {
+        if (!isWatched(topicId)) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> pending.compute(topicId, (id, activity) -> {
+            PendingActivity merged = activity != null ? activity : new PendingActivity();
+            change.accept(merged);
+            return merged;
+        }));
+    }
+
+    private void unwatch(Long topicId) {
+        watchers.computeIfPresent(topicId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private Long parseTopicId(String destination) {
+        if (destination == null || !destination.startsWith(DESTINATION_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(destination.substring(DESTINATION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Activity of one topic since the last publish, only mutated inside pending.compute
+     */
+    private static class PendingActivity {
+        private Integer likeCount;
+        private Integer dislikeCount;
+        private int commentDelta;
+        private final List<CommentDTO> newComments = new ArrayList<>();
+        private final List<Long> deletedCommentIds = new ArrayList<>();
+        private boolean commentsTruncated;
+    }
+}
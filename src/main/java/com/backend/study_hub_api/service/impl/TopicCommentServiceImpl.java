@@ -1,41 +1,83 @@
 package com.backend.study_hub_api.service.impl;
 
 import com.backend.study_hub_api.dto.CommentDTO;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
+import com.backend.study_hub_api.dto.criteria.CommentFilterCriteria;
 import com.backend.study_hub_api.dto.request.CreateCommentRequest;
+import com.backend.study_hub_api.helper.enumeration.ImageVariant;
 import com.backend.study_hub_api.helper.exception.BadRequestException;
+import com.backend.study_hub_api.helper.util.KeysetCursor;
+import com.backend.study_hub_api.helper.util.PageableBuilder;
+import com.backend.study_hub_api.helper.util.PaginationUtils;
+import com.backend.study_hub_api.helper.util.TransactionUtils;
 import com.backend.study_hub_api.model.Topic;
 import com.backend.study_hub_api.model.TopicComment;
 import com.backend.study_hub_api.model.User;
 import com.backend.study_hub_api.repository.TopicCommentRepository;
 import com.backend.study_hub_api.repository.TopicRepository;
+import com.backend.study_hub_api.service.CommentPageCache;
+import com.backend.study_hub_api.service.ImageVariantService;
+import com.backend.study_hub_api.service.TopicActivityService;
 import com.backend.study_hub_api.service.TopicCommentService;
+import com.backend.study_hub_api.service.TopicLeaderboardService;
 import com.backend.study_hub_api.service.TopicService;
 import com.backend.study_hub_api.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static com.backend.study_hub_api.helper.constant.Message.COMMENT_NOT_FOUND_ERROR;
+import static com.backend.study_hub_api.helper.constant.Message.COMMENT_PARENT_INVALID_ERROR;
 import static com.backend.study_hub_api.helper.constant.Message.ONLY_COMMENT_AUTHOR_CAN_DELETE;
+import static com.backend.study_hub_api.helper.constant.Message.PAGINATION_INVALID_CURSOR_ERROR;
 
 @Service
 @RequiredArgsConstructor
 public class TopicCommentServiceImpl implements TopicCommentService {
 
     private final TopicCommentRepository commentRepository;
+    private final TopicRepository topicRepository;
     private final TopicService topicService;
     private final UserService userService;
-    private final TopicRepository topicRepository;
+    private final ImageVariantService imageVariantService;
+    private final TopicLeaderboardService topicLeaderboardService;
+    private final CommentPageCache commentPageCache;
+    private final TopicActivityService topicActivityService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPaginationDTO<CommentDTO> getCommentsByTopic(Long topicId, CommentFilterCriteria criteria) {
+        int pageSize = PageableBuilder.resolvePageSize(criteria.getSize());
+        KeysetCursor cursor = KeysetCursor.decode(criteria.getCursor(), criteria.getSortBy(), criteria.getSortDirection());
+        // One extra row tells whether there is a next page
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        if (cursor == null) {
+            return commentPageCache.getFirstPage(topicId, pageSize, () -> toPage(
+                    commentRepository.findTopLevel(topicId, limit), pageSize, criteria));
+        }
+        return toPage(commentRepository.findTopLevelAfter(topicId, parseCursorCreatedAt(cursor), cursor.getId(), limit),
+                      pageSize,
+                      criteria);
+    }
 
     @Override
-    public List<CommentDTO> getCommentsByTopic(Long topicId) {
-        List<TopicComment> comments = commentRepository.findByTopicIdAndNotDeletedOrderByCreatedAt(topicId);
-        return comments.stream()
-                       .map(this::mapToDTO)
-                       .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPaginationDTO<CommentDTO> getReplies(Long commentId, CommentFilterCriteria criteria) {
+        int pageSize = PageableBuilder.resolvePageSize(criteria.getSize());
+        KeysetCursor cursor = KeysetCursor.decode(criteria.getCursor(), criteria.getSortBy(), criteria.getSortDirection());
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<TopicComment> rows = cursor == null
+                ? commentRepository.findReplies(commentId, limit)
+                : commentRepository.findRepliesAfter(commentId, parseCursorCreatedAt(cursor), cursor.getId(), limit);
+        return toPage(rows, pageSize, criteria);
     }
 
     @Override
@@ -43,22 +85,33 @@ public class TopicCommentServiceImpl implements TopicCommentService {
     public CommentDTO createComment(CreateCommentRequest request, Long authorId) {
         Topic topic = topicService.getTopicByIdOrThrow(request.getTopicId());
         User author = userService.getUserByIdOrThrow(authorId);
+        TopicComment parent = request.getParentId() != null ? getThreadRoot(request.getParentId(), topic.getId()) : null;
 
         TopicComment comment = TopicComment.builder()
                                            .topic(topic)
                                            .author(author)
+                                           .parent(parent)
                                            .content(request.getContent())
                                            .likeCount(0)
                                            .dislikeCount(0)
+                                           .replyCount(0)
                                            .isDeleted(false)
                                            .build();
 
         comment = commentRepository.save(comment);
+        if (parent != null) {
+            commentRepository.addReplyCount(parent.getId(), 1);
+        }
 
-        topic.setCommentCount(topic.getCommentCount() + 1);
-        topicRepository.save(topic);
+        // The topic entity is not saved, the counter moves in SQL so concurrent comments do not overwrite it
+        Long topicId = topic.getId();
+        topicRepository.addCommentCount(topicId, 1);
+        topicLeaderboardService.recordComment(topicId, 1);
 
-        return mapToDTO(comment);
+        TransactionUtils.afterCommit(() -> commentPageCache.invalidate(topicId));
+        CommentDTO created = mapToDTO(comment);
+        topicActivityService.recordCommentCreated(created);
+        return created;
     }
 
     @Override
@@ -70,14 +123,20 @@ public class TopicCommentServiceImpl implements TopicCommentService {
             throw new BadRequestException(ONLY_COMMENT_AUTHOR_CAN_DELETE);
         }
 
-        comment.setIsDeleted(true);
-        commentRepository.save(comment);
-
-        Topic topic = comment.getTopic();
-        if (topic.getCommentCount() > 0) {
-            topic.setCommentCount(topic.getCommentCount() - 1);
-            topicRepository.save(topic);
+        // Already deleted by an earlier or concurrent request: nothing left to count
+        if (commentRepository.softDelete(commentId) == 0) {
+            return;
+        }
+        if (comment.getParent() != null) {
+            commentRepository.addReplyCount(comment.getParent().getId(), -1);
         }
+
+        Long topicId = comment.getTopic().getId();
+        topicRepository.addCommentCount(topicId, -1);
+        topicLeaderboardService.recordComment(topicId, -1);
+        topicActivityService.recordCommentDeleted(topicId, commentId);
+
+        TransactionUtils.afterCommit(() -> commentPageCache.invalidate(topicId));
     }
 
     @Override
@@ -85,14 +144,16 @@ public class TopicCommentServiceImpl implements TopicCommentService {
         return CommentDTO.builder()
                          .id(comment.getId())
                          .topicId(comment.getTopic().getId())
+                         .parentId(comment.getParent() != null ? comment.getParent().getId() : null)
                          .content(comment.getContent())
                          .likeCount(comment.getLikeCount())
                          .dislikeCount(comment.getDislikeCount())
+                         .replyCount(comment.getReplyCount() != null ? comment.getReplyCount() : 0)
                          .createdAt(comment.getCreatedAt())
                          .author(CommentDTO.AuthorInfo.builder()
                                                       .id(comment.getAuthor().getId())
                                                       .fullName(comment.getAuthor().getFullName())
-                                                      .avatarUrl(comment.getAuthor().getAvatarUrl())
+                                                      .avatarUrl(imageVariantService.resolveUrl(comment.getAuthor().getAvatarUrl(), ImageVariant.THUMBNAIL))
                                                       .build())
                          .build();
     }
@@ -102,4 +163,39 @@ public class TopicCommentServiceImpl implements TopicCommentService {
         return commentRepository.findById(commentId)
                                 .orElseThrow(() -> new BadRequestException(COMMENT_NOT_FOUND_ERROR));
     }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * Threads are one level deep: a reply to a reply joins the thread of the comment it answers
+     */
+    private TopicComment getThreadRoot(Long parentId, Long topicId) {
+        TopicComment parent = commentRepository.findByIdAndNotDeleted(parentId)
+                                               .filter(candidate -> candidate.getTopic().getId().equals(topicId))
+                                               .orElseThrow(() -> new BadRequestException(COMMENT_PARENT_INVALID_ERROR));
+        return parent.getParent() != null ? parent.getParent() : parent;
+    }
+
+    private CursorPaginationDTO<CommentDTO> toPage(List<TopicComment> rows, int pageSize, CommentFilterCriteria criteria) {
+        return PaginationUtils.createCursorResponse(rows,
+                                                    pageSize,
+                                                    criteria.getSortBy(),
+                                                    criteria.getSortDirection(),
+                                                    this::mapToDTOs,
+                                                    null);
+    }
+
+    private List<CommentDTO> mapToDTOs(List<TopicComment> comments) {
+        imageVariantService.preloadStatuses(comments.stream().map(comment -> comment.getAuthor().getAvatarUrl()).toList());
+        return comments.stream().map(this::mapToDTO).toList();
+    }
+
+    private Instant parseCursorCreatedAt(KeysetCursor cursor) {
+        try {
+            return Instant.parse(cursor.getValue());
+        } catch (NullPointerException | DateTimeParseException e) {
+            throw new BadRequestException(PAGINATION_INVALID_CURSOR_ERROR);
+        }
+    }
+
 }
\ No newline at end of file
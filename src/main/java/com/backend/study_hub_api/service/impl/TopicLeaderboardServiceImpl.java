@@ -0,0 +1,601 @@
+package com.backend.study_hub_api.service.impl;
+
+import com.backend.study_hub_api.dto.TopicDTO;
+import com.backend.study_hub_api.dto.TopicRankingDTO;
+import com.backend.study_hub_api.helper.enumeration.TopicStatus;
+import com.backend.study_hub_api.helper.util.PageableBuilder;
+import com.backend.study_hub_api.helper.util.TransactionUtils;
+import com.backend.study_hub_api.repository.TopicRepository;
+import com.backend.study_hub_api.service.TopicLeaderboardService;
+import com.backend.study_hub_api.service.ViewCountService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory leaderboards of ACTIVE topics, globally and per university and category.
+ * Each board keeps three sorted sets (views, creation time, trending score) so the top k is read in O(k).
+ * Trending scores decay exponentially with a configurable half-life. They are kept in log space relative to a
+ * fixed epoch, ln(sum of weight * e^(lambda * (t - epoch))), so an event only adds to its own topic's score
+ * and the ordering of untouched topics never needs recomputing.
+ * Events are buffered and applied by a scheduled tick, then topics changed through JPA are re-read in batch,
+ * and a periodic rebuild reconciles the boards with t_topics. Rows are always read after the buffered events are
+ * applied: the counters read already include those events, so each event is counted once.
+ */
+@Slf4j
+@Service
+public class TopicLeaderboardServiceImpl implements TopicLeaderboardService {
+
+    private static final Instant SCORE_EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+    private static final int RELOAD_BATCH_SIZE = 500;
+
+    private static final Comparator<Entry> BY_VIEWS = (a, b) -> {
+        int result = Long.compare(b.viewCount, a.viewCount);
+        return result != 0 ? result : Long.compare(b.id, a.id);
+    };
+    private static final Comparator<Entry> BY_CREATED_AT = (a, b) -> {
+        int result = Long.compare(b.createdAtMillis, a.createdAtMillis);
+        return result != 0 ? result : Long.compare(b.id, a.id);
+    };
+    private static final Comparator<Entry> BY_SCORE = (a, b) -> {
+        int result = Double.compare(b.score, a.score);
+        return result != 0 ? result : Long.compare(b.id, a.id);
+    };
+
+    private final TopicRepository topicRepository;
+    private final ViewCountService viewCountService;
+    private final double decayPerMilli;
+    private final double viewWeight;
+    private final double likeWeight;
+    private final double commentWeight;
+    private final long summaryTtlMillis;
+    private final int maxPendingIds;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Board global = new Board();
+    private final Map<Long, Board> universityBoards = new HashMap<>();
+    private final Map<Long, Board> categoryBoards = new HashMap<>();
+
+    private final Map<Long, PendingEvents> pending = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyTopicIds = ConcurrentHashMap.newKeySet();
+    private final Counter droppedEvents;
+
+    private volatile boolean ready;
+    private volatile int trackedTopics;
+
+    public TopicLeaderboardServiceImpl(TopicRepository topicRepository,
+                                       ViewCountService viewCountService,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.leaderboard.trending.half-life:24h}") Duration halfLife,
+                                       @Value("${app.leaderboard.trending.view-weight:1}") double viewWeight,
+                                       @Value("${app.leaderboard.trending.like-weight:3}") double likeWeight,
+                                       @Value("${app.leaderboard.trending.comment-weight:5}") double commentWeight,
+                                       @Value("${app.leaderboard.summary-ttl:5m}") Duration summaryTtl,
+                                       @Value("${app.leaderboard.max-pending-ids:50000}") int maxPendingIds) {
+        this.topicRepository = topicRepository;
+        this.viewCountService = viewCountService;
+        this.decayPerMilli = Math.log(2) / halfLife.toMillis();
+        this.viewWeight = viewWeight;
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.summaryTtlMillis = summaryTtl.toMillis();
+        this.maxPendingIds = maxPendingIds;
+
+        Gauge.builder("studyhub.topic_leaderboard.topics", this, service -> service.trackedTopics)
+             .description("ACTIVE topics held by the leaderboards")
+             .register(meterRegistry);
+        Gauge.builder("studyhub.topic_leaderboard.pending_ids", pending, Map::size)
+             .description("Topics with events waiting for the next tick")
+             .register(meterRegistry);
+        this.droppedEvents = meterRegistry.counter("studyhub.topic_leaderboard.dropped_events");
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<TopicRankingDTO> getPopular(int limit, Long universityId, Long categoryId) {
+        return top(Ranking.POPULAR, limit, universityId, categoryId);
+    }
+
+    @Override
+    public List<TopicRankingDTO> getRecent(int limit, Long universityId, Long categoryId) {
+        return top(Ranking.RECENT, limit, universityId, categoryId);
+    }
+
+    @Override
+    public List<TopicRankingDTO> getTrending(int limit, Long universityId, Long categoryId) {
+        return top(Ranking.TRENDING, limit, universityId, categoryId);
+    }
+
+    @Override
+    public void cacheSummaries(Collection<TopicDTO.TopicSummaryResponse> summaries) {
+        long now = System.currentTimeMillis();
+        lock.readLock().lock();
+        try {
+            for (TopicDTO.TopicSummaryResponse summary : summaries) {
+                Entry entry = entries.get(summary.getId());
+                if (entry != null) {
+                    entry.cacheSummary(summary, now);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void recordView(Long topicId) {
+        double logWeight = logWeightNow(viewWeight);
+        record(topicId, events -> events.addView(logWeight));
+    }
+
+    @Override
+    public void recordReaction(Long topicId, int likeCount, int dislikeCount, boolean added) {
+        double logWeight = logWeightNow(likeWeight);
+        TransactionUtils.afterCommit(() -> record(topicId, events -> events.setReactions(likeCount, dislikeCount, added ? logWeight : null)));
+    }
+
+    @Override
+    public void recordComment(Long topicId, int delta) {
+        double logWeight = logWeightNow(commentWeight);
+        TransactionUtils.afterCommit(() -> record(topicId, events -> events.addComments(delta, logWeight)));
+    }
+
+    @Override
+    public void refreshTopic(Long topicId) {
+        TransactionUtils.afterCommit(() -> dirtyTopicIds.add(topicId));
+    }
+
+    @Override
+    public synchronized void applyPendingEvents() {
+        // Events recorded before the first build stay buffered
+        if (!ready) {
+            return;
+        }
+
+        // Events first: a reload reads counters that already include them, applying them after it would count them twice
+        applyDrainedEvents();
+        reloadDirtyTopics();
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        // The rows read below include every event recorded so far. Those already buffered are applied to the current
+        // entries so their score is carried over, before the first build there is nothing to carry them to
+        if (ready) {
+            applyDrainedEvents();
+        } else {
+            pending.clear();
+        }
+        Map<Long, Entry> loaded = loadEntries(null);
+
+        lock.writeLock().lock();
+        try {
+            for (Entry entry : loaded.values()) {
+                Entry previous = entries.get(entry.id);
+                if (previous != null) {
+                    entry.carryOver(previous);
+                    entry.cacheSummary(previous.summary, previous.renderedAt);
+                }
+            }
+
+            entries.clear();
+            global.clear();
+            universityBoards.clear();
+            categoryBoards.clear();
+            for (Entry entry : loaded.values()) {
+                entries.put(entry.id, entry);
+                attach(entry);
+            }
+            trackedTopics = entries.size();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Topic leaderboards rebuilt with {} topics in {} ms",
+                 loaded.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private void applyDrainedEvents() {
+        List<PendingEvents> drained = new ArrayList<>();
+        for (Long topicId : pending.keySet()) {
+            PendingEvents events = pending.remove(topicId);
+            if (events != null) {
+                drained.add(events);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (PendingEvents events : drained) {
+                Entry entry = entries.get(events.topicId);
+                if (entry == null) {
+                    continue;
+                }
+                // Sorted sets locate entries by their sort keys, so move the entry out before changing them
+                detach(entry);
+                events.applyTo(entry);
+                attach(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<TopicRankingDTO> top(Ranking ranking, int limit, Long universityId, Long categoryId) {
+        int size = PageableBuilder.resolvePageSize(limit);
+        long now = System.currentTimeMillis();
+
+        lock.readLock().lock();
+        try {
+            Board board;
+            Predicate<Entry> filter = entry -> true;
+            if (universityId != null && categoryId != null) {
+                Board byUniversity = universityBoards.get(universityId);
+                Board byCategory = categoryBoards.get(categoryId);
+                if (byUniversity == null || byCategory == null) {
+                    return Collections.emptyList();
+                }
+                // Walk the smaller board and filter on the other dimension
+                if (byUniversity.size() <= byCategory.size()) {
+                    board = byUniversity;
+                    filter = entry -> entry.categoryIds.contains(categoryId);
+                } else {
+                    board = byCategory;
+                    filter = entry -> universityId.equals(entry.universityId);
+                }
+            } else if (universityId != null) {
+                board = universityBoards.get(universityId);
+            } else if (categoryId != null) {
+                board = categoryBoards.get(categoryId);
+            } else {
+                board = global;
+            }
+            if (board == null) {
+                return Collections.emptyList();
+            }
+
+            List<TopicRankingDTO> result = new ArrayList<>(size);
+            for (Entry entry : board.sortedBy(ranking)) {
+                if (filter.test(entry)) {
+                    result.add(toRanking(entry, now));
+                    if (result.size() == size) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TopicRankingDTO toRanking(Entry entry, long now) {
+        TopicDTO.TopicSummaryResponse summary = entry.summary;
+        boolean fresh = summary != null && now - entry.renderedAt < summaryTtlMillis;
+        return TopicRankingDTO.builder()
+                              .topicId(entry.id)
+                              .viewCount((int) Math.min(entry.viewCount, Integer.MAX_VALUE))
+                              .likeCount(entry.likeCount)
+                              .dislikeCount(entry.dislikeCount)
+                              .commentCount(entry.commentCount)
+                              .lastActivityAt(entry.lastActivityAt)
+                              .summary(fresh ? summary : null)
+                              .build();
+    }
+
+    private void record(Long topicId, Consumer<PendingEvents> change) {
+        if (topicId == null) {
+            return;
+        }
+        if (pending.size() >= maxPendingIds && !pending.containsKey(topicId)) {
+            // Counters are corrected by the next rebuild
+            droppedEvents.increment();
+            return;
+        }
+        // compute is atomic with the remove in applyPendingEvents, so no event is added to a drained buffer
+        pending.compute(topicId, (id, events) -> {
+            PendingEvents target = events != null ? events : new PendingEvents(id);
+            change.accept(target);
+            return target;
+        });
+    }
+
+    private void reloadDirtyTopics() {
+        if (dirtyTopicIds.isEmpty()) {
+            return;
+        }
+        List<Long> topicIds = new ArrayList<>(dirtyTopicIds);
+        topicIds.forEach(dirtyTopicIds::remove);
+
+        for (int from = 0; from < topicIds.size(); from += RELOAD_BATCH_SIZE) {
+            List<Long> batch = topicIds.subList(from, Math.min(from + RELOAD_BATCH_SIZE, topicIds.size()));
+            Map<Long, Entry> loaded = loadEntries(batch);
+
+            lock.writeLock().lock();
+            try {
+                for (Long topicId : batch) {
+                    Entry previous = entries.remove(topicId);
+                    if (previous != null) {
+                        detach(previous);
+                    }
+                    // Topics that are no longer ACTIVE are not loaded and leave the boards
+                    Entry entry = loaded.get(topicId);
+                    if (entry != null) {
+                        if (previous != null) {
+                            entry.carryOver(previous);
+                        }
+                        entries.put(topicId, entry);
+                        attach(entry);
+                    }
+                }
+                trackedTopics = entries.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Read ACTIVE topics (all of them when topicIds is null) with their categories and seed their trending score
+     */
+    private Map<Long, Entry> loadEntries(Collection<Long> topicIds) {
+        List<Object[]> rows = topicIds == null
+                ? topicRepository.findRankingRowsByStatus(TopicStatus.ACTIVE)
+                : topicRepository.findRankingRowsByStatusAndIdIn(TopicStatus.ACTIVE, topicIds);
+        if (rows.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Object[]> categoryRows = topicIds == null
+                ? topicRepository.findCategoryIdsByStatus(TopicStatus.ACTIVE)
+                : topicRepository.findCategoryIdsByStatusAndIdIn(TopicStatus.ACTIVE, topicIds);
+        Map<Long, Set<Long>> categoryIdsByTopic = new HashMap<>();
+        for (Object[] row : categoryRows) {
+            categoryIdsByTopic.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+
+        Map<Long, Entry> loaded = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            Long topicId = (Long) row[0];
+            Entry entry = new Entry(topicId,
+                                    (Instant) row[1],
+                                    (Long) row[7],
+                                    categoryIdsByTopic.getOrDefault(topicId, Collections.emptySet()));
+            entry.lastActivityAt = (Instant) row[2];
+            entry.viewCount = intValue(row[3]) + viewCountService.getPendingTopicViews(topicId);
+            entry.likeCount = intValue(row[4]);
+            entry.dislikeCount = intValue(row[5]);
+            entry.commentCount = intValue(row[6]);
+            entry.score = seedScore(entry);
+            loaded.put(topicId, entry);
+        }
+        return loaded;
+    }
+
+    /**
+     * Score of a topic seen for the first time, as if all its engagement happened at its last activity
+     */
+    private double seedScore(Entry entry) {
+        double engagement = viewWeight * entry.viewCount
+                + likeWeight * entry.likeCount
+                + commentWeight * entry.commentCount;
+        Instant anchor = entry.lastActivityAt != null ? entry.lastActivityAt : entry.createdAt;
+        long anchorMillis = anchor != null ? anchor.toEpochMilli() : System.currentTimeMillis();
+        return Math.log(Math.max(engagement, 1)) + decayPerMilli * (anchorMillis - SCORE_EPOCH.toEpochMilli());
+    }
+
+    private double logWeightNow(double weight) {
+        return Math.log(weight) + decayPerMilli * (System.currentTimeMillis() - SCORE_EPOCH.toEpochMilli());
+    }
+
+    /**
+     * ln(e^a + e^b) without overflowing, the exponents grow with the time since the epoch
+     */
+    private static double logAddExp(double a, double b) {
+        if (a == Double.NEGATIVE_INFINITY) {
+            return b;
+        }
+        if (b == Double.NEGATIVE_INFINITY) {
+            return a;
+        }
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(-Math.abs(a - b)));
+    }
+
+    private static int intValue(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    private void attach(Entry entry) {
+        global.add(entry);
+        if (entry.universityId != null) {
+            universityBoards.computeIfAbsent(entry.universityId, id -> new Board()).add(entry);
+        }
+        for (Long categoryId : entry.categoryIds) {
+            categoryBoards.computeIfAbsent(categoryId, id -> new Board()).add(entry);
+        }
+    }
+
+    private void detach(Entry entry) {
+        global.remove(entry);
+        if (entry.universityId != null) {
+            removeFrom(universityBoards, entry.universityId, entry);
+        }
+        for (Long categoryId : entry.categoryIds) {
+            removeFrom(categoryBoards, categoryId, entry);
+        }
+    }
+
+    private static void removeFrom(Map<Long, Board> boards, Long key, Entry entry) {
+        Board board = boards.get(key);
+        if (board != null) {
+            board.remove(entry);
+            if (board.size() == 0) {
+                boards.remove(key);
+            }
+        }
+    }
+
+    private enum Ranking {
+        POPULAR,
+        RECENT,
+        TRENDING
+    }
+
+    private static final class Board {
+
+        private final TreeSet<Entry> popular = new TreeSet<>(BY_VIEWS);
+        private final TreeSet<Entry> recent = new TreeSet<>(BY_CREATED_AT);
+        private final TreeSet<Entry> trending = new TreeSet<>(BY_SCORE);
+
+        void add(Entry entry) {
+            popular.add(entry);
+            recent.add(entry);
+            trending.add(entry);
+        }
+
+        void remove(Entry entry) {
+            popular.remove(entry);
+            recent.remove(entry);
+            trending.remove(entry);
+        }
+
+        void clear() {
+            popular.clear();
+            recent.clear();
+            trending.clear();
+        }
+
+        int size() {
+            return popular.size();
+        }
+
+        TreeSet<Entry> sortedBy(Ranking ranking) {
+            return switch (ranking) {
+                case POPULAR -> popular;
+                case RECENT -> recent;
+                case TRENDING -> trending;
+            };
+        }
+    }
+
+    /**
+     * Sort keys are only changed under the write lock while the entry is detached from its boards
+     */
+    private static final class Entry {
+
+        private final long id;
+        private final Instant createdAt;
+        private final long createdAtMillis;
+        private final Long universityId;
+        private final Set<Long> categoryIds;
+
+        private long viewCount;
+        private int likeCount;
+        private int dislikeCount;
+        private int commentCount;
+        private Instant lastActivityAt;
+        private double score;
+
+        private volatile TopicDTO.TopicSummaryResponse summary;
+        private volatile long renderedAt;
+
+        Entry(long id, Instant createdAt, Long universityId, Set<Long> categoryIds) {
+            this.id = id;
+            this.createdAt = createdAt;
+            this.createdAtMillis = createdAt != null ? createdAt.toEpochMilli() : 0;
+            this.universityId = universityId;
+            this.categoryIds = categoryIds;
+        }
+
+        /**
+         * Keep what the database does not know yet: the accumulated score and views still in the write-behind buffer
+         */
+        void carryOver(Entry previous) {
+            score = previous.score;
+            viewCount = Math.max(viewCount, previous.viewCount);
+        }
+
+        void cacheSummary(TopicDTO.TopicSummaryResponse summary, long renderedAt) {
+            this.renderedAt = renderedAt;
+            this.summary = summary;
+        }
+    }
+
+    /**
+     * Events of one topic since the last tick, only touched inside ConcurrentHashMap.compute
+     */
+    private static final class PendingEvents {
+
+        private final Long topicId;
+        private long views;
+        private double logScore = Double.NEGATIVE_INFINITY;
+        private Integer likeCount;
+        private Integer dislikeCount;
+        private int commentDelta;
+        private Instant lastCommentAt;
+
+        PendingEvents(Long topicId) {
+            this.topicId = topicId;
+        }
+
+        void addView(double logWeight) {
+            views++;
+            logScore = logAddExp(logScore, logWeight);
+        }
+
+        void setReactions(int likes, int dislikes, Double logWeight) {
+            likeCount = likes;
+            dislikeCount = dislikes;
+            if (logWeight != null) {
+                logScore = logAddExp(logScore, logWeight);
+            }
+        }
+
+        void addComments(int delta, double logWeight) {
+            commentDelta += delta;
+            // Deleted comments lower the count but not the engagement already scored
+            if (delta > 0) {
+                logScore = logAddExp(logScore, Math.log(delta) + logWeight);
+                lastCommentAt = Instant.now();
+            }
+        }
+
+        void applyTo(Entry entry) {
+            entry.viewCount += views;
+            if (likeCount != null) {
+                entry.likeCount = likeCount;
+                entry.dislikeCount = dislikeCount;
+            }
+            entry.commentCount = Math.max(entry.commentCount + commentDelta, 0);
+            if (lastCommentAt != null && (entry.lastActivityAt == null || lastCommentAt.isAfter(entry.lastActivityAt))) {
+                entry.lastActivityAt = lastCommentAt;
+            }
+            entry.score = logAddExp(entry.score, logScore);
+        }
+    }
+}
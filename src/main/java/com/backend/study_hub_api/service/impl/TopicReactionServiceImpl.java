@@ -7,12 +7,12 @@ import com.backend.study_hub_api.helper.enumeration.ReactionType;
 import com.backend.study_hub_api.helper.exception.BadRequestException;
 import com.backend.study_hub_api.model.Topic;
 import com.backend.study_hub_api.model.TopicReaction;
-import com.backend.study_hub_api.model.User;
 import com.backend.study_hub_api.repository.TopicReactionRepository;
 import com.backend.study_hub_api.repository.TopicRepository;
+import com.backend.study_hub_api.service.TopicActivityService;
+import com.backend.study_hub_api.service.TopicLeaderboardService;
 import com.backend.study_hub_api.service.TopicReactionService;
 import com.backend.study_hub_api.service.TopicService;
-import com.backend.study_hub_api.service.UserService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -33,47 +33,28 @@ public class TopicReactionServiceImpl implements TopicReactionService {
 
     TopicReactionRepository topicReactionRepository;
     TopicRepository topicRepository;
-    UserService userService;
     TopicService topicService;
+    TopicLeaderboardService topicLeaderboardService;
+    TopicActivityService topicActivityService;
 
     @Override
     @Transactional
     public TopicDTO.TopicResponse toggleReaction(Long topicId, ReactionType reactionType) {
         Long userId = getCurrentUserId();
-        User user = userService.getUserByIdOrThrow(userId);
-        Topic topic = getTopicByIdOrThrow(topicId);
-
-        Optional<TopicReaction> existingReaction = topicReactionRepository.findByTopicIdAndUserId(topicId, userId);
-
-        ReactionType previousReaction = null;
-        TopicReaction userReaction = null;
-
-        if (existingReaction.isPresent()) {
-            TopicReaction reaction = existingReaction.get();
-            previousReaction = reaction.getReactionType();
-
-            if (previousReaction == reactionType) {
-                topicReactionRepository.delete(reaction);
-                updateTopicReactionCount(topic, previousReaction, false);
-            } else {
-                updateTopicReactionCount(topic, previousReaction, false);
-                updateTopicReactionCount(topic, reactionType, true);
+        assertTopicExists(topicId);
 
-                reaction.setReactionType(reactionType);
-                userReaction = topicReactionRepository.save(reaction);
-            }
-        } else {
-            TopicReaction newReactionEntity = TopicReaction.builder()
-                                                           .topic(topic)
-                                                           .user(user)
-                                                           .reactionType(reactionType)
-                                                           .build();
-
-            userReaction = topicReactionRepository.save(newReactionEntity);
-            updateTopicReactionCount(topic, reactionType, true);
+        // Insert or switch the reaction together with the counters in one statement,
+        // clicking the same reaction again finds nothing to upsert and removes it instead
+        int changed = topicReactionRepository.upsertReaction(topicId, userId, reactionType.name());
+        if (changed == 0) {
+            topicReactionRepository.deleteReaction(topicId, userId, reactionType.name());
         }
 
-        topicRepository.save(topic);
+        Topic topic = getTopicByIdOrThrow(topicId);
+        TopicReaction userReaction = topicReactionRepository.findByTopicIdAndUserId(topicId, userId)
+                                                            .orElse(null);
+        topicLeaderboardService.recordReaction(topicId, topic.getLikeCount(), topic.getDislikeCount(), changed > 0);
+        topicActivityService.recordReaction(topicId, topic.getLikeCount(), topic.getDislikeCount());
 
         return topicService.mapToDTO(topic, userReaction);
     }
@@ -82,20 +63,19 @@ public class TopicReactionServiceImpl implements TopicReactionService {
     @Transactional
     public TopicReactionDTO.ReactionToggleResponse removeReaction(Long topicId) {
         Long userId = getCurrentUserId();
-        Topic topic = getTopicByIdOrThrow(topicId);
+        assertTopicExists(topicId);
 
-        Optional<TopicReaction> existingReaction = topicReactionRepository.findByTopicIdAndUserId(topicId, userId);
+        TopicReaction reaction = topicReactionRepository.findByTopicIdAndUserId(topicId, userId)
+                                                        .orElseThrow(() -> new BadRequestException("No reaction found to remove"));
+        ReactionType previousReaction = reaction.getReactionType();
 
-        if (existingReaction.isEmpty()) {
+        if (topicReactionRepository.deleteReaction(topicId, userId, previousReaction.name()) == 0) {
             throw new BadRequestException("No reaction found to remove");
         }
 
-        TopicReaction reaction = existingReaction.get();
-        ReactionType previousReaction = reaction.getReactionType();
-
-        topicReactionRepository.delete(reaction);
-        updateTopicReactionCount(topic, previousReaction, false);
-        topicRepository.save(topic);
+        Topic topic = getTopicByIdOrThrow(topicId);
+        topicLeaderboardService.recordReaction(topicId, topic.getLikeCount(), topic.getDislikeCount(), false);
+        topicActivityService.recordReaction(topicId, topic.getLikeCount(), topic.getDislikeCount());
 
         return TopicReactionDTO.ReactionToggleResponse.builder()
                                                       .topicId(topicId)
@@ -258,27 +238,14 @@ public class TopicReactionServiceImpl implements TopicReactionService {
         return SecurityUtils.getCurrentUserId();
     }
 
+    private void assertTopicExists(Long topicId) {
+        if (!topicRepository.existsById(topicId)) {
+            throw new BadRequestException("Topic not found with ID: " + topicId);
+        }
+    }
+
     private Topic getTopicByIdOrThrow(Long topicId) {
         return topicRepository.findById(topicId)
                               .orElseThrow(() -> new BadRequestException("Topic not found with ID: " + topicId));
     }
-
-    private void updateTopicReactionCount(Topic topic, ReactionType reactionType, boolean increment) {
-        switch (reactionType) {
-            case LIKE:
-                if (increment) {
-                    topic.incrementLikeCount();
-                } else {
-                    topic.decrementLikeCount();
-                }
-                break;
-            case DISLIKE:
-                if (increment) {
-                    topic.incrementDislikeCount();
-                } else {
-                    topic.decrementDislikeCount();
-                }
-                break;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -3,33 +3,43 @@ package com.backend.study_hub_api.service.impl;
 import com.backend.study_hub_api.config.jwt.SecurityUtils;
 import com.backend.study_hub_api.dto.FileUploadDTO;
 import com.backend.study_hub_api.dto.TopicDTO;
+import com.backend.study_hub_api.dto.TopicRankingDTO;
 import com.backend.study_hub_api.dto.UniversityDTO;
+import com.backend.study_hub_api.dto.common.CursorPaginationDTO;
 import com.backend.study_hub_api.dto.common.PaginationDTO;
 import com.backend.study_hub_api.dto.criteria.TopicFilterCriteria;
+import com.backend.study_hub_api.helper.enumeration.ImageVariant;
 import com.backend.study_hub_api.helper.enumeration.TopicStatus;
 import com.backend.study_hub_api.helper.enumeration.TopicVisibility;
+import com.backend.study_hub_api.helper.enumeration.UploadTarget;
 import com.backend.study_hub_api.helper.exception.BadRequestException;
+import com.backend.study_hub_api.helper.util.KeysetCursor;
+import com.backend.study_hub_api.helper.util.PageableBuilder;
 import com.backend.study_hub_api.helper.util.PaginationUtils;
+import com.backend.study_hub_api.helper.util.TopRankingSnapshot;
 import com.backend.study_hub_api.model.*;
 import com.backend.study_hub_api.repository.TopicAttachmentRepository;
 import com.backend.study_hub_api.repository.TopicReactionRepository;
 import com.backend.study_hub_api.repository.TopicRepository;
+import com.backend.study_hub_api.repository.TopicSearchRepository;
 import com.backend.study_hub_api.service.*;
 import com.backend.study_hub_api.specification.TopicSpecification;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -48,6 +58,18 @@ public class TopicServiceImpl implements TopicService {
     TopicRepository topicRepository;
     TopicAttachmentRepository topicAttachmentRepository;
     TopicSpecification topicSpecification;
+    ViewCountService viewCountService;
+    PaginationQueryService paginationQueryService;
+    TopicSearchRepository topicSearchRepository;
+    ImageVariantService imageVariantService;
+    TopicLeaderboardService topicLeaderboardService;
+    TransactionTemplate transactionTemplate;
+
+    // Served to every caller until the TTL passes or the view-count flush refreshes it
+    TopRankingSnapshot<TopicDTO.TopicResponse> topTopics = new TopRankingSnapshot<>(TOP_TOPICS_TTL, this::loadTopTopics);
+
+    private static final int TOP_TOPICS_LIMIT = 10;
+    private static final Duration TOP_TOPICS_TTL = Duration.ofMinutes(1);
 
     private static final String[] ALLOWED_FILE_TYPES = {
             "application/msword",
@@ -71,17 +93,25 @@ public class TopicServiceImpl implements TopicService {
         List<Category> categories = getCategoriesForTopic(request.getCategoryIds());
         University university = getUniversityForTopic(request);
 
-        validateFileAttachments(request.getAttachments());
-
-        List<FileUploadDTO.FileUploadResponse> uploadedFiles = uploadTopicAttachments(request.getAttachments());
+        validateFileAttachments(request.getAttachments(), request.getAttachmentKeys());
 
+        // Attachments uploaded directly with presigned URLs first, then the multipart ones
+        List<FileUploadDTO.FileUploadResponse> confirmedFiles = new ArrayList<>();
+        List<FileUploadDTO.FileUploadResponse> uploadedFiles = new ArrayList<>();
         try {
+            confirmedFiles.addAll(fileUploadService.confirmUploads(request.getAttachmentKeys(), UploadTarget.TOPIC_ATTACHMENT));
+            uploadedFiles.addAll(uploadTopicAttachments(request.getAttachments()));
+
             Topic topic = createAndSaveTopic(request, currentUser, categories, university);
-            saveTopicAttachments(topic, uploadedFiles);
+            List<FileUploadDTO.FileUploadResponse> attachments = new ArrayList<>(confirmedFiles);
+            attachments.addAll(uploadedFiles);
+            saveTopicAttachments(topic, attachments);
 
             return mapToDTO(topic);
 
         } catch (Exception e) {
+            // Direct uploads are only unregistered, the client still owns them
+            fileUploadService.releaseConfirmedUploads(confirmedFiles);
             cleanupUploadedFiles(uploadedFiles);
             throw e;
         }
@@ -89,43 +119,76 @@ public class TopicServiceImpl implements TopicService {
 
     // ==================== GET TOPICS WITH FILTERS ====================
     @Override
+    @Transactional(readOnly = true)
     public PaginationDTO<TopicDTO.TopicResponse> getTopicsWithFilter(TopicFilterCriteria criteria) {
         // Build specification
         Specification<Topic> specification = topicSpecification.build(criteria);
 
-        // Create pageable
-        Sort.Direction direction = Sort.Direction.fromString(criteria.getSortDirection());
-        Pageable pageable = PageRequest.of(
-                criteria.getPage(),
-                criteria.getSize(),
-                Sort.by(direction, criteria.getSortBy())
-        );
-
-        Page<Topic> topicPage = topicRepository.findAll(specification, pageable);
+        // Slice query, the total comes from the count cache (or is skipped with skipCount)
+        return paginationQueryService.findPage(Topic.class, topicRepository, specification, criteria, this::mapToFeedDTOs);
+    }
 
-        User user = getCurrentAuthenticatedUser();
-        Map<Long, TopicReaction> userReactionsMap = new HashMap<>();
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPaginationDTO<TopicDTO.TopicResponse> getTopicsWithCursor(TopicFilterCriteria criteria) {
+        int pageSize = PageableBuilder.resolvePageSize(criteria.getSize());
+        String sortBy = PageableBuilder.resolveKeysetSortField(Topic.class, criteria.getSortBy());
+        Sort sort = PageableBuilder.buildKeysetSort(sortBy, criteria.getSortDirection());
+        KeysetCursor cursor = KeysetCursor.decode(criteria.getCursor(), sortBy, criteria.getSortDirection());
+
+        // Query one extra row to know if there is a next page, no count unless asked for
+        Specification<Topic> specification = topicSpecification.buildAfter(criteria, cursor);
+        List<Topic> rows = topicRepository.findBy(specification, query -> query.sortBy(sort).limit(pageSize + 1).all());
+
+        Long totalElements = Boolean.TRUE.equals(criteria.getIncludeTotal())
+                ? paginationQueryService.countCached(Topic.class, topicRepository, topicSpecification.build(criteria), criteria)
+                : null;
 
-        if (!topicPage.getContent().isEmpty()) {
-            List<Long> topicIds = topicPage.getContent().stream()
-                                           .map(Topic::getId)
-                                           .collect(Collectors.toList());
+        return PaginationUtils.createCursorResponse(rows,
+                                                    pageSize,
+                                                    sortBy,
+                                                    criteria.getSortDirection(),
+                                                    this::mapToFeedDTOs,
+                                                    totalElements);
+    }
 
-            List<TopicReaction> userReactions = topicReactionRepository.findByTopicIdInAndUserId(topicIds, user.getId());
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationDTO<TopicDTO.TopicResponse> searchTopics(String keyword, Integer page, Integer size) {
+        Pageable pageable = PageableBuilder.build(Topic.class, page, size, null, null);
+
+        // LIKE search over title, content, author and categories when the full-text index is not installed
+        if (!StringUtils.hasText(keyword) || !topicSearchRepository.isFullTextAvailable()) {
+            return getTopicsWithFilter(TopicFilterCriteria.builder()
+                    .searchKeyword(keyword)
+                    .statuses(List.of(TopicStatus.ACTIVE))
+                    .page(pageable.getPageNumber())
+                    .size(pageable.getPageSize())
+                    .sortBy("lastActivityAt")
+                    .sortDirection("DESC")
+                    .build());
+        }
 
-            userReactionsMap = userReactions.stream()
-                                            .collect(Collectors.toMap(
-                                                    reaction -> reaction.getTopic().getId(),
-                                                    reaction -> reaction
-                                            ));
+        // Ranked ids from the GIN index, one extra row tells if there is a next page
+        List<Long> topicIds = topicSearchRepository.searchActiveTopicIds(keyword.trim(),
+                                                                         pageable.getOffset(),
+                                                                         pageable.getPageSize() + 1);
+        boolean hasNext = topicIds.size() > pageable.getPageSize();
+        if (hasNext) {
+            topicIds = topicIds.subList(0, pageable.getPageSize());
         }
-        final Map<Long, TopicReaction> finalUserReactionsMap = userReactionsMap;
-        Page<TopicDTO.TopicResponse> responsePage = topicPage.map(topic -> {
-            TopicReaction userReaction = finalUserReactionsMap.get(topic.getId());
-            return userReaction != null ? mapToDTO(topic, userReaction) : mapToDTO(topic);
-        });
 
-        return PaginationUtils.createPaginationResponse(responsePage);
+        Map<Long, Topic> topicsById = topicRepository.findAllById(topicIds).stream()
+                .collect(Collectors.toMap(Topic::getId, topic -> topic));
+        List<Topic> topics = topicIds.stream()
+                .map(topicsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        Long totalElements = hasNext ? null : pageable.getOffset() + topics.size();
+        return PaginationUtils.createPaginationResponse(new SliceImpl<>(topics, pageable, hasNext),
+                                                        mapToFeedDTOs(topics),
+                                                        totalElements);
     }
 
     @Override
@@ -138,29 +201,80 @@ public class TopicServiceImpl implements TopicService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public TopicDTO.TopicResponse getTopicById(Long id) {
         Topic topic = getTopicByIdOrThrow(id);
         User currentUser = getCurrentAuthenticatedUser();
-        topic.setViewCount(topic.getViewCount() + 1);
-        topicRepository.save(topic);
+        viewCountService.recordTopicView(topic.getId());
+        topicLeaderboardService.recordView(topic.getId());
         TopicReaction userReaction = topicReactionRepository.findByTopicIdAndUserId(topic.getId(), currentUser.getId())
                                                             .orElse(null);
-        return mapToDTO(topic, userReaction);
+        TopicDTO.TopicResponse response = mapToDTO(topic, userReaction);
+        response.setViewCount(topic.getViewCount() + (int) viewCountService.getPendingTopicViews(topic.getId()));
+        return response;
     }
 
     @Override
     public List<TopicDTO.TopicResponse> getTop10Topics() {
-        return topicRepository.findTop10ByStatusOrderByViewCountDesc(TopicStatus.ACTIVE)
-                .stream()
-                .map(this::mapToDTO)
+        return topTopics.get();
+    }
+
+    @Override
+    public void refreshTopTopics() {
+        topTopics.refreshIfLoaded();
+    }
+
+    private List<TopicDTO.TopicResponse> loadTopTopics() {
+        List<TopicDTO.TopicResponse> topics = transactionTemplate.execute(status -> loadTopTopicsInTransaction());
+        return topics != null ? topics : List.of();
+    }
+
+    private List<TopicDTO.TopicResponse> loadTopTopicsInTransaction() {
+        if (!topicLeaderboardService.isReady()) {
+            List<Topic> topics = topicRepository.findTop10ByStatusOrderByViewCountDesc(TopicStatus.ACTIVE);
+            fetchFeedAssociations(topics);
+            return topics.stream()
+                    .map(this::mapToDTO)
+                    .collect(Collectors.toList());
+        }
+
+        List<TopicRankingDTO> rankings = topicLeaderboardService.getPopular(TOP_TOPICS_LIMIT, null, null);
+        List<Long> topicIds = rankings.stream()
+                .map(TopicRankingDTO::getTopicId)
                 .collect(Collectors.toList());
+        if (topicIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Topic> topicsById = topicRepository.findWithAuthorAndCategoriesByIdIn(topicIds)
+                .stream()
+                .collect(Collectors.toMap(Topic::getId, topic -> topic));
+        topicRepository.findWithAttachmentsByIdIn(topicIds);
+
+        // Keep the leaderboard order, its view counts include views that are not flushed yet
+        List<TopicDTO.TopicResponse> result = new ArrayList<>(rankings.size());
+        for (TopicRankingDTO ranking : rankings) {
+            Topic topic = topicsById.get(ranking.getTopicId());
+            if (topic != null) {
+                TopicDTO.TopicResponse response = mapToDTO(topic);
+                response.setViewCount(ranking.getViewCount());
+                result.add(response);
+            }
+        }
+        return result;
     }
 
     @Override
-    public List<TopicDTO.TopicSummaryResponse> getPopularTopics(int limit) {
+    @Transactional(readOnly = true)
+    public List<TopicDTO.TopicSummaryResponse> getPopularTopics(int limit, Long universityId, Long categoryId) {
+        if (topicLeaderboardService.isReady()) {
+            return renderRankings(topicLeaderboardService.getPopular(limit, universityId, categoryId));
+        }
+
         TopicFilterCriteria criteria = TopicFilterCriteria.builder()
                 .statuses(List.of(TopicStatus.ACTIVE))
+                .universityId(universityId)
+                .categoryIds(categoryId != null ? List.of(categoryId) : null)
                 .sortBy("viewCount")
                 .sortDirection("DESC")
                 .size(limit)
@@ -173,9 +287,16 @@ public class TopicServiceImpl implements TopicService {
     }
 
     @Override
-    public List<TopicDTO.TopicSummaryResponse> getRecentTopics(int limit) {
+    @Transactional(readOnly = true)
+    public List<TopicDTO.TopicSummaryResponse> getRecentTopics(int limit, Long universityId, Long categoryId) {
+        if (topicLeaderboardService.isReady()) {
+            return renderRankings(topicLeaderboardService.getRecent(limit, universityId, categoryId));
+        }
+
         TopicFilterCriteria criteria = TopicFilterCriteria.builder()
                 .statuses(List.of(TopicStatus.ACTIVE))
+                .universityId(universityId)
+                .categoryIds(categoryId != null ? List.of(categoryId) : null)
                 .sortBy("createdAt")
                 .sortDirection("DESC")
                 .size(limit)
@@ -188,9 +309,16 @@ public class TopicServiceImpl implements TopicService {
     }
 
     @Override
-    public List<TopicDTO.TopicSummaryResponse> getTrendingTopics(int limit) {
+    @Transactional(readOnly = true)
+    public List<TopicDTO.TopicSummaryResponse> getTrendingTopics(int limit, Long universityId, Long categoryId) {
+        if (topicLeaderboardService.isReady()) {
+            return renderRankings(topicLeaderboardService.getTrending(limit, universityId, categoryId));
+        }
+
         TopicFilterCriteria criteria = TopicFilterCriteria.builder()
                 .statuses(List.of(TopicStatus.ACTIVE))
+                .universityId(universityId)
+                .categoryIds(categoryId != null ? List.of(categoryId) : null)
                 .minLikeCount(1)
                 .sortBy("likeCount")
                 .sortDirection("DESC")
@@ -268,12 +396,130 @@ public class TopicServiceImpl implements TopicService {
                 .build();
     }
 
+    private TopicDTO.TopicSummaryResponse mapToSummaryDTO(Topic topic) {
+        return TopicDTO.TopicSummaryResponse.builder()
+                .id(topic.getId())
+                .title(topic.getTitle())
+                .contentPreview(topic.getContent())
+                .viewCount(topic.getViewCount())
+                .commentCount(topic.getCommentCount())
+                .likeCount(topic.getLikeCount())
+                .dislikeCount(topic.getDislikeCount())
+                .status(topic.getStatus())
+                .visibility(topic.getVisibility())
+                .createdAt(topic.getCreatedAt())
+                .lastActivityAt(topic.getLastActivityAt())
+                .author(mapToAuthorInfo(topic.getAuthor()))
+                .categories(mapToCategoryInfoList(topic.getCategories()))
+                .university(topic.getUniversity() != null ? mapToUniversityInfo(topic.getUniversity()) : null)
+                .build();
+    }
+
+    /**
+     * Summaries for leaderboard rows: cached renderings are reused and the missing ones are rendered in one batch.
+     * Cached summaries are shared, so the live counters of the ranking go on a copy.
+     */
+    private List<TopicDTO.TopicSummaryResponse> renderRankings(List<TopicRankingDTO> rankings) {
+        List<Long> missingIds = rankings.stream()
+                .filter(ranking -> ranking.getSummary() == null)
+                .map(TopicRankingDTO::getTopicId)
+                .collect(Collectors.toList());
+
+        Map<Long, TopicDTO.TopicSummaryResponse> rendered = new HashMap<>();
+        if (!missingIds.isEmpty()) {
+            for (Topic topic : topicRepository.findWithAuthorAndCategoriesByIdIn(missingIds)) {
+                rendered.put(topic.getId(), mapToSummaryDTO(topic));
+            }
+            topicLeaderboardService.cacheSummaries(rendered.values());
+        }
+
+        List<TopicDTO.TopicSummaryResponse> result = new ArrayList<>(rankings.size());
+        for (TopicRankingDTO ranking : rankings) {
+            TopicDTO.TopicSummaryResponse summary = ranking.getSummary() != null
+                    ? ranking.getSummary()
+                    : rendered.get(ranking.getTopicId());
+            if (summary != null) {
+                result.add(withLiveCounters(summary, ranking));
+            }
+        }
+        return result;
+    }
+
+    private TopicDTO.TopicSummaryResponse withLiveCounters(TopicDTO.TopicSummaryResponse summary, TopicRankingDTO ranking) {
+        return TopicDTO.TopicSummaryResponse.builder()
+                .id(summary.getId())
+                .title(summary.getTitle())
+                .contentPreview(summary.getContentPreview())
+                .viewCount(ranking.getViewCount())
+                .commentCount(ranking.getCommentCount())
+                .likeCount(ranking.getLikeCount())
+                .dislikeCount(ranking.getDislikeCount())
+                .status(summary.getStatus())
+                .visibility(summary.getVisibility())
+                .createdAt(summary.getCreatedAt())
+                .lastActivityAt(ranking.getLastActivityAt())
+                .author(summary.getAuthor())
+                .categories(summary.getCategories())
+                .university(summary.getUniversity())
+                .build();
+    }
+
     @Override
     public Topic getTopicByIdOrThrow(Long id) {
         return topicRepository.findById(id)
                 .orElseThrow(() -> new BadRequestException(TOPIC_NOT_FOUND_ERROR));
     }
 
+    /**
+     * Batch load everything mapToDTO touches for a page of topics, so mapping does not trigger lazy loads per row.
+     * Runs in the caller's persistence context, the fetched associations are attached to the same Topic instances.
+     */
+    private void fetchFeedAssociations(List<Topic> topics) {
+        if (topics.isEmpty()) {
+            return;
+        }
+
+        List<Long> topicIds = topics.stream()
+                .map(Topic::getId)
+                .collect(Collectors.toList());
+
+        // Categories and attachments are both bags, so they cannot be fetched in a single query
+        topicRepository.findWithAuthorAndCategoriesByIdIn(topicIds);
+        topicRepository.findWithAttachmentsByIdIn(topicIds);
+    }
+
+    private Map<Long, TopicReaction> getCurrentUserReactions(List<Topic> topics) {
+        User user = getCurrentAuthenticatedUser();
+        if (topics.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Long> topicIds = topics.stream()
+                .map(Topic::getId)
+                .collect(Collectors.toList());
+
+        return topicReactionRepository.findByTopicIdInAndUserId(topicIds, user.getId())
+                .stream()
+                .collect(Collectors.toMap(
+                        reaction -> reaction.getTopic().getId(),
+                        reaction -> reaction
+                ));
+    }
+
+    private List<TopicDTO.TopicResponse> mapToFeedDTOs(List<Topic> topics) {
+        fetchFeedAssociations(topics);
+        imageVariantService.preloadStatuses(topics.stream().map(topic -> topic.getAuthor().getAvatarUrl()).toList());
+        Map<Long, TopicReaction> userReactionsMap = getCurrentUserReactions(topics);
+        return topics.stream()
+                .map(topic -> mapToFeedDTO(topic, userReactionsMap))
+                .collect(Collectors.toList());
+    }
+
+    private TopicDTO.TopicResponse mapToFeedDTO(Topic topic, Map<Long, TopicReaction> userReactionsMap) {
+        TopicReaction userReaction = userReactionsMap.get(topic.getId());
+        return userReaction != null ? mapToDTO(topic, userReaction) : mapToDTO(topic);
+    }
+
     // ==================== MAPPING HELPERS ====================
     private TopicDTO.AuthorInfo mapToAuthorInfo(User author) {
         UniversityDTO.UniversityResponse universityResponse;
@@ -286,7 +532,7 @@ public class TopicServiceImpl implements TopicService {
         return TopicDTO.AuthorInfo.builder()
                 .id(author.getId())
                 .fullName(author.getFullName())
-                .avatarUrl(author.getAvatarUrl())
+                .avatarUrl(imageVariantService.resolveUrl(author.getAvatarUrl(), ImageVariant.THUMBNAIL))
                 .university(universityResponse)
                 .major(author.getMajor())
                 .year(author.getYear())
@@ -374,13 +620,14 @@ public class TopicServiceImpl implements TopicService {
                 : null;
     }
 
-    private void validateFileAttachments(List<MultipartFile> attachments) {
-        if (CollectionUtils.isEmpty(attachments)) {
-            return;
+    private void validateFileAttachments(List<MultipartFile> attachments, List<String> attachmentKeys) {
+        int fileCount = (attachments != null ? attachments.size() : 0) + (attachmentKeys != null ? attachmentKeys.size() : 0);
+        if (fileCount > MAX_FILES_COUNT) {
+            throw new BadRequestException("Maximum " + MAX_FILES_COUNT + " files allowed");
         }
 
-        if (attachments.size() > MAX_FILES_COUNT) {
-            throw new BadRequestException("Maximum " + MAX_FILES_COUNT + " files allowed");
+        if (CollectionUtils.isEmpty(attachments)) {
+            return;
         }
 
         for (MultipartFile file : attachments) {
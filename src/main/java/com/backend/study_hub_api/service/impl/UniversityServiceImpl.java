@@ -6,6 +6,7 @@ import com.backend.study_hub_api.dto.criteria.UniversityFilterCriteria;
 import com.backend.study_hub_api.helper.enumeration.UniversityStatus;
 import com.backend.study_hub_api.helper.exception.BadRequestException;
 import com.backend.study_hub_api.helper.util.PaginationUtils;
+import com.backend.study_hub_api.helper.util.TransactionUtils;
 import com.backend.study_hub_api.model.University;
 import com.backend.study_hub_api.repository.UniversityRepository;
 import com.backend.study_hub_api.service.BaseFilterService;
@@ -14,8 +15,9 @@ import com.backend.study_hub_api.service.UniversityService;
 import com.backend.study_hub_api.specification.BaseSpecificationBuilder;
 import com.backend.study_hub_api.specification.UniversitySpecification;
 import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -23,25 +25,44 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import static com.backend.study_hub_api.helper.constant.Message.*;
 
+/**
+ * Universities are read on registration, topic creation and inside every user/author mapping.
+ * Reads are served from an immutable snapshot (entities by id plus prebuilt DTOs and lists) that is
+ * loaded on first use and replaced as a whole after each admin write commits, see CategoryServiceImpl.
+ */
+@Slf4j
 @Service
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
-@RequiredArgsConstructor
 public class UniversityServiceImpl extends BaseFilterService<University, Long, UniversityFilterCriteria, UniversityDTO.UniversityResponse>
         implements UniversityService {
 
     UniversityRepository universityRepository;
     UniversitySpecification universitySpecification;
     FileUploadService fileUploadService;
+    long snapshotTtlMillis;
+    AtomicReference<UniversitySnapshot> snapshot = new AtomicReference<>();
 
     private static final String[] ALLOWED_IMAGE_TYPES = {
             "image/jpeg", "image/jpg", "image/png"
     };
 
+    public UniversityServiceImpl(UniversityRepository universityRepository,
+                                 UniversitySpecification universitySpecification,
+                                 FileUploadService fileUploadService,
+                                 @Value("${app.reference-cache.ttl:5m}") Duration snapshotTtl) {
+        this.universityRepository = universityRepository;
+        this.universitySpecification = universitySpecification;
+        this.fileUploadService = fileUploadService;
+        this.snapshotTtlMillis = snapshotTtl.toMillis();
+    }
+
     @Override
     @Transactional
     public UniversityDTO.UniversityResponse createUniversity(UniversityDTO.CreateUniversityRequest request,
@@ -74,19 +95,23 @@ public class UniversityServiceImpl extends BaseFilterService<University, Long, U
                                           .build();
 
         University savedUniversity = universityRepository.save(university);
-        return mapToDTO(savedUniversity);
+        refreshSnapshotAfterCommit();
+        return buildResponse(savedUniversity);
     }
 
     @Override
     public UniversityDTO.UniversityResponse getUniversityById(Long id) {
-        University university = getUniversityByIdOrThrow(id);
-        return mapToDTO(university);
+        UniversityDTO.UniversityResponse response = getSnapshot().responses().get(id);
+        if (response == null) {
+            throw new BadRequestException(UNIVERSITY_NOT_FOUND);
+        }
+        return response;
     }
 
     @Override
     public PaginationDTO<UniversityDTO.UniversityResponse> getAllUniversities(Pageable pageable) {
         Page<UniversityDTO.UniversityResponse> universities = universityRepository.findAll(pageable)
-                                                                                  .map(this::mapToDTO);
+                                                                                  .map(this::buildResponse);
         return PaginationUtils.createPaginationResponse(universities);
     }
 
@@ -97,10 +122,7 @@ public class UniversityServiceImpl extends BaseFilterService<University, Long, U
 
     @Override
     public List<UniversityDTO.UniversityResponse> getActiveUniversities() {
-        return universityRepository.findByStatusOrderByNameAsc(UniversityStatus.ACTIVE)
-                                   .stream()
-                                   .map(this::mapToDTO)
-                                   .toList();
+        return getSnapshot().active();
     }
 
     @Override
@@ -108,7 +130,7 @@ public class UniversityServiceImpl extends BaseFilterService<University, Long, U
     public UniversityDTO.UniversityResponse updateUniversity(Long id,
                                                              UniversityDTO.UpdateUniversityRequest request,
                                                              MultipartFile logoFile) {
-        University university = getUniversityByIdOrThrow(id);
+        University university = findUniversityOrThrow(id);
 
         if (universityRepository.existsByEmailDomainAndIdNot(request.getEmailDomain(), id)) {
             throw new BadRequestException(UNIVERSITY_EMAIL_DOMAIN_EXISTS_ERROR);
@@ -142,35 +164,46 @@ public class UniversityServiceImpl extends BaseFilterService<University, Long, U
         }
 
         University savedUniversity = universityRepository.save(university);
-        return mapToDTO(savedUniversity);
+        refreshSnapshotAfterCommit();
+        return buildResponse(savedUniversity);
     }
 
     @Override
     @Transactional
     public UniversityDTO.UniversityResponse updateUniversityStatus(Long id,
                                                                    UniversityDTO.UpdateStatusRequest request) {
-        University university = getUniversityByIdOrThrow(id);
+        University university = findUniversityOrThrow(id);
 
         university.setStatus(request.getStatus());
         university.setIsActive(request.getStatus() == UniversityStatus.ACTIVE);
 
         University savedUniversity = universityRepository.save(university);
-        return mapToDTO(savedUniversity);
+        refreshSnapshotAfterCommit();
+        return buildResponse(savedUniversity);
     }
 
     @Override
     @Transactional
     public void deleteUniversity(Long id) {
-        University university = getUniversityByIdOrThrow(id);
+        University university = findUniversityOrThrow(id);
 
         university.setStatus(UniversityStatus.DELETED);
         university.setIsActive(false);
 
         universityRepository.save(university);
+        refreshSnapshotAfterCommit();
     }
 
+    /**
+     * Prebuilt DTO from the snapshot, looked up by id so a lazy university proxy is not initialized
+     */
     @Override
     public UniversityDTO.UniversityResponse mapToDTO(University university) {
+        UniversityDTO.UniversityResponse cached = getSnapshot().responses().get(university.getId());
+        return cached != null ? cached : buildResponse(university);
+    }
+
+    private UniversityDTO.UniversityResponse buildResponse(University university) {
         return UniversityDTO.UniversityResponse.builder()
                                                .id(university.getId())
                                                .name(university.getName())
@@ -188,18 +221,21 @@ public class UniversityServiceImpl extends BaseFilterService<University, Long, U
                                                .build();
     }
 
+    /**
+     * Detached copy of the cached university, safe to reference from new entities and to modify
+     */
     @Override
     public University getUniversityByIdOrThrow(Long id) {
-        return universityRepository.findById(id)
-                                   .orElseThrow(() -> new BadRequestException(UNIVERSITY_NOT_FOUND));
+        University university = getSnapshot().universities().get(id);
+        if (university == null) {
+            throw new BadRequestException(UNIVERSITY_NOT_FOUND);
+        }
+        return copyOf(university);
     }
 
     @Override
     public List<UniversityDTO.UniversityResponse> getAllActiveUniversities() {
-        return universityRepository.findAllActiveUniversities()
-                                   .stream()
-                                   .map(this::mapToDTO)
-                                   .toList();
+        return getSnapshot().allActive();
     }
 
     @Override
@@ -214,6 +250,91 @@ public class UniversityServiceImpl extends BaseFilterService<University, Long, U
 
     @Override
     protected Function<University, UniversityDTO.UniversityResponse> getEntityToDtoMapper() {
-        return this::mapToDTO;
+        return this::buildResponse;
+    }
+
+    private University findUniversityOrThrow(Long id) {
+        return universityRepository.findById(id)
+                                   .orElseThrow(() -> new BadRequestException(UNIVERSITY_NOT_FOUND));
+    }
+
+    // ==================== SNAPSHOT ====================
+
+    private UniversitySnapshot getSnapshot() {
+        UniversitySnapshot current = snapshot.get();
+        if (current == null || current.loadedAt() + snapshotTtlMillis < System.currentTimeMillis()) {
+            UniversitySnapshot loaded = loadSnapshot();
+            // A snapshot installed by a concurrent refresh in the meantime is at least as new, keep it
+            snapshot.compareAndSet(current, loaded);
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    private UniversitySnapshot loadSnapshot() {
+        Map<Long, University> universities = new HashMap<>();
+        Map<Long, UniversityDTO.UniversityResponse> responses = new HashMap<>();
+        List<University> byName = universityRepository.findAll()
+                                                      .stream()
+                                                      .sorted(Comparator.comparing(University::getName))
+                                                      .toList();
+        for (University university : byName) {
+            universities.put(university.getId(), copyOf(university));
+            responses.put(university.getId(), buildResponse(university));
+        }
+
+        // Same filters as findByStatusOrderByNameAsc(ACTIVE) and findAllActiveUniversities
+        List<UniversityDTO.UniversityResponse> active = byName.stream()
+                                                              .filter(university -> university.getStatus() == UniversityStatus.ACTIVE)
+                                                              .map(university -> responses.get(university.getId()))
+                                                              .toList();
+        List<UniversityDTO.UniversityResponse> allActive = byName.stream()
+                                                                 .filter(university -> university.getStatus() != UniversityStatus.DELETED
+                                                                                       && university.getStatus() != UniversityStatus.INACTIVE)
+                                                                 .map(university -> responses.get(university.getId()))
+                                                                 .toList();
+
+        return new UniversitySnapshot(Collections.unmodifiableMap(universities),
+                                      Collections.unmodifiableMap(responses),
+                                      active,
+                                      allActive,
+                                      System.currentTimeMillis());
+    }
+
+    private void refreshSnapshotAfterCommit() {
+        TransactionUtils.afterCommit(() -> {
+            try {
+                snapshot.set(loadSnapshot());
+            } catch (RuntimeException e) {
+                // Reloaded on the next read
+                snapshot.set(null);
+                log.warn("Failed to refresh university snapshot", e);
+            }
+        });
+    }
+
+    private static University copyOf(University university) {
+        return University.builder()
+                         .id(university.getId())
+                         .name(university.getName())
+                         .shortName(university.getShortName())
+                         .address(university.getAddress())
+                         .emailDomain(university.getEmailDomain())
+                         .city(university.getCity())
+                         .website(university.getWebsite())
+                         .logoUrl(university.getLogoUrl())
+                         .description(university.getDescription())
+                         .isActive(university.getIsActive())
+                         .createdAt(university.getCreatedAt())
+                         .updatedAt(university.getUpdatedAt())
+                         .status(university.getStatus())
+                         .build();
+    }
+
+    private record UniversitySnapshot(Map<Long, University> universities,
+                                      Map<Long, UniversityDTO.UniversityResponse> responses,
+                                      List<UniversityDTO.UniversityResponse> active,
+                                      List<UniversityDTO.UniversityResponse> allActive,
+                                      long loadedAt) {
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.backend.study_hub_api.dto.AuthDTO;
 import com.backend.study_hub_api.dto.UniversityDTO;
 import com.backend.study_hub_api.dto.UserDTO;
 import com.backend.study_hub_api.dto.request.ChangePasswordRequest;
+import com.backend.study_hub_api.helper.enumeration.ImageVariant;
 import com.backend.study_hub_api.helper.enumeration.UserRole;
 import com.backend.study_hub_api.helper.enumeration.VerificationType;
 import com.backend.study_hub_api.helper.exception.BadRequestException;
@@ -12,6 +13,7 @@ import com.backend.study_hub_api.model.University;
 import com.backend.study_hub_api.model.User;
 import com.backend.study_hub_api.repository.UserRepository;
 import com.backend.study_hub_api.service.FileUploadService;
+import com.backend.study_hub_api.service.ImageVariantService;
 import com.backend.study_hub_api.service.UniversityService;
 import com.backend.study_hub_api.service.UserService;
 import com.backend.study_hub_api.service.VerificationService;
@@ -40,6 +42,7 @@ public class UserServiceImpl implements UserService {
     PasswordEncoder passwordEncoder;
     VerificationService verificationService;
     FileUploadService fileUploadService;
+    ImageVariantService imageVariantService;
 
     private static final String[] ALLOWED_FILE_TYPES = {
             "image/jpeg",
@@ -116,7 +119,7 @@ public class UserServiceImpl implements UserService {
                 .university(universityResponse)
                 .major(user.getMajor())
                 .year(user.getYear())
-                .avatarUrl(user.getAvatarUrl())
+                .avatarUrl(imageVariantService.resolveUrl(user.getAvatarUrl(), ImageVariant.THUMBNAIL))
                 .phone(user.getPhone())
                 .bio(user.getBio())
                 .role(user.getRole())
@@ -1,7 +1,9 @@
 package com.backend.study_hub_api.service.impl;
 
 import com.backend.study_hub_api.repository.UserSessionRepository;
+import com.backend.study_hub_api.service.SessionValidationCache;
 import com.backend.study_hub_api.service.UserSessionService;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -12,15 +14,20 @@ import org.springframework.stereotype.Service;
 public class UserSessionServiceImpl implements UserSessionService {
 
     private final UserSessionRepository userSessionRepo;
+    private final SessionValidationCache sessionValidationCache;
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean checkUserSession(String tokenId) {
-        return userSessionRepo.existsByTokenId(tokenId);
+        // No transaction of its own: a cache hit must not check out a connection
+        return sessionValidationCache.isActive(tokenId, userSessionRepo::findExpiredDateByTokenId);
     }
 
     @Override
+    @Transactional
     public void removeExpiredSession(String tokenId) {
         userSessionRepo.findByTokenId(tokenId).ifPresent(userSessionRepo::delete);
+        sessionValidationCache.revoke(tokenId);
     }
 
 }
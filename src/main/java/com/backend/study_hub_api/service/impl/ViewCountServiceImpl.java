@@ -0,0 +1,266 @@
+package com.backend.study_hub_api.service.impl;
+
+import com.backend.study_hub_api.service.ViewCountService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind view counter.
+ * Views are accumulated per entity id in striped counters and written with one batched
+ * {@code view_count = view_count + ?} statement per table on every flush.
+ * Each buffer holds at most max-pending-ids ids: past half of that an early flush is started on a background
+ * thread (never on the request thread, which may be inside a read-only transaction), and views of new ids are
+ * dropped while the buffer is full, e.g. when the database has been unreachable for a while.
+ */
+@Slf4j
+@Service
+public class ViewCountServiceImpl implements ViewCountService {
+
+    private static final String TOPIC_UPDATE_SQL = "UPDATE t_topics SET view_count = view_count + ? WHERE id = ?";
+    private static final String PRODUCT_UPDATE_SQL = "UPDATE t_products SET view_count = view_count + ? WHERE id = ?";
+    private static final long EARLY_FLUSH_MIN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxPendingIds;
+    private final ViewCounterBuffer topicViews = new ViewCounterBuffer("topic", TOPIC_UPDATE_SQL);
+    private final ViewCounterBuffer productViews = new ViewCounterBuffer("product", PRODUCT_UPDATE_SQL);
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter flushedViews;
+    private final Counter failedFlushes;
+    private final Counter droppedViews;
+    private final AtomicBoolean earlyFlushRequested = new AtomicBoolean();
+    private volatile long lastEarlyFlushAt = System.nanoTime() - EARLY_FLUSH_MIN_INTERVAL_NANOS;
+    private final ExecutorService earlyFlushExecutor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("view-count-flush-"));
+
+    public ViewCountServiceImpl(JdbcTemplate jdbcTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.view-count.max-pending-ids:50000}") int maxPendingIds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPendingIds = maxPendingIds;
+
+        for (ViewCounterBuffer buffer : List.of(topicViews, productViews)) {
+            Gauge.builder("studyhub.view_count.pending_ids", buffer, ViewCounterBuffer::size)
+                 .tag("entity", buffer.entity)
+                 .description("Entities with view increments waiting to be flushed")
+                 .register(meterRegistry);
+            Gauge.builder("studyhub.view_count.pending_views", buffer, ViewCounterBuffer::pendingViews)
+                 .tag("entity", buffer.entity)
+                 .description("View increments waiting to be flushed")
+                 .register(meterRegistry);
+        }
+        this.flushedViews = meterRegistry.counter("studyhub.view_count.flushed_views");
+        this.failedFlushes = meterRegistry.counter("studyhub.view_count.failed_flushes");
+        this.droppedViews = meterRegistry.counter("studyhub.view_count.dropped_views");
+    }
+
+    @Override
+    public void recordTopicView(Long topicId) {
+        record(topicViews, topicId);
+    }
+
+    @Override
+    public void recordProductView(Long productId) {
+        record(productViews, productId);
+    }
+
+    @Override
+    public long getPendingTopicViews(Long topicId) {
+        return topicViews.pending(topicId);
+    }
+
+    @Override
+    public long getPendingProductViews(Long productId) {
+        return productViews.pending(productId);
+    }
+
+    @Override
+    public long flush() {
+        flushLock.lock();
+        try {
+            return write(topicViews) + write(productViews);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        earlyFlushExecutor.shutdown();
+        log.info("Flushing pending view counts before shutdown");
+        flush();
+    }
+
+    private void record(ViewCounterBuffer buffer, Long id) {
+        if (id == null) {
+            return;
+        }
+
+        if (!buffer.increment(id, maxPendingIds)) {
+            droppedViews.increment();
+        }
+
+        // At most one early flush per second, a failing database is not retried on every view
+        if (buffer.size() > maxPendingIds / 2
+                && System.nanoTime() - lastEarlyFlushAt > EARLY_FLUSH_MIN_INTERVAL_NANOS
+                && earlyFlushRequested.compareAndSet(false, true)) {
+            lastEarlyFlushAt = System.nanoTime();
+            try {
+                earlyFlushExecutor.execute(() -> {
+                    try {
+                        flush();
+                    } catch (RuntimeException e) {
+                        log.error("Error during early view count flush", e);
+                    } finally {
+                        earlyFlushRequested.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down, the shutdown flush takes over
+                earlyFlushRequested.set(false);
+            }
+        }
+    }
+
+    private long write(ViewCounterBuffer buffer) {
+        Map<Long, Long> deltas = buffer.drain();
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        // Ordered by id so concurrent flushes from several nodes lock rows in the same order
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : new TreeMap<>(deltas).entrySet()) {
+            batchArgs.add(new Object[]{entry.getValue(), entry.getKey()});
+            total += entry.getValue();
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(buffer.updateSql, batchArgs);
+            flushedViews.increment(total);
+            log.debug("Flushed {} {} views for {} ids", total, buffer.entity, deltas.size());
+            return total;
+        } catch (DataAccessException e) {
+            log.error("Failed to flush {} view counts, keeping {} views for the next attempt", buffer.entity, total, e);
+            failedFlushes.increment();
+            long dropped = buffer.restore(deltas, maxPendingIds);
+            if (dropped > 0) {
+                log.warn("View count buffer for {} is full, dropped {} views", buffer.entity, dropped);
+                droppedViews.increment(dropped);
+            }
+            return 0;
+        }
+    }
+
+    static final class ViewCounterBuffer {
+
+        private final String entity;
+        private final String updateSql;
+        private final ConcurrentHashMap<Long, LongAdder> counters = new ConcurrentHashMap<>();
+
+        // Counters evicted on the previous drain, drained once more in case a late increment landed on them
+        private final Map<Long, LongAdder> retired = new HashMap<>();
+
+        ViewCounterBuffer(String entity, String updateSql) {
+            this.entity = entity;
+            this.updateSql = updateSql;
+        }
+
+        /**
+         * @return false when the id is not buffered yet and the buffer already holds maxIds ids
+         */
+        boolean increment(Long id, int maxIds) {
+            LongAdder adder = counters.get(id);
+            if (adder == null) {
+                if (counters.size() >= maxIds) {
+                    return false;
+                }
+                adder = counters.computeIfAbsent(id, key -> new LongAdder());
+            }
+            adder.increment();
+            return true;
+        }
+
+        long pending(Long id) {
+            LongAdder adder = id != null ? counters.get(id) : null;
+            return adder != null ? adder.sum() : 0L;
+        }
+
+        int size() {
+            return counters.size();
+        }
+
+        long pendingViews() {
+            long total = 0;
+            for (LongAdder adder : counters.values()) {
+                total += adder.sum();
+            }
+            return total;
+        }
+
+        /**
+         * Must only be called while holding the flush lock
+         */
+        Map<Long, Long> drain() {
+            Map<Long, Long> deltas = new HashMap<>();
+
+            retired.forEach((id, adder) -> {
+                long delta = adder.sumThenReset();
+                if (delta > 0) {
+                    deltas.merge(id, delta, Long::sum);
+                }
+            });
+            retired.clear();
+
+            counters.forEach((id, adder) -> {
+                long delta = adder.sumThenReset();
+                if (delta > 0) {
+                    deltas.merge(id, delta, Long::sum);
+                } else if (counters.remove(id, adder)) {
+                    retired.put(id, adder);
+                }
+            });
+
+            return deltas;
+        }
+
+        /**
+         * Put drained deltas back after a failed write, ids that no longer fit are dropped
+         * @return number of views dropped
+         */
+        long restore(Map<Long, Long> deltas, int maxIds) {
+            long dropped = 0;
+            for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                if (!counters.containsKey(entry.getKey()) && counters.size() >= maxIds) {
+                    dropped += entry.getValue();
+                    continue;
+                }
+                counters.computeIfAbsent(entry.getKey(), key -> new LongAdder()).add(entry.getValue());
+            }
+            return dropped;
+        }
+    }
+}
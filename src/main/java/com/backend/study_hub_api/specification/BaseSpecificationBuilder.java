@@ -1,9 +1,13 @@
 package com.backend.study_hub_api.specification;
 
 import com.backend.study_hub_api.dto.criteria.BaseFilterCriteria;
+import com.backend.study_hub_api.helper.exception.BadRequestException;
+import com.backend.study_hub_api.helper.util.KeysetCursor;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -11,6 +15,8 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.backend.study_hub_api.helper.constant.Message.PAGINATION_INVALID_CURSOR_ERROR;
+
 public abstract class BaseSpecificationBuilder<T, C extends BaseFilterCriteria> {
 
     protected static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
@@ -34,6 +40,53 @@ public abstract class BaseSpecificationBuilder<T, C extends BaseFilterCriteria>
         };
     }
 
+    /**
+     * Build specification from criteria, restricted to the rows after a keyset cursor.
+     * Must be used with PageableBuilder.buildKeysetSort so the order matches the seek predicate.
+     */
+    public Specification<T> buildAfter(C criteria, KeysetCursor cursor) {
+        Specification<T> specification = build(criteria);
+        if (cursor == null) {
+            return specification;
+        }
+
+        return specification.and((root, query, criteriaBuilder) -> buildKeysetPredicate(cursor, root, criteriaBuilder));
+    }
+
+    /**
+     * Seek predicate on (sortField, id). PostgreSQL puts NULLs last in ASC and first in DESC order,
+     * rows with a NULL sort value are handled accordingly.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Predicate buildKeysetPredicate(KeysetCursor cursor,
+                                             jakarta.persistence.criteria.Root<T> root,
+                                             jakarta.persistence.criteria.CriteriaBuilder criteriaBuilder) {
+        boolean descending = cursor.isDescending();
+        Path<Long> idPath = root.get("id");
+        Predicate idAfter = descending
+                ? criteriaBuilder.lessThan(idPath, cursor.getId())
+                : criteriaBuilder.greaterThan(idPath, cursor.getId());
+
+        if ("id".equals(cursor.getSortBy())) {
+            return idAfter;
+        }
+
+        Path<Comparable> sortPath = resolvePath(root, cursor.getSortBy());
+
+        if (cursor.getValue() == null) {
+            Predicate sameGroup = criteriaBuilder.and(criteriaBuilder.isNull(sortPath), idAfter);
+            return descending ? criteriaBuilder.or(sameGroup, criteriaBuilder.isNotNull(sortPath)) : sameGroup;
+        }
+
+        Comparable value = convertCursorValue(cursor.getValue(), sortPath.getJavaType());
+        Predicate sameValue = criteriaBuilder.and(criteriaBuilder.equal(sortPath, value), idAfter);
+
+        if (descending) {
+            return criteriaBuilder.or(criteriaBuilder.lessThan(sortPath, value), sameValue);
+        }
+        return criteriaBuilder.or(criteriaBuilder.greaterThan(sortPath, value), sameValue, criteriaBuilder.isNull(sortPath));
+    }
+
     /**
      * Add common predicates that apply to all entities
      */
@@ -96,6 +149,51 @@ public abstract class BaseSpecificationBuilder<T, C extends BaseFilterCriteria>
         return new ArrayList<>();
     }
 
+    /**
+     * Resolve a dotted attribute path such as "author.fullName"
+     */
+    @SuppressWarnings("unchecked")
+    protected <Y> Path<Y> resolvePath(jakarta.persistence.criteria.Root<T> root, String attributePath) {
+        Path<?> path = root;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return (Path<Y>) path;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Comparable convertCursorValue(String value, Class<?> type) {
+        try {
+            if (type == Instant.class) {
+                return Instant.parse(value);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(value);
+            }
+            if (type == Double.class || type == double.class) {
+                return Double.valueOf(value);
+            }
+            if (type == BigDecimal.class) {
+                return new BigDecimal(value);
+            }
+            if (type == Boolean.class || type == boolean.class) {
+                return Boolean.valueOf(value);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value);
+            }
+            return value;
+        } catch (RuntimeException e) {
+            throw new BadRequestException(PAGINATION_INVALID_CURSOR_ERROR);
+        }
+    }
+
     /**
      * Helper method for case-insensitive partial match
      */
@@ -0,0 +1,30 @@
+package com.backend.study_hub_api.task;
+
+import com.backend.study_hub_api.service.ImageVariantService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageVariantTask {
+
+    private final ImageVariantService imageVariantService;
+
+    /**
+     * Retry images whose variants were not generated at upload time (queue full, restart, S3 errors)
+     */
+    @Scheduled(fixedDelayString = "${app.image-variants.sweep-interval-ms:300000}")
+    public void generatePendingVariants() {
+        try {
+            int queued = imageVariantService.generatePendingVariants();
+            if (queued > 0) {
+                log.info("Queued {} images with pending variants", queued);
+            }
+        } catch (Exception e) {
+            log.error("Error while queueing pending image variants", e);
+        }
+    }
+}
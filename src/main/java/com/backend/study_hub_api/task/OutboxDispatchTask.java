@@ -0,0 +1,43 @@
+package com.backend.study_hub_api.task;
+
+import com.backend.study_hub_api.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatchTask {
+
+    private final OutboxService outboxService;
+
+    /**
+     * Deliver due outbox messages, kept short because verification codes expire within minutes
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void dispatchOutbox() {
+        try {
+            int processed = outboxService.dispatchDueMessages();
+            if (processed > 0) {
+                log.debug("Processed {} outbox messages", processed);
+            }
+        } catch (Exception e) {
+            log.error("Error during outbox dispatch", e);
+        }
+    }
+
+    /**
+     * Delete delivered outbox messages past their retention every hour, dead letters are kept for inspection
+     */
+    @Scheduled(cron = "0 30 */1 * * *")
+    public void purgeSentMessages() {
+        try {
+            int deleted = outboxService.purgeSentMessages();
+            log.info("Purged {} sent outbox messages", deleted);
+        } catch (Exception e) {
+            log.error("Error during outbox purge", e);
+        }
+    }
+}
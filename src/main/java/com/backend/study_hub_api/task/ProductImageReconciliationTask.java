@@ -0,0 +1,37 @@
+package com.backend.study_hub_api.task;
+
+import com.backend.study_hub_api.service.ProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImageReconciliationTask {
+
+    private final ProductService productService;
+
+    // Uploads younger than this may belong to a product whose transaction has not committed yet
+    @Value("${app.product-image.orphan-grace-period:1h}")
+    private Duration gracePeriod;
+
+    /**
+     * Delete product images left in S3 without a ProductImage row, every night at 03:30
+     */
+    @Scheduled(cron = "${app.product-image.reconcile-cron:0 30 3 * * *}")
+    public void deleteOrphanedProductImages() {
+        try {
+            log.info("Starting reconciliation of product images");
+            int deleted = productService.deleteOrphanedImages(Instant.now().minus(gracePeriod));
+            log.info("Completed reconciliation of product images, {} orphaned images deleted", deleted);
+        } catch (Exception e) {
+            log.error("Error during product image reconciliation", e);
+        }
+    }
+}
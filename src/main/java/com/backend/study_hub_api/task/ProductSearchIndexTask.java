@@ -0,0 +1,33 @@
+package com.backend.study_hub_api.task;
+
+import com.backend.study_hub_api.service.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndexTask {
+
+    private final ProductSearchService productSearchService;
+
+    /**
+     * Reconcile the in-memory index with t_products, catches products changed on other nodes or by bulk updates
+     * that bypass this node's entity listener
+     */
+    @Scheduled(fixedDelayString = "${app.search.product-index.rebuild-interval-ms:600000}",
+               initialDelayString = "${app.search.product-index.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        // Disabled, or the startup build has not finished yet
+        if (!productSearchService.isReady()) {
+            return;
+        }
+        try {
+            productSearchService.rebuild();
+        } catch (Exception e) {
+            log.error("Error during product search index rebuild", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.backend.study_hub_api.task;
+
+import com.backend.study_hub_api.service.TopicActivityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TopicActivityTask {
+
+    private final TopicActivityService topicActivityService;
+
+    /**
+     * Push coalesced comment and reaction activity to the watched topic channels
+     */
+    @Scheduled(fixedDelayString = "${app.topic-activity.publish-interval-ms:250}")
+    public void publishTopicActivity() {
+        try {
+            topicActivityService.publishPending();
+        } catch (Exception e) {
+            log.error("Error while publishing topic activity", e);
+        }
+    }
+}
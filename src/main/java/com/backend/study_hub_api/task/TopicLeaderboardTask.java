@@ -0,0 +1,43 @@
+package com.backend.study_hub_api.task;
+
+import com.backend.study_hub_api.service.TopicLeaderboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TopicLeaderboardTask {
+
+    private final TopicLeaderboardService topicLeaderboardService;
+
+    /**
+     * Apply buffered view, reaction and comment events to the leaderboards
+     */
+    @Scheduled(fixedDelayString = "${app.leaderboard.apply-interval-ms:2000}")
+    public void applyPendingEvents() {
+        try {
+            topicLeaderboardService.applyPendingEvents();
+        } catch (Exception e) {
+            log.error("Error while applying topic leaderboard events", e);
+        }
+    }
+
+    /**
+     * Reconcile the leaderboards with t_topics, catches bulk updates that bypass the entity listener
+     */
+    @Scheduled(fixedDelayString = "${app.leaderboard.rebuild-interval-ms:1800000}",
+               initialDelayString = "${app.leaderboard.rebuild-interval-ms:1800000}")
+    public void rebuild() {
+        if (!topicLeaderboardService.isReady()) {
+            return;
+        }
+        try {
+            topicLeaderboardService.rebuild();
+        } catch (Exception e) {
+            log.error("Error during topic leaderboard rebuild", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.backend.study_hub_api.task;
+
+import com.backend.study_hub_api.service.ProductService;
+import com.backend.study_hub_api.service.TopicService;
+import com.backend.study_hub_api.service.ViewCountService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCountFlushTask {
+
+    private final ViewCountService viewCountService;
+    private final ProductService productService;
+    private final TopicService topicService;
+
+    /**
+     * Write buffered topic/product views to the database every few seconds,
+     * then reload the cached top-10 rankings the new counts may have reordered
+     */
+    @Scheduled(fixedDelayString = "${app.view-count.flush-interval-ms:5000}")
+    public void flushViewCounts() {
+        long flushed;
+        try {
+            flushed = viewCountService.flush();
+        } catch (Exception e) {
+            log.error("Error during view count flush", e);
+            return;
+        }
+
+        if (flushed == 0) {
+            return;
+        }
+        try {
+            productService.refreshTopProducts();
+            topicService.refreshTopTopics();
+        } catch (Exception e) {
+            log.error("Error while refreshing top rankings after view count flush", e);
+        }
+    }
+}
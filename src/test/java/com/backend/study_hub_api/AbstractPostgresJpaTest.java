@@ -0,0 +1,99 @@
+package com.backend.study_hub_api;
+
+import com.backend.study_hub_api.helper.enumeration.TopicStatus;
+import com.backend.study_hub_api.helper.enumeration.TopicVisibility;
+import com.backend.study_hub_api.helper.enumeration.UserRole;
+import com.backend.study_hub_api.model.Category;
+import com.backend.study_hub_api.model.Topic;
+import com.backend.study_hub_api.model.University;
+import com.backend.study_hub_api.model.User;
+import com.backend.study_hub_api.repository.TopicRepository;
+import com.backend.study_hub_api.repository.UserRepository;
+import com.backend.study_hub_api.service.ProductSearchService;
+import com.backend.study_hub_api.service.SessionValidationCache;
+import com.backend.study_hub_api.service.TopicLeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * JPA slice against a real PostgreSQL, without a test transaction so every statement commits as in production.
+ * Holds the stand-ins for the entity listeners' dependencies and the user and topic fixtures the tests share.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public abstract class AbstractPostgresJpaTest {
+
+    @Container
+    @ServiceConnection
+    protected static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    // Dependencies of the entity listeners, the JPA slice does not load services
+    @MockitoBean
+    protected TopicLeaderboardService topicLeaderboardService;
+    @MockitoBean
+    protected ProductSearchService productSearchService;
+    @MockitoBean
+    protected SessionValidationCache sessionValidationCache;
+
+    @Autowired
+    protected UserRepository userRepository;
+    @Autowired
+    protected TopicRepository topicRepository;
+
+    protected User createUser(String email, University university) {
+        return userRepository.save(user(email, university));
+    }
+
+    protected List<User> createUsers(String prefix, int count) {
+        return userRepository.saveAll(IntStream.range(0, count)
+                                               .mapToObj(i -> user(prefix + i + "@test.local", null))
+                                               .toList());
+    }
+
+    protected Topic createTopic(User author) {
+        return createTopic(author, null, List.of());
+    }
+
+    protected Topic createTopic(User author, University university, List<Category> categories) {
+        return topicRepository.save(Topic.builder()
+                                         .author(author)
+                                         .university(university)
+                                         .categories(new ArrayList<>(categories))
+                                         .title("Topic of " + author.getFullName())
+                                         .content("Content of " + author.getFullName())
+                                         .viewCount(0)
+                                         .commentCount(0)
+                                         .likeCount(0)
+                                         .dislikeCount(0)
+                                         .status(TopicStatus.ACTIVE)
+                                         .visibility(TopicVisibility.PUBLIC)
+                                         .isLocked(false)
+                                         .build());
+    }
+
+    private static User user(String email, University university) {
+        return User.builder()
+                   .email(email)
+                   .password("password")
+                   .fullName("User " + email.substring(0, email.indexOf('@')))
+                   .university(university)
+                   .role(UserRole.USER)
+                   .isVerified(true)
+                   .isActive(true)
+                   .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.backend.study_hub_api.repository;
+
+import com.backend.study_hub_api.AbstractPostgresJpaTest;
+import com.backend.study_hub_api.helper.enumeration.ReactionType;
+import com.backend.study_hub_api.model.Topic;
+import com.backend.study_hub_api.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires thousands of parallel toggles through the same statements TopicReactionServiceImpl.toggleReaction runs
+ * and checks that the topic counters end up equal to the reaction rows.
+ */
+class TopicReactionRepositoryConcurrencyTest extends AbstractPostgresJpaTest {
+
+    private static final int USERS = 1000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    TopicReactionRepository topicReactionRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void parallelLikesFromDistinctUsersAreAllCounted() throws Exception {
+        List<User> users = createUsers("likes", USERS);
+        Long topicId = createTopic(users.get(0)).getId();
+
+        List<Callable<Void>> toggles = new ArrayList<>();
+        for (User user : users) {
+            toggles.add(() -> toggle(topicId, user.getId(), ReactionType.LIKE));
+        }
+        runInParallel(toggles);
+
+        Topic topic = topicRepository.findById(topicId).orElseThrow();
+        assertThat(topic.getLikeCount()).isEqualTo(USERS);
+        assertThat(topic.getDislikeCount()).isZero();
+        assertThat(topicReactionRepository.countByTopicIdAndReactionType(topicId, ReactionType.LIKE)).isEqualTo(USERS);
+    }
+
+    @Test
+    void parallelMixedTogglesKeepCountersEqualToReactionRows() throws Exception {
+        List<User> users = createUsers("mixed", USERS);
+        Long topicId = createTopic(users.get(0)).getId();
+
+        // Four toggles per user, the same user's toggles race each other as well as everyone else's
+        Random random = new Random(42);
+        List<Callable<Void>> toggles = new ArrayList<>();
+        for (User user : users) {
+            for (int i = 0; i < 4; i++) {
+                ReactionType type = random.nextBoolean() ? ReactionType.LIKE : ReactionType.DISLIKE;
+                toggles.add(() -> toggle(topicId, user.getId(), type));
+            }
+        }
+        runInParallel(toggles);
+
+        Topic topic = topicRepository.findById(topicId).orElseThrow();
+        assertThat((long) topic.getLikeCount())
+                .isEqualTo(topicReactionRepository.countByTopicIdAndReactionType(topicId, ReactionType.LIKE));
+        assertThat((long) topic.getDislikeCount())
+                .isEqualTo(topicReactionRepository.countByTopicIdAndReactionType(topicId, ReactionType.DISLIKE));
+    }
+
+    private Void toggle(Long topicId, Long userId, ReactionType type) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (topicReactionRepository.upsertReaction(topicId, userId, type.name()) == 0) {
+                topicReactionRepository.deleteReaction(topicId, userId, type.name());
+            }
+        });
+        return null;
+    }
+
+    private void runInParallel(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                // Rethrows the first failed toggle, e.g. a deadlock
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.backend.study_hub_api.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Sends through an in-process SMTP server and counts the SMTP sessions from the JavaMail protocol trace
+ */
+class MailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ByteArrayOutputStream protocolTrace = new ByteArrayOutputStream();
+    private MailDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void reusesOneConnectionForConsecutiveMessages() throws Exception {
+        dispatcher = dispatcher(100, 0, Duration.ofSeconds(30));
+
+        awaitAll(send(20, "uit.edu.vn", null));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(20);
+        assertThat(smtpSessions()).isEqualTo(1);
+    }
+
+    @Test
+    void reconnectsAfterMaxMessagesPerConnection() throws Exception {
+        dispatcher = dispatcher(5, 0, Duration.ofSeconds(30));
+
+        awaitAll(send(20, "uit.edu.vn", null));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(20);
+        assertThat(smtpSessions()).isEqualTo(4);
+    }
+
+    @Test
+    void spreadsABurstToOneDomainOverTime() throws Exception {
+        // 120 per minute: a burst of 120, then one message every 500 ms
+        dispatcher = dispatcher(100, 120, Duration.ofSeconds(30));
+
+        long start = System.nanoTime();
+        awaitAll(send(124, "uit.edu.vn", null));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(124);
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(1500);
+        assertThat(meterRegistry.counter("studyhub.mail.throttled").count()).isPositive();
+    }
+
+    @Test
+    void otherDomainsAreNotHeldBackByAThrottledOne() throws Exception {
+        // 6 per minute: the seventh message to the throttled domain waits ten seconds for its permit
+        dispatcher = dispatcher(100, 6, Duration.ofSeconds(30));
+
+        List<CompletableFuture<Void>> throttled = send(7, "uit.edu.vn", null);
+        CompletableFuture<Void> other = dispatcher.dispatch(message("student@hcmus.edu.vn"), null);
+
+        other.get(5, TimeUnit.SECONDS);
+        awaitAll(throttled.subList(0, 6));
+        assertThat(throttled.get(6)).isNotDone();
+    }
+
+    @Test
+    void failsThrottledMessagesOnShutdown() throws Exception {
+        dispatcher = dispatcher(100, 6, Duration.ofSeconds(30));
+
+        awaitAll(send(6, "uit.edu.vn", null));
+        CompletableFuture<Void> throttled = dispatcher.dispatch(message("late@uit.edu.vn"), null);
+        // Let the worker take it and put it back with its delay
+        Thread.sleep(200);
+        dispatcher.shutdown();
+
+        assertThatThrownBy(() -> throttled.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("studyhub.mail.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void dropsMessagesThatExpireWhileThrottled() throws Exception {
+        // 6 per minute: after the burst the next permit is seconds away, the message expires before that
+        dispatcher = dispatcher(100, 6, Duration.ofSeconds(30));
+
+        awaitAll(send(6, "uit.edu.vn", null));
+        CompletableFuture<Void> late = dispatcher.dispatch(message("late@uit.edu.vn"), Instant.now().plusMillis(300));
+
+        assertThatThrownBy(() -> late.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(greenMail.getReceivedMessages()).hasSize(6);
+    }
+
+    @Test
+    void failsExpiredMessagesWithoutSending() {
+        dispatcher = dispatcher(100, 0, Duration.ofSeconds(30));
+
+        CompletableFuture<Void> expired = dispatcher.dispatch(message("expired@uit.edu.vn"), Instant.now().minusSeconds(1));
+
+        assertThatThrownBy(() -> expired.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void rejectsMessagesThrottledLongerThanTheMaxDelay() throws Exception {
+        dispatcher = dispatcher(100, 6, Duration.ofMillis(200));
+
+        awaitAll(send(6, "uit.edu.vn", null));
+        CompletableFuture<Void> rejected = dispatcher.dispatch(message("rejected@uit.edu.vn"), null);
+
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(greenMail.getReceivedMessages()).hasSize(6);
+    }
+
+    private MailDispatcher dispatcher(int maxMessagesPerConnection, int domainRatePerMinute, Duration maxThrottleDelay) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        // The session is created once and shared with the dispatcher, so its trace shows every connection
+        mailSender.getSession().setDebug(true);
+        mailSender.getSession().setDebugOut(new PrintStream(protocolTrace, true, StandardCharsets.UTF_8));
+
+        // One worker so every message goes through the same connection
+        return new MailDispatcher(mailSender, meterRegistry, 1, 1000, maxMessagesPerConnection,
+                                  Duration.ofSeconds(30), domainRatePerMinute, maxThrottleDelay);
+    }
+
+    private List<CompletableFuture<Void>> send(int count, String domain, Instant expiresAt) {
+        List<CompletableFuture<Void>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(dispatcher.dispatch(message("student" + i + "@" + domain), expiresAt));
+        }
+        return results;
+    }
+
+    private static SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@studyhub.com");
+        message.setTo(to);
+        message.setSubject("OTP");
+        message.setText("123456");
+        return message;
+    }
+
+    private static void awaitAll(List<CompletableFuture<Void>> results) throws Exception {
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+    }
+
+    private long smtpSessions() {
+        return protocolTrace.toString(StandardCharsets.UTF_8)
+                            .lines()
+                            .filter(line -> line.startsWith("EHLO") || line.startsWith("HELO"))
+                            .count();
+    }
+}
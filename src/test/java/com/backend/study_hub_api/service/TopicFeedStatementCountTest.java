@@ -0,0 +1,183 @@
+package com.backend.study_hub_api.service;
+
+import com.backend.study_hub_api.AbstractPostgresJpaTest;
+import com.backend.study_hub_api.dto.TopicDTO;
+import com.backend.study_hub_api.dto.common.PaginationDTO;
+import com.backend.study_hub_api.dto.criteria.TopicFilterCriteria;
+import com.backend.study_hub_api.helper.enumeration.CategoryType;
+import com.backend.study_hub_api.helper.enumeration.ReactionType;
+import com.backend.study_hub_api.helper.enumeration.TopicStatus;
+import com.backend.study_hub_api.helper.enumeration.UniversityStatus;
+import com.backend.study_hub_api.model.Category;
+import com.backend.study_hub_api.model.Topic;
+import com.backend.study_hub_api.model.TopicAttachment;
+import com.backend.study_hub_api.model.TopicReaction;
+import com.backend.study_hub_api.model.University;
+import com.backend.study_hub_api.model.User;
+import com.backend.study_hub_api.repository.CategoryRepository;
+import com.backend.study_hub_api.repository.SpecificationSliceRepository;
+import com.backend.study_hub_api.repository.TopicAttachmentRepository;
+import com.backend.study_hub_api.repository.TopicReactionRepository;
+import com.backend.study_hub_api.repository.UniversityRepository;
+import com.backend.study_hub_api.service.impl.TopicServiceImpl;
+import com.backend.study_hub_api.service.impl.UniversityServiceImpl;
+import com.backend.study_hub_api.specification.TopicSpecification;
+import com.backend.study_hub_api.specification.UniversitySpecification;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * The topic feed must run the same number of statements whatever the page size:
+ * every association the mapper reads is loaded by the batch queries, never lazily per row.
+ * Universities are mapped by the real UniversityServiceImpl, as in production.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({PaginationQueryService.class, SpecificationSliceRepository.class})
+class TopicFeedStatementCountTest extends AbstractPostgresJpaTest {
+
+    private static final int TOPICS = 30;
+
+    @Autowired
+    TopicAttachmentRepository topicAttachmentRepository;
+    @Autowired
+    TopicReactionRepository topicReactionRepository;
+    @Autowired
+    UniversityRepository universityRepository;
+    @Autowired
+    CategoryRepository categoryRepository;
+    @Autowired
+    PaginationQueryService paginationQueryService;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private TopicService topicService;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        if (topicRepository.count() == 0) {
+            createFeed();
+        }
+
+        User reader = userRepository.findAll().get(0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(reader.getId().toString(), "token", List.of()));
+        UserService userService = Mockito.mock(UserService.class);
+        when(userService.getUserByIdOrThrow(anyLong())).thenReturn(reader);
+
+        UniversityServiceImpl universityService = new UniversityServiceImpl(
+                universityRepository, new UniversitySpecification(), null, Duration.ofMinutes(5));
+        // Loaded once on first use, not part of what a feed page costs
+        universityService.getActiveUniversities();
+
+        // Only what the feed reads, the other collaborators are not used
+        topicService = new TopicServiceImpl(userService, null, universityService, null, topicRepository,
+                                            topicAttachmentRepository, new TopicSpecification(), null,
+                                            paginationQueryService, null, Mockito.mock(ImageVariantService.class),
+                                            null, null, topicReactionRepository);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void feedPageRunsConstantNumberOfStatements() {
+        long smallPage = statementsForPage(5);
+        long largePage = statementsForPage(25);
+
+        assertThat(largePage).isEqualTo(smallPage);
+        // Page query, to-one + categories, attachments, the reader's reactions
+        assertThat(smallPage).isEqualTo(4);
+    }
+
+    private long statementsForPage(int size) {
+        TopicFilterCriteria criteria = TopicFilterCriteria.builder()
+                                                          .statuses(List.of(TopicStatus.ACTIVE))
+                                                          .page(0)
+                                                          .size(size)
+                                                          .skipCount(true)
+                                                          .build();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        // The transaction getTopicsWithFilter is annotated with, the service is not a Spring bean here
+        PaginationDTO<TopicDTO.TopicResponse> page = readOnlyTransaction.execute(
+                status -> topicService.getTopicsWithFilter(criteria));
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(page.getItems()).hasSize(size);
+        assertThat(page.getItems()).allSatisfy(topic -> {
+            assertThat(topic.getCategories()).hasSize(2);
+            assertThat(topic.getAttachments()).hasSize(1);
+            assertThat(topic.getAuthor().getUniversity()).isNotNull();
+        });
+        return statements;
+    }
+
+    private void createFeed() {
+        List<Category> categories = categoryRepository.saveAll(List.of(
+                Category.builder().name("Math").type(CategoryType.TOPIC).isActive(true).build(),
+                Category.builder().name("Physics").type(CategoryType.TOPIC).isActive(true).build()));
+
+        List<Topic> topics = new ArrayList<>();
+        for (int i = 0; i < TOPICS; i++) {
+            // A university and an author per topic, so any per-row lazy load would scale with the page
+            University university = universityRepository.save(University.builder()
+                                                                        .name("University " + i)
+                                                                        .shortName("U" + i)
+                                                                        .emailDomain("u" + i + ".edu.vn")
+                                                                        .status(UniversityStatus.ACTIVE)
+                                                                        .isActive(true)
+                                                                        .build());
+            User author = createUser("author" + i + "@u" + i + ".edu.vn", university);
+            Topic topic = createTopic(author, university, categories);
+            topicAttachmentRepository.save(TopicAttachment.builder()
+                                                          .topic(topic)
+                                                          .fileUrl("topics/" + i + "/notes.pdf")
+                                                          .fileName("notes.pdf")
+                                                          .fileType("application/pdf")
+                                                          .fileSize(1024L)
+                                                          .build());
+            topics.add(topic);
+        }
+
+        // The reader reacted to every other topic
+        User reader = userRepository.findAll().get(0);
+        for (int i = 0; i < TOPICS; i += 2) {
+            topicReactionRepository.save(TopicReaction.builder()
+                                                      .topic(topics.get(i))
+                                                      .user(reader)
+                                                      .reactionType(ReactionType.LIKE)
+                                                      .build());
+        }
+    }
+}